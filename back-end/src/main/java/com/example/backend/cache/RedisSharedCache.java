@@ -0,0 +1,67 @@
+package com.example.backend.cache;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link SharedCache} on Redis: values and version counters are plain string keys, and
+ * evictions fan out over pub/sub.
+ */
+public class RedisSharedCache implements SharedCache, MessageListener {
+
+    private static final String VERSION_SUFFIX = ":version";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisSharedCache(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    @Override
+    public long version(String key) {
+        String version = redisTemplate.opsForValue().get(key + VERSION_SUFFIX);
+        return version == null ? 0 : Long.parseLong(version);
+    }
+
+    @Override
+    public void bumpVersion(String key) {
+        redisTemplate.opsForValue().increment(key + VERSION_SUFFIX);
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(key));
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public void publishEviction(String region) {
+        redisTemplate.convertAndSend(channel, region);
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String region = new String(message.getBody(), StandardCharsets.UTF_8);
+        listeners.forEach(listener -> listener.accept(region));
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.backend.cache;
+
+import com.example.backend.events.TripLifecycleEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the reference data listings (schools, routes with their stops,
+ * vehicles and the driver roster). Each node keeps the serialized listing in a short
+ * lived near cache in front of an optional {@link SharedCache}; a miss on both loads
+ * from the database and fills both levels.
+ * <p>
+ * Listings are cached as the JSON the API returns rather than as entities, so a hit
+ * never touches a persistence context and callers get back exactly what a fresh load
+ * would have serialized to.
+ */
+@Slf4j
+@Component
+public class ReferenceDataCache {
+
+    public enum Region {
+        SCHOOLS,
+        ROUTES,
+        VEHICLES,
+        DRIVERS
+    }
+
+    private static final String KEY_PREFIX = "nimbus:ref:";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<SharedCache> sharedCacheProvider;
+    private final long nearTtlNanos;
+    private final Duration sharedTtl;
+    private final Map<Region, NearEntry> near = new EnumMap<>(Region.class);
+    /** Bumped on every invalidation so a load that raced with one is not kept. */
+    private final Map<Region, Long> generations = new EnumMap<>(Region.class);
+    private final Map<Region, Counter> nearHits = new EnumMap<>(Region.class);
+    private final Map<Region, Counter> sharedHits = new EnumMap<>(Region.class);
+    private final Map<Region, Counter> misses = new EnumMap<>(Region.class);
+
+    private SharedCache sharedCache;
+
+    public ReferenceDataCache(ObjectMapper objectMapper,
+                              ObjectProvider<SharedCache> sharedCacheProvider,
+                              @Value("${nimbus.referenceCache.nearTtlMs:30000}") long nearTtlMs,
+                              @Value("${nimbus.referenceCache.sharedTtlMs:600000}") long sharedTtlMs,
+                              MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.sharedCacheProvider = sharedCacheProvider;
+        this.nearTtlNanos = nearTtlMs * 1_000_000;
+        this.sharedTtl = Duration.ofMillis(sharedTtlMs);
+        for (Region region : Region.values()) {
+            generations.put(region, 0L);
+            nearHits.put(region, lookupCounter(meterRegistry, "near", region));
+            sharedHits.put(region, lookupCounter(meterRegistry, "shared", region));
+            misses.put(region, lookupCounter(meterRegistry, "miss", region));
+        }
+    }
+
+    @PostConstruct
+    void connectSharedCache() {
+        sharedCache = sharedCacheProvider.getIfAvailable();
+        if (sharedCache != null) {
+            sharedCache.subscribe(this::onRemoteEviction);
+        }
+    }
+
+    /**
+     * Returns the cached listing for {@code region}, loading and serializing it with
+     * {@code loader} on a miss. Call from within the service transaction that can
+     * initialize whatever the listing's JSON reaches.
+     */
+    public RawValue get(Region region, Supplier<?> loader) {
+        long now = System.nanoTime();
+        long generation;
+        synchronized (near) {
+            NearEntry entry = near.get(region);
+            if (entry != null && now - entry.loadedAt() <= nearTtlNanos) {
+                nearHits.get(region).increment();
+                return new RawValue(entry.json());
+            }
+            generation = generations.get(region);
+        }
+
+        String key = null;
+        String json = null;
+        if (sharedCache != null) {
+            try {
+                key = dataKey(region);
+                json = sharedCache.get(key).orElse(null);
+            } catch (RuntimeException e) {
+                log.warn("Shared reference cache unavailable, loading {} from the database: {}", region, e.getMessage());
+                key = null;
+            }
+        }
+
+        if (json != null) {
+            sharedHits.get(region).increment();
+        } else {
+            misses.get(region).increment();
+            json = serialize(region, loader.get());
+            if (key != null) {
+                try {
+                    sharedCache.put(key, json, sharedTtl);
+                } catch (RuntimeException e) {
+                    log.warn("Could not write {} to the shared reference cache: {}", region, e.getMessage());
+                }
+            }
+        }
+
+        synchronized (near) {
+            if (generations.get(region) == generation) {
+                near.put(region, new NearEntry(json, now));
+            }
+        }
+        return new RawValue(json);
+    }
+
+    /**
+     * Drops the given regions on this node, retires their shared entries and tells the
+     * other nodes to drop their near copies.
+     */
+    public void invalidate(Set<Region> regions) {
+        for (Region region : regions) {
+            evictNear(region);
+            if (sharedCache != null) {
+                try {
+                    sharedCache.bumpVersion(KEY_PREFIX + region.name());
+                    sharedCache.publishEviction(region.name());
+                } catch (RuntimeException e) {
+                    log.warn("Could not invalidate {} in the shared reference cache: {}", region, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** Invalidates the given regions once the current transaction commits, if there is one. */
+    public void invalidateAfterCommit(Set<Region> regions) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(regions);
+                }
+            });
+        } else {
+            invalidate(regions);
+        }
+    }
+
+    /** Trips are embedded in the route listing, so any trip change retires it. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripLifecycle(TripLifecycleEvent event) {
+        invalidate(Set.of(Region.ROUTES));
+    }
+
+    private void onRemoteEviction(String regionName) {
+        try {
+            evictNear(Region.valueOf(regionName));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring eviction for unknown reference data region {}", regionName);
+        }
+    }
+
+    private void evictNear(Region region) {
+        synchronized (near) {
+            generations.merge(region, 1L, Long::sum);
+            near.remove(region);
+        }
+    }
+
+    /** Versioned so a load that raced with an invalidation lands on a retired key. */
+    private String dataKey(Region region) {
+        String versionKey = KEY_PREFIX + region.name();
+        return versionKey + ":v" + sharedCache.version(versionKey);
+    }
+
+    private String serialize(Region region, Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize reference data " + region, e);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String level, Region region) {
+        return Counter.builder("nimbus.cache.reference")
+                .description("Reference data lookups by the cache level that answered them")
+                .tag("level", level)
+                .tag("region", region.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    private record NearEntry(String json, long loadedAt) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.backend.cache;
+
+import com.example.backend.cache.ReferenceDataCache.Region;
+import com.example.backend.entities.Route;
+import com.example.backend.entities.School;
+import com.example.backend.entities.Trip;
+import com.example.backend.entities.Vehicle;
+import com.example.backend.entities.user.Driver;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Invalidates the reference data listings an entity appears in once a write to it
+ * commits. Schools embed their vehicles and drivers and drivers embed their vehicle, so
+ * a change to either reaches more than its own listing.
+ */
+public class ReferenceDataChangeListener {
+
+    private final ObjectProvider<ReferenceDataCache> referenceDataCache;
+
+    public ReferenceDataChangeListener(ObjectProvider<ReferenceDataCache> referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Set<Region> regions = regionsOf(entity);
+        if (!regions.isEmpty()) {
+            referenceDataCache.ifAvailable(cache -> cache.invalidateAfterCommit(regions));
+        }
+    }
+
+    private static Set<Region> regionsOf(Object entity) {
+        if (entity instanceof School) {
+            return EnumSet.of(Region.SCHOOLS);
+        }
+        if (entity instanceof Vehicle) {
+            return EnumSet.of(Region.SCHOOLS, Region.VEHICLES, Region.DRIVERS);
+        }
+        if (entity instanceof Driver) {
+            return EnumSet.of(Region.SCHOOLS, Region.DRIVERS);
+        }
+        if (entity instanceof Route || entity instanceof Trip) {
+            return EnumSet.of(Region.ROUTES);
+        }
+        return EnumSet.noneOf(Region.class);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.backend.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Second cache level shared by every node, plus the channel nodes use to tell each other
+ * to drop their near copies. Entries are written under versioned keys; bumping a key's
+ * version orphans whatever was stored under the old one, including a value a slow
+ * reader writes back after the invalidation.
+ */
+public interface SharedCache {
+
+    long version(String key);
+
+    void bumpVersion(String key);
+
+    Optional<String> get(String key);
+
+    void put(String key, String value, Duration ttl);
+
+    void publishEviction(String region);
+
+    void subscribe(Consumer<String> listener);
+}
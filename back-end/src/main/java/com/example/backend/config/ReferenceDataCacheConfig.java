@@ -0,0 +1,38 @@
+package com.example.backend.config;
+
+import com.example.backend.cache.RedisSharedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Puts Redis behind the reference data cache as the level shared by all nodes and as
+ * the channel their near caches are evicted through. Off by default, so a single node
+ * runs with its near cache alone.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "nimbus.referenceCache", name = "redis", havingValue = "true")
+public class ReferenceDataCacheConfig {
+
+    @Bean
+    public RedisSharedCache referenceDataSharedCache(
+            StringRedisTemplate redisTemplate,
+            @Value("${nimbus.referenceCache.evictionChannel:nimbus:ref:evict}") String channel) {
+        return new RedisSharedCache(redisTemplate, channel);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer referenceDataEvictionListenerContainer(
+            RedisConnectionFactory connectionFactory, RedisSharedCache sharedCache,
+            @Value("${nimbus.referenceCache.evictionChannel:nimbus:ref:evict}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(sharedCache, new ChannelTopic(channel));
+        return container;
+    }
+}
@@ -5,6 +5,7 @@ import com.example.backend.security.jwt.AuthTokenFilter;
 import com.example.backend.security.services.UserDetailsServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -37,6 +38,9 @@ public class SecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Value("${nimbus.auth.bcryptStrength:10}")
+    private int bcryptStrength;
+
     @Bean
     @Primary
     public AuthTokenFilter authenticationJwtTokenFilter() {
@@ -49,6 +53,8 @@ public class SecurityConfig {
 
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes a password on successful login when it was hashed with a lower cost.
+        authProvider.setUserDetailsPasswordService(userDetailsService);
 
         return authProvider;
     }
@@ -60,7 +66,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -96,6 +102,8 @@ public class SecurityConfig {
                                 .requestMatchers("/api/test/**").permitAll()
                                 .requestMatchers("/ws/**").permitAll()
                                 .requestMatchers("/error").permitAll()
+                                .requestMatchers("/actuator/health").permitAll()
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
                                 .requestMatchers("/api/v1/auth/check-credentials").permitAll()
                                 .requestMatchers("/api/v1/auth/reset-password").permitAll()
                                 .requestMatchers("api/api/v1/admin/**").hasRole("ADMIN")
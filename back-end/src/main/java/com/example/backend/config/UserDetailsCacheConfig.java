@@ -0,0 +1,38 @@
+package com.example.backend.config;
+
+import com.example.backend.security.services.UserDetailsCache;
+import com.example.backend.security.services.UserDetailsInvalidationRelay;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Wires the Redis relay that propagates user details cache invalidations between
+ * nodes. Off by default, so a single node runs without Redis.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "nimbus.app", name = "userDetailsRedisInvalidation", havingValue = "true")
+public class UserDetailsCacheConfig {
+
+    @Bean
+    public UserDetailsInvalidationRelay userDetailsInvalidationRelay(
+            StringRedisTemplate redisTemplate, UserDetailsCache cache,
+            @Value("${nimbus.app.userDetailsInvalidationChannel:nimbus:user-details:invalidate}") String channel) {
+        return new UserDetailsInvalidationRelay(redisTemplate, cache, channel);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer userDetailsInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, UserDetailsInvalidationRelay relay,
+            @Value("${nimbus.app.userDetailsInvalidationChannel:nimbus:user-details:invalidate}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(relay, new ChannelTopic(channel));
+        return container;
+    }
+}
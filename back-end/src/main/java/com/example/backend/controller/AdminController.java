@@ -12,6 +12,7 @@ import com.example.backend.entities.user.Driver;
 import com.example.backend.entities.user.Parent;
 import com.example.backend.entities.user.User;
 import com.example.backend.service.*;
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -64,9 +65,8 @@ public class AdminController {
     
     @Operation(summary = "Get all drivers")
     @GetMapping("/drivers")
-    public ResponseEntity<ApiResponse<List<Driver>>> getAllDrivers() {
-        List<Driver> drivers = driverService.findAll();
-        return ResponseEntity.ok(ApiResponse.success(drivers));
+    public ResponseEntity<ApiResponse<RawValue>> getAllDrivers() {
+        return ResponseEntity.ok(ApiResponse.success(driverService.findAllAsJson()));
     }
     
     @Operation(summary = "Get all parents (both active and inactive)")
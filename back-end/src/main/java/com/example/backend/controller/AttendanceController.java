@@ -1,8 +1,15 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.attendance.AttendanceRequest;
+import com.example.backend.dto.attendance.BulkScanRequest;
+import com.example.backend.dto.attendance.BulkScanResult;
+import com.example.backend.dto.attendance.QrScanRequest;
+import com.example.backend.dto.attendance.RecordedAttendance;
+import com.example.backend.dto.trip.TripManifestEntry;
 import com.example.backend.dto.response.ApiResponse;
 import com.example.backend.entities.Attendance;
+import com.example.backend.export.AttendanceExportFormat;
+import com.example.backend.service.AttendanceExportService;
 import com.example.backend.service.AttendanceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -10,12 +17,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -25,6 +38,7 @@ import java.util.Optional;
 @SecurityRequirement(name = "bearerAuth")
 public class AttendanceController {
     private final AttendanceService attendanceService;
+    private final AttendanceExportService attendanceExportService;
 
     @Operation(summary = "Get all attendance records")
     @GetMapping
@@ -98,6 +112,15 @@ public class AttendanceController {
         return ResponseEntity.ok(ApiResponse.success(attendanceService.countTodaysPresentAttendance(schoolId)));
     }
 
+    @Operation(summary = "Get attendance counts per status for a school day")
+    @GetMapping("/school/{schoolId}/daily-counts")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<Attendance.AttendanceStatus, Long>>> getDailyCounts(
+            @PathVariable Long schoolId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(ApiResponse.success(attendanceService.getDailyCounts(schoolId, date)));
+    }
+
     @Operation(summary = "Find school attendance in period")
     @GetMapping("/school/{schoolId}/period")
     @PreAuthorize("hasRole('ADMIN')")
@@ -119,14 +142,28 @@ public class AttendanceController {
     @Operation(summary = "Record attendance")
     @PostMapping("/record")
     @PreAuthorize("hasAnyRole('ADMIN', 'DRIVER')")
-    public ResponseEntity<ApiResponse<Void>> recordAttendance(@Valid @RequestBody AttendanceRequest request) {
-        attendanceService.recordAttendance(
+    public ResponseEntity<ApiResponse<RecordedAttendance>> recordAttendance(@Valid @RequestBody AttendanceRequest request) {
+        RecordedAttendance recorded = attendanceService.recordAttendance(
                 request.getStudentId(),
                 request.getTripId(),
                 request.getStatus(),
                 request.getNotes()
         );
-        return ResponseEntity.ok(ApiResponse.success(null));
+        return ResponseEntity.ok(ApiResponse.success(recorded));
+    }
+
+    @Operation(summary = "Record a QR scan against the trip manifest")
+    @PostMapping("/scan")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DRIVER')")
+    public ResponseEntity<ApiResponse<TripManifestEntry>> recordQrScan(@Valid @RequestBody QrScanRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(attendanceService.recordQrScan(request)));
+    }
+
+    @Operation(summary = "Upload a batch of offline QR scans")
+    @PostMapping("/scans/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DRIVER')")
+    public ResponseEntity<ApiResponse<BulkScanResult>> recordOfflineScans(@Valid @RequestBody BulkScanRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(attendanceService.recordOfflineScans(request)));
     }
 
     @Operation(summary = "Update attendance status")
@@ -158,4 +195,25 @@ public class AttendanceController {
         return ResponseEntity.ok(ApiResponse.success(
                 attendanceService.findAttendanceWithStats(schoolId, start, end)));
     }
-} 
\ No newline at end of file
+
+    @Operation(summary = "Stream attendance scanned in a period as CSV or NDJSON, for one school or all schools")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @RequestParam(required = false) Long schoolId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "CSV") AttendanceExportFormat format) {
+        attendanceExportService.validateExport(schoolId, start, end);
+        String fileName = String.format("attendance-%s-%s-%s.%s", schoolId != null ? "school-" + schoolId : "all",
+                start.toLocalDate(), end.toLocalDate(), format.extension());
+        StreamingResponseBody body = out -> attendanceExportService.writeExport(schoolId, start, end, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
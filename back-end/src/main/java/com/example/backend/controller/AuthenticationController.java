@@ -5,6 +5,7 @@ import com.example.backend.dto.auth.JwtResponse;
 import com.example.backend.dto.auth.RegisterRequest;
 import com.example.backend.entities.user.User;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.security.services.LoginExecutor;
 import com.example.backend.service.AuthenticationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -32,6 +34,9 @@ public class AuthenticationController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private LoginExecutor loginExecutor;
+
     @PostMapping("/register")
     public ResponseEntity<JwtResponse> register(@RequestBody RegisterRequest request) {
         log.debug("AuthenticationController - Received registration request for username: {}", request.getUsername());
@@ -45,23 +50,18 @@ public class AuthenticationController {
         }
     }
 
+    // Hashing runs on the login executor; the request thread is released while it waits.
     @PostMapping("/login")
-    public ResponseEntity<JwtResponse> authenticate(@RequestBody AuthRequest request) {
+    public CompletableFuture<ResponseEntity<JwtResponse>> authenticate(@RequestBody AuthRequest request) {
         log.debug("AuthenticationController - Received authentication request for username: {}", request.getUsername());
-        log.debug("AuthenticationController - Received authentication request for password: {}", request.getPassword());
-        try {
-            log.debug("AuthenticationController - Login attempt with username: '{}' (length: {})",
-                    request.getUsername(), request.getUsername().length());
+        request.setUsername(request.getUsername().trim());
 
-            request.setUsername(request.getUsername().trim());
-
-            JwtResponse response = authenticationService.authenticate(request);
-            log.debug("AuthenticationController - Successfully authenticated user with username: {}", request.getUsername());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("AuthenticationController - Failed to authenticate user with username: {}", request.getUsername(), e);
-            throw e;
-        }
+        return loginExecutor.submit(() -> authenticationService.authenticate(request))
+                .thenApply(response -> {
+                    log.debug("AuthenticationController - Successfully authenticated user with username: {}",
+                            request.getUsername());
+                    return ResponseEntity.ok(response);
+                });
     }
 
     @PostMapping("/logout")
@@ -82,9 +82,12 @@ public class AuthenticationController {
     
     // Debug endpoint to check user and password
     @PostMapping("/check-credentials")
-    public ResponseEntity<Map<String, Object>> checkCredentials(@RequestBody AuthRequest request) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> checkCredentials(@RequestBody AuthRequest request) {
         log.debug("AuthenticationController - Checking credentials for username: {}", request.getUsername());
-        
+        return loginExecutor.submit(() -> ResponseEntity.ok(credentialCheck(request)));
+    }
+
+    private Map<String, Object> credentialCheck(AuthRequest request) {
         Map<String, Object> response = new HashMap<>();
         response.put("username", request.getUsername());
         response.put("passwordProvided", request.getPassword() != null);
@@ -111,7 +114,7 @@ public class AuthenticationController {
             response.put("userFound", false);
         }
         
-        return ResponseEntity.ok(response);
+        return response;
     }
 
     // Utility endpoint to reset a user's password (admin only)
@@ -125,7 +128,7 @@ public class AuthenticationController {
         response.put("username", username);
         
         try {
-            Optional<User> userOpt = userRepository.findByUsernameIgnoreCaseForAuthentication(username.trim());
+            Optional<User> userOpt = userRepository.findByUsernameForAuthentication(username.trim());
             
             if (userOpt.isEmpty()) {
                 log.error("User not found for password reset: {}", username);
@@ -1,10 +1,13 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.response.ApiResponse;
+import com.example.backend.dto.response.CursorPage;
 import com.example.backend.entities.Attendance;
 import com.example.backend.entities.Student;
 import com.example.backend.entities.Trip;
 import com.example.backend.entities.user.Parent;
+import com.example.backend.exception.UnauthorizedException;
+import com.example.backend.security.SecurityUtils;
 import com.example.backend.service.AttendanceService;
 import com.example.backend.service.ParentService;
 import com.example.backend.service.StudentService;
@@ -53,6 +56,7 @@ public class ParentController {
     @Operation(summary = "Get child details")
     @GetMapping("/children/{childId}")
     public ResponseEntity<ApiResponse<Student>> getChildDetails(@PathVariable Long childId) {
+        requireOwnChild(childId);
         Student student = studentService.findByIdWithDetails(childId)
             .orElseThrow(() -> new IllegalArgumentException("Child not found"));
         return ResponseEntity.ok(ApiResponse.success("Child details retrieved successfully", student));
@@ -62,17 +66,19 @@ public class ParentController {
     @Operation(summary = "Get child's current trip")
     @GetMapping("/children/{childId}/current-trip")
     public ResponseEntity<ApiResponse<Trip>> getChildCurrentTrip(@PathVariable Long childId) {
+        requireOwnChild(childId);
         Trip trip = tripService.findCurrentTripByStudentId(childId);
         return ResponseEntity.ok(ApiResponse.success("Current trip retrieved successfully", trip));
     }
 
     @Operation(summary = "Get child's trip history")
     @GetMapping("/children/{childId}/trips")
-    public ResponseEntity<ApiResponse<List<Trip>>> getChildTripHistory(
+    public ResponseEntity<ApiResponse<CursorPage<Trip>>> getChildTripHistory(
             @PathVariable Long childId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
-        List<Trip> trips = tripService.findTripsByStudentId(childId, page, size);
+        requireOwnChild(childId);
+        CursorPage<Trip> trips = tripService.findTripsByStudentId(childId, cursor, size);
         return ResponseEntity.ok(ApiResponse.success("Trip history retrieved successfully", trips));
     }
 
@@ -83,6 +89,7 @@ public class ParentController {
             @PathVariable Long childId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        requireOwnChild(childId);
         List<Attendance> attendance = attendanceService.findStudentAttendanceInPeriod(childId, start, end);
         return ResponseEntity.ok(ApiResponse.success("Attendance history retrieved successfully", attendance));
     }
@@ -93,6 +100,7 @@ public class ParentController {
             @PathVariable Long childId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        requireOwnChild(childId);
         double percentage = studentService.calculateAttendancePercentage(childId, start, end);
         long absences = studentService.countAbsences(childId, start, end);
         
@@ -127,4 +135,10 @@ public class ParentController {
     private Long getCurrentParentId() {
         return parentService.getCurrentParentId();
     }
+
+    private void requireOwnChild(Long childId) {
+        if (!SecurityUtils.isParentOf(childId) && !SecurityUtils.hasRole("ADMIN")) {
+            throw new UnauthorizedException("You don't have access to this child");
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.student.QrBadge;
+import com.example.backend.service.QrCodeExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/qr-codes")
+@RequiredArgsConstructor
+@Tag(name = "QR Codes", description = "Printable QR code exports")
+@SecurityRequirement(name = "bearerAuth")
+public class QrCodeController {
+    private final QrCodeExportService qrCodeExportService;
+
+    public enum ExportFormat { ZIP, PDF }
+
+    @Operation(summary = "Export student badge QR codes for a school as a ZIP of PNGs or printable PDF")
+    @GetMapping("/school/{schoolId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportSchoolBadges(
+            @PathVariable Long schoolId,
+            @RequestParam(defaultValue = "ZIP") ExportFormat format) {
+        return stream(qrCodeExportService.findSchoolBadges(schoolId), "school-" + schoolId + "-badges", format);
+    }
+
+    @Operation(summary = "Export student badge QR codes for a route as a ZIP of PNGs or printable PDF")
+    @GetMapping("/route/{routeId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportRouteBadges(
+            @PathVariable Long routeId,
+            @RequestParam(defaultValue = "ZIP") ExportFormat format) {
+        return stream(qrCodeExportService.findRouteBadges(routeId), "route-" + routeId + "-badges", format);
+    }
+
+    @Operation(summary = "Export seat QR codes for a trip as a ZIP of PNGs or printable PDF")
+    @GetMapping("/trip/{tripId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DRIVER')")
+    public ResponseEntity<StreamingResponseBody> exportTripSeats(
+            @PathVariable Long tripId,
+            @RequestParam(defaultValue = "ZIP") ExportFormat format) {
+        return stream(qrCodeExportService.findTripSeatBadges(tripId), "trip-" + tripId + "-seats", format);
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(List<QrBadge> badges, String baseName, ExportFormat format) {
+        boolean pdf = format == ExportFormat.PDF;
+        StreamingResponseBody body = pdf
+                ? out -> qrCodeExportService.writePdf(badges, out)
+                : out -> qrCodeExportService.writeZip(badges, out);
+        return ResponseEntity.ok()
+                .contentType(pdf ? MediaType.APPLICATION_PDF : MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(baseName + (pdf ? ".pdf" : ".zip"))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -3,6 +3,9 @@ package com.example.backend.controller;
 import com.example.backend.dto.ReportDTO;
 import com.example.backend.entities.Report;
 import com.example.backend.entities.user.User;
+import com.example.backend.exception.ResourceNotFoundException;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.services.UserDetailsImpl;
 import com.example.backend.service.ReportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +22,7 @@ import java.util.List;
 public class ReportController {
 
     private final ReportService reportService;
+    private final UserRepository userRepository;
 
     /**
      * Create a new report
@@ -26,8 +30,8 @@ public class ReportController {
     @PostMapping
     public ResponseEntity<ReportDTO> createReport(
             @Valid @RequestBody ReportDTO.ReportRequest reportRequest,
-            @AuthenticationPrincipal User currentUser) {
-        return new ResponseEntity<>(reportService.createReport(reportRequest, currentUser), HttpStatus.CREATED);
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        return new ResponseEntity<>(reportService.createReport(reportRequest, currentUser(principal)), HttpStatus.CREATED);
     }
 
     /**
@@ -45,8 +49,8 @@ public class ReportController {
     public ResponseEntity<ReportDTO> updateReport(
             @PathVariable Long id,
             @Valid @RequestBody ReportDTO.ReportRequest reportRequest,
-            @AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(reportService.updateReport(id, reportRequest, currentUser));
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        return ResponseEntity.ok(reportService.updateReport(id, reportRequest, currentUser(principal)));
     }
 
     /**
@@ -55,8 +59,8 @@ public class ReportController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteReport(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser) {
-        reportService.deleteReport(id, currentUser);
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        reportService.deleteReport(id, currentUser(principal));
         return ResponseEntity.noContent().build();
     }
 
@@ -67,16 +71,16 @@ public class ReportController {
     public ResponseEntity<ReportDTO> updateReportStatus(
             @PathVariable Long id,
             @Valid @RequestBody ReportDTO.StatusUpdateRequest statusRequest,
-            @AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(reportService.updateReportStatus(id, statusRequest, currentUser));
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        return ResponseEntity.ok(reportService.updateReportStatus(id, statusRequest, currentUser(principal)));
     }
 
     /**
      * Get all reports visible to the current user
      */
     @GetMapping
-    public ResponseEntity<List<ReportDTO>> getReportsForUser(@AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(reportService.getReportsForUser(currentUser));
+    public ResponseEntity<List<ReportDTO>> getReportsForUser(@AuthenticationPrincipal UserDetailsImpl principal) {
+        return ResponseEntity.ok(reportService.getReportsForUser(currentUser(principal)));
     }
 
     /**
@@ -85,8 +89,8 @@ public class ReportController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<ReportDTO>> getReportsByUser(
             @PathVariable Long userId,
-            @AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(reportService.getReportsByUser(userId, currentUser));
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        return ResponseEntity.ok(reportService.getReportsByUser(userId, currentUser(principal)));
     }
 
     /**
@@ -95,8 +99,8 @@ public class ReportController {
     @GetMapping("/school/{schoolId}")
     public ResponseEntity<List<ReportDTO>> getReportsBySchool(
             @PathVariable Long schoolId,
-            @AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(reportService.getReportsBySchool(schoolId, currentUser));
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        return ResponseEntity.ok(reportService.getReportsBySchool(schoolId, currentUser(principal)));
     }
 
     /**
@@ -105,8 +109,8 @@ public class ReportController {
     @GetMapping("/type/{type}")
     public ResponseEntity<List<ReportDTO>> getReportsByType(
             @PathVariable Report.ReportType type,
-            @AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(reportService.getReportsByType(type, currentUser));
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        return ResponseEntity.ok(reportService.getReportsByType(type, currentUser(principal)));
     }
 
     /**
@@ -115,7 +119,13 @@ public class ReportController {
     @GetMapping("/status/{status}")
     public ResponseEntity<List<ReportDTO>> getReportsByStatus(
             @PathVariable Report.ReportStatus status,
-            @AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(reportService.getReportsByStatus(status, currentUser));
+            @AuthenticationPrincipal UserDetailsImpl principal) {
+        return ResponseEntity.ok(reportService.getReportsByStatus(status, currentUser(principal)));
     }
-} 
\ No newline at end of file
+
+    // The principal only carries ids and scope; the report service works with the user entity.
+    private User currentUser(UserDetailsImpl principal) {
+        return userRepository.findById(principal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + principal.getId()));
+    }
+}
@@ -8,6 +8,7 @@ import com.example.backend.entities.School;
 import com.example.backend.exception.EntityNotFoundException;
 import com.example.backend.service.RouteService;
 import com.example.backend.service.SchoolService;
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -36,8 +37,8 @@ public class RouteController {
     @Operation(summary = "Get all routes")
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'DRIVER')")
-    public ResponseEntity<ApiResponse<List<Route>>> getAllRoutes() {
-        return ResponseEntity.ok(ApiResponse.success(routeService.findAll()));
+    public ResponseEntity<ApiResponse<RawValue>> getAllRoutes() {
+        return ResponseEntity.ok(ApiResponse.success(routeService.findAllAsJson()));
     }
 
     @Operation(summary = "Get route by ID")
@@ -4,6 +4,7 @@ import com.example.backend.dto.response.ApiResponse;
 import com.example.backend.dto.school.SchoolRequest;
 import com.example.backend.entities.School;
 import com.example.backend.service.SchoolService;
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -29,8 +30,8 @@ public class SchoolController {
     @Operation(summary = "Get all schools")
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<School>>> getAllSchools() {
-        return ResponseEntity.ok(ApiResponse.success(schoolService.findAll()));
+    public ResponseEntity<ApiResponse<RawValue>> getAllSchools() {
+        return ResponseEntity.ok(ApiResponse.success(schoolService.findAllAsJson()));
     }
 
     @Operation(summary = "Get school by ID")
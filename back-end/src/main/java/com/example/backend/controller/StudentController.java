@@ -1,6 +1,7 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.response.ApiResponse;
+import com.example.backend.dto.student.StudentAttendanceStatsView;
 import com.example.backend.dto.student.StudentRequest;
 import com.example.backend.entities.Student;
 import com.example.backend.service.ParentService;
@@ -183,7 +184,7 @@ public class StudentController {
     @Operation(summary = "Find students with attendance stats")
     @GetMapping("/school/{schoolId}/attendance-stats")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Student>>> findStudentsWithAttendanceStats(
+    public ResponseEntity<ApiResponse<List<StudentAttendanceStatsView>>> findStudentsWithAttendanceStats(
             @PathVariable Long schoolId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
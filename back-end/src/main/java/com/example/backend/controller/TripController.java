@@ -1,18 +1,28 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.response.ApiResponse;
+import com.example.backend.dto.response.CursorPage;
+import com.example.backend.dto.trip.RouteTripStatsView;
+import com.example.backend.dto.trip.TripBoard;
+import com.example.backend.dto.trip.TripManifest;
 import com.example.backend.dto.trip.TripRequest;
+import com.example.backend.dto.trip.TripSummaryStatsView;
 import com.example.backend.entities.Trip;
+import com.example.backend.service.TripBoardService;
+import com.example.backend.service.TripManifestService;
 import com.example.backend.service.TripService;
+import com.example.backend.service.TripSummaryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,6 +34,9 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class TripController {
     private final TripService tripService;
+    private final TripSummaryService tripSummaryService;
+    private final TripBoardService tripBoardService;
+    private final TripManifestService tripManifestService;
 
     @Operation(summary = "Get all trips")
     @GetMapping
@@ -164,6 +177,44 @@ public class TripController {
         return ResponseEntity.ok(ApiResponse.success(tripService.findTripsWithStats(schoolId, start, end)));
     }
 
+    @Operation(summary = "Get per-route trip statistics for school")
+    @GetMapping("/school/{schoolId}/stats/routes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<RouteTripStatsView>>> getRouteTripStats(
+            @PathVariable Long schoolId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return ResponseEntity.ok(ApiResponse.success(tripService.getRouteTripStats(schoolId, start, end)));
+    }
+
+    @Operation(summary = "Get aggregated trip summary statistics for school")
+    @GetMapping("/school/{schoolId}/stats/summary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<TripSummaryStatsView>> getSchoolTripSummary(
+            @PathVariable Long schoolId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return ResponseEntity.ok(ApiResponse.success(tripSummaryService.getSchoolStats(schoolId, start, end)));
+    }
+
+    @Operation(summary = "Get today's trip board for school")
+    @GetMapping("/school/{schoolId}/board")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DRIVER')")
+    public ResponseEntity<ApiResponse<TripBoard>> getTripBoard(@PathVariable Long schoolId, WebRequest request) {
+        TripBoard board = tripBoardService.getBoard(schoolId);
+        if (request.checkNotModified(board.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(board.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(board.etag()).body(ApiResponse.success(board));
+    }
+
+    @Operation(summary = "Download trip manifest for offline scan validation")
+    @GetMapping("/{tripId}/manifest")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DRIVER')")
+    public ResponseEntity<ApiResponse<TripManifest>> getTripManifest(@PathVariable Long tripId) {
+        return ResponseEntity.ok(ApiResponse.success(tripManifestService.getManifest(tripId)));
+    }
+
     @Operation(summary = "Start trip")
     @PostMapping("/{tripId}/start")
     @PreAuthorize("hasAnyRole('ADMIN', 'DRIVER')")
@@ -244,10 +295,10 @@ public class TripController {
     @Operation(summary = "Get trip history")
     @GetMapping("/history")
     @PreAuthorize("hasAnyRole('ADMIN', 'DRIVER')")
-    public ResponseEntity<ApiResponse<List<Trip>>> getTripHistory(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<ApiResponse<CursorPage<Trip>>> getTripHistory(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
-        return ResponseEntity.ok(ApiResponse.success(tripService.getTripHistory(page, size)));
+        return ResponseEntity.ok(ApiResponse.success(tripService.getTripHistory(cursor, size)));
     }
 
     @Operation(summary = "Find current trip by student ID")
@@ -260,11 +311,11 @@ public class TripController {
     @Operation(summary = "Find trips by student ID (paginated)")
     @GetMapping("/student/{studentId}/history")
     @PreAuthorize("hasAnyRole('ADMIN', 'PARENT')")
-    public ResponseEntity<ApiResponse<List<Trip>>> findTripsByStudentId(
+    public ResponseEntity<ApiResponse<CursorPage<Trip>>> findTripsByStudentId(
             @PathVariable Long studentId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
-        return ResponseEntity.ok(ApiResponse.success(tripService.findTripsByStudentId(studentId, page, size)));
+        return ResponseEntity.ok(ApiResponse.success(tripService.findTripsByStudentId(studentId, cursor, size)));
     }
 
     @Operation(summary = "Assign students to trip")
@@ -4,6 +4,7 @@ import com.example.backend.dto.response.ApiResponse;
 import com.example.backend.dto.vehicle.VehicleRequest;
 import com.example.backend.entities.Vehicle;
 import com.example.backend.service.VehicleService;
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,8 +28,8 @@ public class VehicleController {
     @Operation(summary = "Get all vehicles")
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'DRIVER')")
-    public ResponseEntity<ApiResponse<List<Vehicle>>> getAllVehicles() {
-        return ResponseEntity.ok(ApiResponse.success(vehicleService.findAll()));
+    public ResponseEntity<ApiResponse<RawValue>> getAllVehicles() {
+        return ResponseEntity.ok(ApiResponse.success(vehicleService.findAllAsJson()));
     }
 
     @Operation(summary = "Get vehicle by ID")
@@ -0,0 +1,33 @@
+package com.example.backend.dto.attendance;
+
+import com.example.backend.entities.Attendance;
+
+import java.time.LocalDateTime;
+
+/**
+ * One flat attendance line of a data export, selected as scalars so that streaming rows
+ * never enter the persistence context.
+ */
+public record AttendanceExportRow(Long attendanceId,
+                                  LocalDateTime scanTime,
+                                  Attendance.AttendanceStatus status,
+                                  Integer seatNumber,
+                                  Boolean parentNotified,
+                                  String notes,
+                                  Long studentId,
+                                  String studentFirstName,
+                                  String studentLastName,
+                                  String grade,
+                                  Long schoolId,
+                                  String schoolName,
+                                  Long parentId,
+                                  String parentEmail,
+                                  Long tripId,
+                                  LocalDateTime scheduledDepartureTime,
+                                  Long routeId,
+                                  String routeName,
+                                  Long driverId,
+                                  String driverFirstName,
+                                  String driverLastName,
+                                  String vehicleLicensePlate) {
+}
@@ -0,0 +1,8 @@
+package com.example.backend.dto.attendance;
+
+import com.example.backend.entities.Attendance;
+
+public interface AttendanceStatusCountView {
+    Attendance.AttendanceStatus getStatus();
+    long getTotal();
+}
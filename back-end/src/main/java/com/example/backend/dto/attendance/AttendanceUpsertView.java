@@ -0,0 +1,6 @@
+package com.example.backend.dto.attendance;
+
+public interface AttendanceUpsertView {
+    Long getAttendanceId();
+    Boolean getCreated();
+}
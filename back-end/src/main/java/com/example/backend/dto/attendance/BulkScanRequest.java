@@ -0,0 +1,21 @@
+package com.example.backend.dto.attendance;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkScanRequest {
+    @NotNull(message = "Trip ID is required")
+    private Long tripId;
+
+    @NotEmpty(message = "At least one scan is required")
+    @Size(max = 500, message = "A batch cannot contain more than 500 scans")
+    private List<@Valid OfflineScanRequest> scans;
+}
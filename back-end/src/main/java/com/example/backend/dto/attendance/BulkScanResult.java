@@ -0,0 +1,20 @@
+package com.example.backend.dto.attendance;
+
+import java.util.List;
+
+public record BulkScanResult(Long tripId, int recorded, int duplicates, int rejected, List<ScanOutcome> outcomes) {
+
+    public static BulkScanResult of(Long tripId, List<ScanOutcome> outcomes) {
+        int recorded = 0;
+        int duplicates = 0;
+        int rejected = 0;
+        for (ScanOutcome outcome : outcomes) {
+            switch (outcome.outcome()) {
+                case RECORDED -> recorded++;
+                case DUPLICATE -> duplicates++;
+                case REJECTED -> rejected++;
+            }
+        }
+        return new BulkScanResult(tripId, recorded, duplicates, rejected, outcomes);
+    }
+}
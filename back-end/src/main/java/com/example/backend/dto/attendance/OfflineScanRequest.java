@@ -0,0 +1,34 @@
+package com.example.backend.dto.attendance;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A scan captured on the driver's device, possibly while offline. Either the scanned
+ * QR code or the student id identifies the student.
+ */
+@Getter
+@Setter
+public class OfflineScanRequest {
+    @NotBlank(message = "Client scan ID is required")
+    @Size(max = 64, message = "Client scan ID cannot exceed 64 characters")
+    private String clientScanId;
+
+    private String qrCode;
+
+    private Long studentId;
+
+    private String status;
+
+    @NotNull(message = "Scan time is required")
+    private LocalDateTime scannedAt;
+
+    private Double latitude;
+    private Double longitude;
+    private String notes;
+}
@@ -0,0 +1,8 @@
+package com.example.backend.dto.attendance;
+
+/**
+ * Result of recording attendance: {@code created} is false when an existing pending
+ * row for the student on the trip (e.g. from seat assignment) was filled in instead.
+ */
+public record RecordedAttendance(Long attendanceId, boolean created) {
+}
@@ -0,0 +1,26 @@
+package com.example.backend.dto.attendance;
+
+/**
+ * Result of one scan in a bulk upload. Clients can drop every scan whose outcome is
+ * not {@link Outcome#REJECTED} from their local queue.
+ */
+public record ScanOutcome(String clientScanId, Outcome outcome, Long studentId, Long attendanceId, String reason) {
+
+    public enum Outcome {
+        RECORDED,
+        DUPLICATE,
+        REJECTED
+    }
+
+    public static ScanOutcome recorded(String clientScanId, Long studentId, Long attendanceId) {
+        return new ScanOutcome(clientScanId, Outcome.RECORDED, studentId, attendanceId, null);
+    }
+
+    public static ScanOutcome duplicate(String clientScanId, Long studentId, Long attendanceId, String reason) {
+        return new ScanOutcome(clientScanId, Outcome.DUPLICATE, studentId, attendanceId, reason);
+    }
+
+    public static ScanOutcome rejected(String clientScanId, String reason) {
+        return new ScanOutcome(clientScanId, Outcome.REJECTED, null, null, reason);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A single page of a keyset-paginated listing. {@code nextCursor} is opaque to
+ * clients and is {@code null} once the last page has been reached.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public static <T> CursorPage<T> of(List<T> items, String nextCursor) {
+        return new CursorPage<>(items, nextCursor, nextCursor != null);
+    }
+}
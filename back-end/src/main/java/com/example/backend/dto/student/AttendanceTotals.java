@@ -0,0 +1,16 @@
+package com.example.backend.dto.student;
+
+/**
+ * Scanned attendance records and absences for a student over a period.
+ */
+public record AttendanceTotals(long total, long absences) {
+
+    public static final AttendanceTotals NONE = new AttendanceTotals(0, 0);
+
+    /**
+     * Share of records without an absence; 100 when nothing was recorded.
+     */
+    public double attendancePercentage() {
+        return total == 0 ? 100.0 : ((double) (total - absences) / total) * 100;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.backend.dto.student;
+
+/**
+ * One printable QR code: the payload to encode, a caption for badge sheets and the
+ * entry name used in ZIP exports.
+ */
+public record QrBadge(String fileName, String caption, String payload) {
+}
@@ -0,0 +1,9 @@
+package com.example.backend.dto.student;
+
+public interface QrBadgeRowView {
+    Long getStudentId();
+    String getFirstName();
+    String getLastName();
+    Integer getSeatNumber();
+    String getQrCode();
+}
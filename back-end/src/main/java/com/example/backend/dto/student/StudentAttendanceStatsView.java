@@ -0,0 +1,23 @@
+package com.example.backend.dto.student;
+
+/**
+ * Per-student attendance counts for a period, produced by a single grouped query.
+ */
+public interface StudentAttendanceStatsView {
+    Long getStudentId();
+    String getFirstName();
+    String getLastName();
+    String getGrade();
+    Integer getSeatNumber();
+    long getTotalRecords();
+    long getPresentCount();
+    long getAbsentCount();
+    long getExcusedCount();
+
+    /**
+     * Same percentage as the per-student totals report, kept as a property for clients.
+     */
+    default double getAttendancePercentage() {
+        return new AttendanceTotals(getTotalRecords(), getAbsentCount()).attendancePercentage();
+    }
+}
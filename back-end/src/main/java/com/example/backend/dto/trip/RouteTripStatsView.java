@@ -0,0 +1,16 @@
+package com.example.backend.dto.trip;
+
+/**
+ * Per-route trip statistics for a single school, aggregated in the database.
+ */
+public interface RouteTripStatsView {
+    Long getRouteId();
+    String getRouteName();
+    long getTotalTrips();
+    long getScheduledTrips();
+    long getInProgressTrips();
+    long getCompletedTrips();
+    long getCancelledTrips();
+    long getOnTimeDepartures();
+    Double getAverageDelayMinutes();
+}
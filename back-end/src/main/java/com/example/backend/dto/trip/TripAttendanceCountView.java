@@ -0,0 +1,10 @@
+package com.example.backend.dto.trip;
+
+/**
+ * Assigned and present student counts for one trip.
+ */
+public interface TripAttendanceCountView {
+    Long getTripId();
+    long getAssigned();
+    long getPresent();
+}
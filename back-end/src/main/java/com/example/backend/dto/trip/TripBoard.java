@@ -0,0 +1,67 @@
+package com.example.backend.dto.trip;
+
+import com.example.backend.entities.Trip;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable snapshot of a school's trips for one day. Every change produces a new
+ * snapshot with a new {@code version}, which doubles as the HTTP entity tag.
+ */
+public record TripBoard(Long schoolId,
+                        LocalDate date,
+                        long version,
+                        LocalDateTime generatedAt,
+                        Map<Trip.TripStatus, Long> statusCounts,
+                        List<TripBoardEntry> trips) {
+
+    private static final Comparator<TripBoardEntry> BY_DEPARTURE =
+            Comparator.comparing(TripBoardEntry::scheduledDepartureTime).thenComparing(TripBoardEntry::tripId);
+
+    public static TripBoard of(Long schoolId, LocalDate date, long version, List<TripBoardEntry> trips) {
+        List<TripBoardEntry> sorted = trips.stream().sorted(BY_DEPARTURE).toList();
+        Map<Trip.TripStatus, Long> counts = new EnumMap<>(Trip.TripStatus.class);
+        for (Trip.TripStatus status : Trip.TripStatus.values()) {
+            counts.put(status, 0L);
+        }
+        sorted.forEach(entry -> counts.merge(entry.status(), 1L, Long::sum));
+        return new TripBoard(schoolId, date, version, LocalDateTime.now(), Collections.unmodifiableMap(counts), sorted);
+    }
+
+    /**
+     * Returns a new board with the entry for {@code tripId} replaced, or removed when
+     * {@code entry} is {@code null}.
+     */
+    public TripBoard withEntry(Long tripId, TripBoardEntry entry, long newVersion) {
+        List<TripBoardEntry> updated = new ArrayList<>(trips.size() + 1);
+        trips.stream().filter(existing -> !existing.tripId().equals(tripId)).forEach(updated::add);
+        if (entry != null) {
+            updated.add(entry);
+        }
+        return of(schoolId, date, newVersion, updated);
+    }
+
+    public TripBoard mapEntry(Long tripId, UnaryOperator<TripBoardEntry> change, long newVersion) {
+        return withEntry(tripId, trips.stream()
+                .filter(existing -> existing.tripId().equals(tripId))
+                .findFirst()
+                .map(change)
+                .orElse(null), newVersion);
+    }
+
+    public boolean contains(Long tripId) {
+        return trips.stream().anyMatch(entry -> entry.tripId().equals(tripId));
+    }
+
+    public String etag() {
+        return "\"" + schoolId + "-" + date + "-" + version + "\"";
+    }
+}
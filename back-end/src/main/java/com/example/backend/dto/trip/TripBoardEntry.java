@@ -0,0 +1,54 @@
+package com.example.backend.dto.trip;
+
+import com.example.backend.entities.Trip;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a school's daily trip board.
+ */
+public record TripBoardEntry(Long tripId,
+                             Long routeId,
+                             String routeName,
+                             Long driverId,
+                             String driverName,
+                             Long vehicleId,
+                             String vehicleLicensePlate,
+                             Trip.TripStatus status,
+                             LocalDateTime scheduledDepartureTime,
+                             LocalDateTime actualDepartureTime,
+                             LocalDateTime actualArrivalTime,
+                             boolean startOverdue,
+                             long assignedStudents,
+                             long presentStudents) {
+
+    public static TripBoardEntry of(Trip trip, boolean startOverdue, long assignedStudents, long presentStudents) {
+        return new TripBoardEntry(
+                trip.getId(),
+                trip.getRoute().getId(),
+                trip.getRoute().getName(),
+                trip.getDriver() != null ? trip.getDriver().getId() : null,
+                trip.getDriver() != null ? trip.getDriver().getFirstName() + " " + trip.getDriver().getLastName() : null,
+                trip.getVehicle() != null ? trip.getVehicle().getId() : null,
+                trip.getVehicle() != null ? trip.getVehicle().getLicensePlate() : null,
+                trip.getStatus(),
+                trip.getScheduledDepartureTime(),
+                trip.getActualDepartureTime(),
+                trip.getActualArrivalTime(),
+                startOverdue,
+                assignedStudents,
+                presentStudents);
+    }
+
+    public TripBoardEntry withStartOverdue() {
+        return new TripBoardEntry(tripId, routeId, routeName, driverId, driverName, vehicleId, vehicleLicensePlate,
+                status, scheduledDepartureTime, actualDepartureTime, actualArrivalTime, true,
+                assignedStudents, presentStudents);
+    }
+
+    public TripBoardEntry withAttendanceDelta(long assignedDelta, long presentDelta) {
+        return new TripBoardEntry(tripId, routeId, routeName, driverId, driverName, vehicleId, vehicleLicensePlate,
+                status, scheduledDepartureTime, actualDepartureTime, actualArrivalTime, startOverdue,
+                assignedStudents + assignedDelta, presentStudents + presentDelta);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.backend.dto.trip;
+
+/**
+ * Completed trip count keyed by the id of the owning driver, vehicle or route.
+ */
+public interface TripCountView {
+    Long getOwnerId();
+    long getCompletedTrips();
+}
@@ -0,0 +1,42 @@
+package com.example.backend.dto.trip;
+
+import com.example.backend.entities.Trip;
+import jakarta.validation.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Seek position in a trip listing ordered by {@code (scheduledDepartureTime DESC, id DESC)}.
+ * Encoded as URL-safe base64 so clients treat it as an opaque token.
+ */
+public record TripCursor(LocalDateTime scheduledDepartureTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TripCursor after(Trip trip) {
+        return new TripCursor(trip.getScheduledDepartureTime(), trip.getId());
+    }
+
+    public String encode() {
+        String raw = scheduledDepartureTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TripCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("Malformed pagination cursor");
+            }
+            return new TripCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Malformed pagination cursor");
+        }
+    }
+}
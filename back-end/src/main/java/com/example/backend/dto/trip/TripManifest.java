@@ -0,0 +1,59 @@
+package com.example.backend.dto.trip;
+
+import com.example.backend.entities.Route;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the driver app needs to validate scans for one trip: expected students
+ * with seats and QR hashes, and the route's stops in order. Stop assignment per student
+ * is not modelled yet, so stops are listed for the route as a whole. The rollup key
+ * travels with the manifest so scans can move attendance counters without looking the
+ * trip up again.
+ */
+public record TripManifest(Long tripId,
+                           Long routeId,
+                           String routeName,
+                           Long vehicleId,
+                           LocalDateTime builtAt,
+                           List<TripManifestEntry> students,
+                           List<Route.RouteStop> stops,
+                           @JsonIgnore TripRollupKey rollupKey) {
+
+    /**
+     * Index of manifest entries by both their student and seat QR hashes.
+     */
+    public Map<String, TripManifestEntry> indexByQrHash() {
+        Map<String, TripManifestEntry> index = new HashMap<>();
+        for (TripManifestEntry entry : students) {
+            if (entry.studentQrHash() != null) {
+                index.put(entry.studentQrHash(), entry);
+            }
+            if (entry.seatQrHash() != null) {
+                index.put(entry.seatQrHash(), entry);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * SHA-256 of the raw QR payload, URL-safe base64 without padding. Clients must hash
+     * the scanned text the same way before looking it up.
+     */
+    public static String hashQrPayload(String payload) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
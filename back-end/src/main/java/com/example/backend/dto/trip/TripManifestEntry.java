@@ -0,0 +1,14 @@
+package com.example.backend.dto.trip;
+
+/**
+ * An expected passenger on a trip. Only hashes of the QR payloads are exposed so the
+ * driver app can validate scans offline without holding the raw codes.
+ */
+public record TripManifestEntry(Long attendanceId,
+                                Long studentId,
+                                String firstName,
+                                String lastName,
+                                Integer seatNumber,
+                                String studentQrHash,
+                                String seatQrHash) {
+}
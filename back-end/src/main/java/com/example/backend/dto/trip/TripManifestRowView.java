@@ -0,0 +1,11 @@
+package com.example.backend.dto.trip;
+
+public interface TripManifestRowView {
+    Long getAttendanceId();
+    Long getStudentId();
+    String getFirstName();
+    String getLastName();
+    Integer getSeatNumber();
+    String getStudentQrCode();
+    String getSeatQrCode();
+}
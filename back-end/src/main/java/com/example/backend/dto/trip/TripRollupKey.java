@@ -0,0 +1,23 @@
+package com.example.backend.dto.trip;
+
+import com.example.backend.entities.Trip;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The school and service day a trip's attendance counts are rolled up under.
+ * {@code schoolId} is null for trips on a route without a school.
+ */
+public record TripRollupKey(Long tripId, Long schoolId, LocalDate serviceDate) {
+
+    /** Same key as {@code TripRepository.findRollupKey}, taken from a loaded trip. */
+    public static TripRollupKey of(Trip trip) {
+        LocalDateTime serviceTime = trip.getScheduledDepartureTime() != null ? trip.getScheduledDepartureTime()
+                : trip.getActualDepartureTime() != null ? trip.getActualDepartureTime()
+                : trip.getCreatedAt();
+        return new TripRollupKey(trip.getId(),
+                trip.getRoute().getSchool() != null ? trip.getRoute().getSchool().getId() : null,
+                serviceTime.toLocalDate());
+    }
+}
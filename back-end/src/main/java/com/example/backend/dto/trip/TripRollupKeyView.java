@@ -0,0 +1,8 @@
+package com.example.backend.dto.trip;
+
+import java.time.LocalDateTime;
+
+public interface TripRollupKeyView {
+    Long getSchoolId();
+    LocalDateTime getServiceTime();
+}
@@ -0,0 +1,14 @@
+package com.example.backend.dto.trip;
+
+/**
+ * School-level aggregate over trip summaries for a period.
+ */
+public interface TripSummaryStatsView {
+    long getCompletedTrips();
+    long getCancelledTrips();
+    Double getAverageDurationMinutes();
+    Double getAverageDelayMinutes();
+    Double getTotalDistanceKm();
+    long getPresentCount();
+    long getAbsentCount();
+}
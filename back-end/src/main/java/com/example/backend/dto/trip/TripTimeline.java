@@ -0,0 +1,17 @@
+package com.example.backend.dto.trip;
+
+import com.example.backend.entities.Trip;
+
+import java.time.LocalDateTime;
+
+/**
+ * Minimal view of a trip's timing, used to derive its lifecycle deadlines without
+ * loading the trip graph. {@code routeDurationMinutes} is the largest stop offset on
+ * the route, or {@code null} when the route has no timed stops.
+ */
+public record TripTimeline(Long tripId,
+                           Trip.TripStatus status,
+                           LocalDateTime scheduledDepartureTime,
+                           LocalDateTime actualDepartureTime,
+                           Integer routeDurationMinutes) {
+}
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "attendances")
+@Table(name = "attendances", indexes = {
+        @Index(name = "idx_attendances_student_trip", columnList = "student_id, trip_id"),
+        @Index(name = "uk_attendances_client_scan_id", columnList = "client_scan_id", unique = true)
+})
 public class Attendance extends BaseEntity {
     
     @ManyToOne
@@ -43,6 +46,13 @@ public class Attendance extends BaseEntity {
     @Column
     private String qrCode;
 
+    @Column(name = "client_scan_id", length = 64)
+    private String clientScanId;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     public enum AttendanceStatus {
         PENDING,
         PRESENT,
@@ -0,0 +1,37 @@
+package com.example.backend.entities;
+
+import com.example.backend.entities.base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Running number of attendance rows per school, service day and status. Kept in step
+ * with every attendance insert and status change by {@code AttendanceRollupService} and
+ * periodically rebuilt from the attendance table. The service day is the trip's
+ * scheduled departure date.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "attendance_daily_counts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_daily_counts_school_date_status",
+                columnNames = {"school_id", "service_date", "status"})
+})
+public class AttendanceDailyCount extends BaseEntity {
+
+    @Column(name = "school_id", nullable = false)
+    private Long schoolId;
+
+    @Column(name = "service_date", nullable = false)
+    private LocalDate serviceDate;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Attendance.AttendanceStatus status;
+
+    @Column(nullable = false)
+    private long total;
+}
@@ -0,0 +1,61 @@
+package com.example.backend.entities;
+
+import com.example.backend.entities.base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One pending parent notification about an attendance change. Rows are written in the
+ * same transaction as the change itself and drained by {@code ParentNotificationDispatcher},
+ * which claims due rows, delivers them grouped per parent and marks them sent.
+ * {@code attendanceStatus} is the status the parent is told about.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "parent_notification_outbox", indexes = {
+        @Index(name = "idx_parent_notification_outbox_due", columnList = "status, available_at")
+})
+public class ParentNotificationOutbox extends BaseEntity {
+
+    @Column(name = "attendance_id", nullable = false)
+    private Long attendanceId;
+
+    @Column(name = "parent_id", nullable = false)
+    private Long parentId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "trip_id", nullable = false)
+    private Long tripId;
+
+    @Column(name = "attendance_status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Attendance.AttendanceStatus attendanceStatus;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public enum OutboxStatus {
+        PENDING,
+        SENT,
+        FAILED
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.entities;
+
+import com.example.backend.entities.base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A token revoked before its expiry, identified by its {@code jti} claim. Rows are
+ * only needed until {@code expiresAt}, after which the token is rejected anyway, and
+ * are purged when the revocation filter is rebuilt.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_created_at", columnList = "created_at"),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedToken extends BaseEntity {
+
+    @Column(name = "token_id", nullable = false, unique = true, length = 64)
+    private String tokenId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
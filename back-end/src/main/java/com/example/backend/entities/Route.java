@@ -1,5 +1,6 @@
 package com.example.backend.entities;
 
+import com.example.backend.cache.ReferenceDataChangeListener;
 import com.example.backend.entities.base.BaseEntity;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
@@ -19,6 +20,7 @@ import java.util.Set;
 @Setter
 @Entity
 @Table(name = "routes")
+@EntityListeners(ReferenceDataChangeListener.class)
 public class Route extends BaseEntity {
     
     @NotBlank(message = "Route name is required")
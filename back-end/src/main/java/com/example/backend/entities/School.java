@@ -1,5 +1,6 @@
 package com.example.backend.entities;
 
+import com.example.backend.cache.ReferenceDataChangeListener;
 import com.example.backend.entities.base.BaseEntity;
 import com.example.backend.entities.user.Admin;
 import com.example.backend.entities.user.Driver;
@@ -17,6 +18,7 @@ import java.util.Set;
 @Setter
 @Entity
 @Table(name = "schools")
+@EntityListeners(ReferenceDataChangeListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -13,7 +13,9 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+        @Index(name = "idx_students_qr_code", columnList = "qr_code")
+})
 public class Student extends BaseEntity {
     
     @NotBlank(message = "First name is required")
@@ -47,15 +49,4 @@ public class Student extends BaseEntity {
 
     @Transient
     private Double attendancePercentage;
-
-    /**
-     * QR code will be generated after a route is assigned to the student
-     * This is called programmatically, not via PrePersist
-     */
-    public void generateQRCode() {
-        if (this.getId() != null) {
-            // Generate QR code based on student ID
-            this.qrCode = String.format("NIMBUS-STD-%d", this.getId());
-        }
-    }
 } 
\ No newline at end of file
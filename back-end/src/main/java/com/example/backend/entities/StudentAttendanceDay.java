@@ -0,0 +1,41 @@
+package com.example.backend.entities;
+
+import com.example.backend.entities.base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * One student's scanned attendance on one day, together with running totals over all
+ * earlier days. The totals for any date range are the difference between two rows, so
+ * percentages do not depend on how much history a student has. Days without scans
+ * have no row.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "student_attendance_days", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_student_attendance_days_student_date", columnNames = {"student_id", "service_date"})
+})
+public class StudentAttendanceDay extends BaseEntity {
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "service_date", nullable = false)
+    private LocalDate serviceDate;
+
+    @Column(nullable = false)
+    private long totalCount;
+
+    @Column(nullable = false)
+    private long absentCount;
+
+    @Column(nullable = false)
+    private long cumulativeTotal;
+
+    @Column(nullable = false)
+    private long cumulativeAbsent;
+}
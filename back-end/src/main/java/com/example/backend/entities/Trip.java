@@ -1,5 +1,6 @@
 package com.example.backend.entities;
 
+import com.example.backend.cache.ReferenceDataChangeListener;
 import com.example.backend.entities.base.BaseEntity;
 import com.example.backend.entities.user.Driver;
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -15,7 +16,11 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
-@Table(name = "trips")
+@Table(name = "trips", indexes = {
+        @Index(name = "idx_trips_route_departure", columnList = "route_id, scheduled_departure_time"),
+        @Index(name = "idx_trips_departure_id", columnList = "scheduled_departure_time, id")
+})
+@EntityListeners(ReferenceDataChangeListener.class)
 public class Trip extends BaseEntity {
     
     @ManyToOne
@@ -53,6 +58,10 @@ public class Trip extends BaseEntity {
     @Column
     private String notes;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     public enum TripStatus {
         SCHEDULED,
         IN_PROGRESS,
@@ -0,0 +1,75 @@
+package com.example.backend.entities;
+
+import com.example.backend.entities.base.BaseEntity;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact record of how a trip ended. Written when a trip is completed or cancelled so
+ * dashboards aggregate over one narrow row per trip instead of re-deriving figures from
+ * trips and attendances. Owner ids are copied from the trip so the aggregates do not
+ * need joins. The attendance counts follow corrections made after the trip ended.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "trip_summaries", indexes = {
+        @Index(name = "idx_trip_summaries_driver_departure", columnList = "driver_id, scheduled_departure_time"),
+        @Index(name = "idx_trip_summaries_vehicle", columnList = "vehicle_id"),
+        @Index(name = "idx_trip_summaries_route", columnList = "route_id"),
+        @Index(name = "idx_trip_summaries_school_departure", columnList = "school_id, scheduled_departure_time")
+})
+public class TripSummary extends BaseEntity {
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trip_id", nullable = false, unique = true)
+    @JsonIgnore
+    private Trip trip;
+
+    @Column(name = "driver_id")
+    private Long driverId;
+
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+
+    @Column(name = "route_id")
+    private Long routeId;
+
+    @Column(name = "school_id")
+    private Long schoolId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Trip.TripStatus finalStatus;
+
+    @Column(name = "scheduled_departure_time", nullable = false)
+    private LocalDateTime scheduledDepartureTime;
+
+    @Column
+    private LocalDateTime actualDepartureTime;
+
+    @Column
+    private LocalDateTime actualArrivalTime;
+
+    @Column
+    private Long durationMinutes;
+
+    @Column
+    private Long departureDelayMinutes;
+
+    @Column
+    private Double distanceKm;
+
+    @Column(nullable = false)
+    private int presentCount;
+
+    @Column(nullable = false)
+    private int absentCount;
+
+    @Column(nullable = false)
+    private int assignedCount;
+}
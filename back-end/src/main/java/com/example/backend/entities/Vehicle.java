@@ -1,5 +1,6 @@
 package com.example.backend.entities;
 
+import com.example.backend.cache.ReferenceDataChangeListener;
 import com.example.backend.entities.base.BaseEntity;
 import com.example.backend.entities.user.Driver;
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -18,6 +19,7 @@ import java.util.Set;
 @Setter
 @Entity
 @Table(name = "vehicles")
+@EntityListeners(ReferenceDataChangeListener.class)
 public class Vehicle extends BaseEntity {
     
     @NotBlank(message = "License plate is required")
@@ -1,5 +1,6 @@
 package com.example.backend.entities.user;
 
+import com.example.backend.cache.ReferenceDataChangeListener;
 import com.example.backend.entities.School;
 import com.example.backend.entities.Trip;
 import com.example.backend.entities.Vehicle;
@@ -19,6 +20,7 @@ import java.util.Set;
 @Setter
 @Entity
 @Table(name = "drivers")
+@EntityListeners(ReferenceDataChangeListener.class)
 public class Driver extends User {
     
     @NotBlank(message = "License number is required")
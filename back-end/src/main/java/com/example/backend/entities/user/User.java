@@ -1,20 +1,28 @@
 package com.example.backend.entities.user;
 
 import com.example.backend.entities.base.BaseEntity;
+import com.example.backend.security.jwt.UserTokenVersionListener;
+import com.example.backend.security.services.UserDetailsCacheListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Objects;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "users")
 @Inheritance(strategy = InheritanceType.JOINED)
+@EntityListeners({UserTokenVersionListener.class, UserDetailsCacheListener.class})
 public class User extends BaseEntity {
     @NotBlank(message = "First name is required")
     @Column(nullable = false)
@@ -33,6 +41,22 @@ public class User extends BaseEntity {
     @Column(nullable = false, unique = true)
     private String email;
 
+    /**
+     * Trimmed, lower-cased copies of the username and email, kept in sync on every
+     * write. Lookups compare against these so each is a single probe of a unique index.
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(name = "username_normalized")
+    private String normalizedUsername;
+
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_normalized")
+    private String normalizedEmail;
+
+    /** Accepted in request bodies but never written out, including in cached listings. */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @NotBlank(message = "Password is required")
     @Column(nullable = false)
     private String password;
@@ -45,6 +69,82 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     private Role role;
 
+    /**
+     * Carried in issued tokens and bumped whenever the password, role or active flag
+     * changes, which invalidates every token issued before.
+     */
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long securityVersion;
+
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String loadedCredentialState;
+
+    /**
+     * Username and email as loaded. Only a changed value is normalized again, so rows
+     * whose normalized value was suffixed with their id to break a legacy clash keep it.
+     */
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String loadedUsername;
+
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String loadedEmail;
+
+    @PostLoad
+    protected void rememberCredentialState() {
+        loadedCredentialState = credentialState();
+        loadedUsername = username;
+        loadedEmail = email;
+    }
+
+    @PrePersist
+    protected void normalizeIdentifiers() {
+        normalizedUsername = normalizeIdentifier(username);
+        normalizedEmail = normalizeIdentifier(email);
+    }
+
+    @PreUpdate
+    protected void bumpSecurityVersionIfCredentialsChanged() {
+        if (normalizedUsername == null || !Objects.equals(username, loadedUsername)) {
+            normalizedUsername = normalizeIdentifier(username);
+        }
+        if (normalizedEmail == null || !Objects.equals(email, loadedEmail)) {
+            normalizedEmail = normalizeIdentifier(email);
+        }
+        loadedUsername = username;
+        loadedEmail = email;
+        String current = credentialState();
+        if (loadedCredentialState != null && !loadedCredentialState.equals(current)) {
+            securityVersion++;
+        }
+        loadedCredentialState = current;
+    }
+
+    /**
+     * Invalidates every token issued to this user so far. Used when the schools or
+     * children a token grants access to change without a credential change.
+     */
+    public void revokeIssuedTokens() {
+        securityVersion++;
+    }
+
+    private String credentialState() {
+        return password + '|' + isActive() + '|' + role;
+    }
+
+    public static String normalizeIdentifier(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
     public enum Role {
         ADMIN,
         DRIVER,
@@ -0,0 +1,22 @@
+package com.example.backend.events;
+
+import com.example.backend.entities.Attendance;
+
+import java.util.Map;
+
+/**
+ * Published whenever attendance rows of a trip are created or change status, with the
+ * net change per status. In-memory views should react after the surrounding
+ * transaction commits; stored aggregates may apply it within that transaction.
+ */
+public record AttendanceCountsChangedEvent(Long tripId, Map<Attendance.AttendanceStatus, Long> deltas) {
+
+    /** Change in the number of students on the trip. */
+    public long assignedDelta() {
+        return deltas.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long delta(Attendance.AttendanceStatus status) {
+        return deltas.getOrDefault(status, 0L);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.backend.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a trip reaches one of its lifecycle deadlines. Delivered on the
+ * scheduler thread, so listeners must not block.
+ */
+public record TripDeadlineEvent(Long tripId, Deadline deadline, LocalDateTime dueAt) {
+
+    public enum Deadline {
+        START_WINDOW_OPENED,
+        START_OVERDUE,
+        EXPECTED_ARRIVAL,
+        MAX_DURATION_EXCEEDED,
+        NOTIFICATION_CUTOFF
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.backend.events;
+
+/**
+ * Published by the trip service whenever a trip is created or changes schedule,
+ * assignment or status. Listeners should react after the surrounding transaction
+ * commits.
+ */
+public record TripLifecycleEvent(Long tripId, Transition transition) {
+
+    public enum Transition {
+        CREATED,
+        RESCHEDULED,
+        REASSIGNED,
+        STARTED,
+        COMPLETED,
+        CANCELLED
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.backend.events;
+
+/**
+ * Published by the user service when a change makes a user's cached security details
+ * stale. Listeners should react after the surrounding transaction commits.
+ */
+public record UserAccountChangedEvent(Long userId, String username, Change change) {
+
+    public enum Change {
+        DEACTIVATED,
+        PASSWORD_CHANGED,
+        PASSWORD_RESET,
+        PROFILE_UPDATED
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.backend.exception;
+
+import com.example.backend.dto.response.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps failures that can escape any controller to API responses. Lost compare-and-set
+ * races and {@code @Version} checks that fail at flush both mean the client acted on a
+ * stale copy, so they are answered with 409 and a retry hint. A username or email that
+ * collides with another account only once normalized is a validation error; any other
+ * constraint violation is a 409 conflict with existing data. Refused logins get 429;
+ * Spring MVC unwraps them from failed asynchronous login results before they get here.
+ */
+@Slf4j
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final Map<String, String> USER_IDENTIFIER_CONSTRAINTS = Map.of(
+            "uk_users_username_normalized", "Username already exists",
+            "uk_users_email_normalized", "Email already exists");
+
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<ApiResponse<Void>> handleConcurrentUpdate(ConcurrentUpdateException e) {
+        log.debug("Rejecting concurrent update: {}", e.getMessage());
+        return conflict(e.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        log.debug("Rejecting stale update: {}", e.getMessage());
+        return conflict("The record was modified concurrently, please retry");
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ApiResponse.error(e.getMessage(), "TOO_MANY_REQUESTS"));
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse<Void>> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        String constraint = constraintName(e);
+        String message = constraint != null ? USER_IDENTIFIER_CONSTRAINTS.get(constraint) : null;
+        if (message == null) {
+            log.warn("Rejecting request that violates constraint {}: {}", constraint, e.getMostSpecificCause().getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("The request conflicts with existing data", "DATA_CONFLICT"));
+        }
+        log.debug("Rejecting duplicate user identifier: {}", message);
+        return ResponseEntity.badRequest().body(ApiResponse.error(message, "VALIDATION_ERROR"));
+    }
+
+    private static String constraintName(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+
+    private ResponseEntity<ApiResponse<Void>> conflict(String message) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(message, "CONCURRENT_UPDATE"));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConcurrentUpdateException extends RuntimeException {
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+
+    public ConcurrentUpdateException(String entityName, Long id) {
+        super(String.format("%s %d was modified concurrently, please retry", entityName, id));
+    }
+}
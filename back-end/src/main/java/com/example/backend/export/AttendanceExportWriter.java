@@ -0,0 +1,167 @@
+package com.example.backend.export;
+
+import com.example.backend.dto.attendance.AttendanceExportRow;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes attendance export rows to a stream as CSV or newline-delimited JSON, one line
+ * per row, through a fixed-size buffer. Nothing is retained between rows. Call
+ * {@link #finish()} to flush; the underlying stream is left open.
+ */
+public final class AttendanceExportWriter {
+
+    static final String[] COLUMNS = {
+            "attendance_id", "scan_time", "status", "seat_number", "parent_notified", "notes",
+            "student_id", "student_first_name", "student_last_name", "grade",
+            "school_id", "school_name", "parent_id", "parent_email",
+            "trip_id", "scheduled_departure_time", "route_id", "route_name",
+            "driver_id", "driver_first_name", "driver_last_name", "vehicle_license_plate"
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AttendanceExportFormat format;
+    private final Writer writer;
+    private final JsonGenerator json;
+    private final Object[] values = new Object[COLUMNS.length];
+    private long rows;
+
+    public AttendanceExportWriter(AttendanceExportFormat format, OutputStream out, JsonFactory jsonFactory)
+            throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == AttendanceExportFormat.NDJSON) {
+            this.json = jsonFactory.createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                    .setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        } else {
+            this.json = null;
+            writeCsvLine(COLUMNS);
+        }
+    }
+
+    public void write(AttendanceExportRow row) throws IOException {
+        values[0] = row.attendanceId();
+        values[1] = row.scanTime();
+        values[2] = row.status();
+        values[3] = row.seatNumber();
+        values[4] = row.parentNotified();
+        values[5] = row.notes();
+        values[6] = row.studentId();
+        values[7] = row.studentFirstName();
+        values[8] = row.studentLastName();
+        values[9] = row.grade();
+        values[10] = row.schoolId();
+        values[11] = row.schoolName();
+        values[12] = row.parentId();
+        values[13] = row.parentEmail();
+        values[14] = row.tripId();
+        values[15] = row.scheduledDepartureTime();
+        values[16] = row.routeId();
+        values[17] = row.routeName();
+        values[18] = row.driverId();
+        values[19] = row.driverFirstName();
+        values[20] = row.driverLastName();
+        values[21] = row.vehicleLicensePlate();
+        if (json != null) {
+            writeJsonLine(values);
+        } else {
+            writeCsvLine(values);
+        }
+        rows++;
+    }
+
+    public long rowCount() {
+        return rows;
+    }
+
+    public void finish() throws IOException {
+        if (json != null) {
+            json.flush();
+            if (rows > 0) {
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeJsonLine(Object[] line) throws IOException {
+        json.writeStartObject();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            Object value = line[i];
+            json.writeFieldName(COLUMNS[i]);
+            if (value == null) {
+                json.writeNull();
+            } else if (value instanceof Long number) {
+                json.writeNumber(number);
+            } else if (value instanceof Integer number) {
+                json.writeNumber(number);
+            } else if (value instanceof Boolean flag) {
+                json.writeBoolean(flag);
+            } else {
+                json.writeString(value.toString());
+            }
+        }
+        json.writeEndObject();
+    }
+
+    private void writeCsvLine(Object[] line) throws IOException {
+        for (int i = 0; i < line.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = line[i];
+            if (value instanceof String text) {
+                writeCsvField(neutralizeFormula(text));
+            } else if (value != null) {
+                writeCsvField(value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Names and notes are user input. Spreadsheets evaluate a cell that starts with one of
+     * these characters as a formula, so such text is prefixed with a quote to keep it text.
+     */
+    private static String neutralizeFormula(String text) {
+        if (text.isEmpty()) {
+            return text;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r'
+                ? "'" + text
+                : text;
+    }
+
+    private void writeCsvField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
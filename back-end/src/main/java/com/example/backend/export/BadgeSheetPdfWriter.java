@@ -0,0 +1,194 @@
+package com.example.backend.export;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes printable A4 badge sheets (a grid of QR codes with a caption under each) as a
+ * PDF, one page at a time. Only the current page's images are held in memory; earlier
+ * pages are already on the output stream and only their object offsets are kept for
+ * the cross-reference table.
+ */
+public class BadgeSheetPdfWriter {
+
+    private static final float PAGE_WIDTH = 595.28f;
+    private static final float PAGE_HEIGHT = 841.89f;
+    private static final float MARGIN = 36f;
+    private static final int COLUMNS = 3;
+    private static final int ROWS = 4;
+    private static final float SYMBOL_SIZE = 140f;
+    private static final float CAPTION_FONT_SIZE = 9f;
+    private static final int MAX_CAPTION_LENGTH = 40;
+
+    private static final int CATALOG = 1;
+    private static final int PAGES = 2;
+    private static final int FONT = 3;
+
+    private final CountingOutputStream out;
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> pageIds = new ArrayList<>();
+    private final List<String> captions = new ArrayList<>();
+    private final List<RenderedQr> symbols = new ArrayList<>();
+
+    public BadgeSheetPdfWriter(OutputStream out) throws IOException {
+        this.out = new CountingOutputStream(new BufferedOutputStream(out, 16 * 1024));
+        offsets.add(0L);
+        ascii("%PDF-1.4\n%âãÏÓ\n");
+        reserve(CATALOG);
+        reserve(PAGES);
+        reserve(FONT);
+        beginObject(CATALOG);
+        ascii("<< /Type /Catalog /Pages " + PAGES + " 0 R >>\nendobj\n");
+        beginObject(FONT);
+        ascii("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>\nendobj\n");
+    }
+
+    public void addBadge(String caption, RenderedQr symbol) throws IOException {
+        captions.add(caption);
+        symbols.add(symbol);
+        if (symbols.size() == COLUMNS * ROWS) {
+            writePage();
+        }
+    }
+
+    /**
+     * Writes any partial page, the page tree and the trailer, then flushes. The
+     * underlying stream is left open.
+     */
+    public void finish() throws IOException {
+        if (!symbols.isEmpty() || pageIds.isEmpty()) {
+            writePage();
+        }
+        beginObject(PAGES);
+        StringBuilder kids = new StringBuilder();
+        for (int id : pageIds) {
+            kids.append(id).append(" 0 R ");
+        }
+        ascii("<< /Type /Pages /Count " + pageIds.size() + " /Kids [" + kids + "] >>\nendobj\n");
+
+        long xref = out.count;
+        StringBuilder table = new StringBuilder("xref\n0 " + offsets.size() + "\n0000000000 65535 f \n");
+        for (int i = 1; i < offsets.size(); i++) {
+            table.append(String.format(Locale.ROOT, "%010d 00000 n \n", offsets.get(i)));
+        }
+        ascii(table.toString());
+        ascii("trailer\n<< /Size " + offsets.size() + " /Root " + CATALOG + " 0 R >>\nstartxref\n" + xref + "\n%%EOF\n");
+        out.flush();
+    }
+
+    private void writePage() throws IOException {
+        float cellWidth = (PAGE_WIDTH - 2 * MARGIN) / COLUMNS;
+        float cellHeight = (PAGE_HEIGHT - 2 * MARGIN) / ROWS;
+        StringBuilder content = new StringBuilder();
+        StringBuilder xObjects = new StringBuilder();
+
+        for (int i = 0; i < symbols.size(); i++) {
+            int imageId = writeImage(symbols.get(i));
+            xObjects.append("/Im").append(i).append(' ').append(imageId).append(" 0 R ");
+
+            float x = MARGIN + (i % COLUMNS) * cellWidth + (cellWidth - SYMBOL_SIZE) / 2;
+            float y = PAGE_HEIGHT - MARGIN - (i / COLUMNS) * cellHeight - 12 - SYMBOL_SIZE;
+            content.append(String.format(Locale.ROOT, "q %.2f 0 0 %.2f %.2f %.2f cm /Im%d Do Q\n",
+                    SYMBOL_SIZE, SYMBOL_SIZE, x, y, i));
+            content.append(String.format(Locale.ROOT, "BT /F1 %.1f Tf %.2f %.2f Td (%s) Tj ET\n",
+                    CAPTION_FONT_SIZE, x, y - CAPTION_FONT_SIZE - 4, escape(captions.get(i))));
+        }
+
+        byte[] stream = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+        int contentId = reserve();
+        beginObject(contentId);
+        ascii("<< /Length " + stream.length + " >>\nstream\n");
+        out.write(stream);
+        ascii("\nendstream\nendobj\n");
+
+        int pageId = reserve();
+        beginObject(pageId);
+        ascii(String.format(Locale.ROOT,
+                "<< /Type /Page /Parent %d 0 R /MediaBox [0 0 %.2f %.2f] /Contents %d 0 R "
+                        + "/Resources << /Font << /F1 %d 0 R >> /XObject << %s>> >> >>\nendobj\n",
+                PAGES, PAGE_WIDTH, PAGE_HEIGHT, contentId, FONT, xObjects));
+        pageIds.add(pageId);
+
+        captions.clear();
+        symbols.clear();
+    }
+
+    private int writeImage(RenderedQr symbol) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(symbol.modules().length / 2 + 64);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed)) {
+            deflater.write(symbol.modules());
+        }
+        int id = reserve();
+        beginObject(id);
+        // Decode [1 0] maps a set bit to black, matching the module bitmap.
+        ascii("<< /Type /XObject /Subtype /Image /Width " + symbol.size() + " /Height " + symbol.size()
+                + " /ColorSpace /DeviceGray /BitsPerComponent 1 /Decode [1 0] /Filter /FlateDecode /Length "
+                + compressed.size() + " >>\nstream\n");
+        compressed.writeTo(out);
+        ascii("\nendstream\nendobj\n");
+        return id;
+    }
+
+    private int reserve() {
+        offsets.add(0L);
+        return offsets.size() - 1;
+    }
+
+    private void reserve(int id) {
+        if (reserve() != id) {
+            throw new IllegalStateException("Fixed PDF objects must be reserved first");
+        }
+    }
+
+    private void beginObject(int id) throws IOException {
+        offsets.set(id, out.count);
+        ascii(id + " 0 obj\n");
+    }
+
+    private void ascii(String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String escape(String caption) {
+        String text = caption.length() > MAX_CAPTION_LENGTH ? caption.substring(0, MAX_CAPTION_LENGTH) : caption;
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (char c : text.toCharArray()) {
+            if (c == '(' || c == ')' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20 || c > 0xFF) {
+                escaped.append('?');
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
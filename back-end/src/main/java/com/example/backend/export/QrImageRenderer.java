@@ -0,0 +1,170 @@
+package com.example.backend.export;
+
+import com.example.backend.dto.trip.TripManifest;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Renders QR symbols on a fixed pool of worker threads. Batches are rendered with a
+ * bounded look-ahead and handed to the caller in input order, so an export holds only
+ * a few images in memory regardless of its size. Rendered symbols are kept in an LRU
+ * cache keyed by payload hash, since the same badges are printed again and again.
+ */
+@Slf4j
+@Component
+public class QrImageRenderer {
+
+    private static final int QUIET_ZONE_MODULES = 4;
+    private static final int PNG_MODULE_PIXELS = 8;
+    private static final int LOOK_AHEAD_PER_THREAD = 4;
+
+    private final ExecutorService workers;
+    private final int lookAhead;
+    private final Map<String, RenderedQr> cache;
+
+    public QrImageRenderer(@Value("${nimbus.qr.renderThreads:4}") int threads,
+                           @Value("${nimbus.qr.renderCacheSize:4096}") int cacheSize) {
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "qr-render-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lookAhead = threads * LOOK_AHEAD_PER_THREAD;
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RenderedQr> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public RenderedQr render(String payload) {
+        String key = TripManifest.hashQrPayload(payload);
+        synchronized (cache) {
+            RenderedQr cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        RenderedQr rendered = encode(payload);
+        synchronized (cache) {
+            cache.put(key, rendered);
+        }
+        return rendered;
+    }
+
+    /**
+     * Renders every item's payload in parallel and passes the results to {@code sink}
+     * in the order of {@code items}, on the calling thread.
+     */
+    public <T> void renderInOrder(List<T> items, Function<T, String> payload, RenderSink<T> sink) throws IOException {
+        Deque<Future<RenderedQr>> inFlight = new ArrayDeque<>();
+        int submitted = 0;
+        try {
+            for (T item : items) {
+                while (submitted < items.size() && inFlight.size() < lookAhead) {
+                    String next = payload.apply(items.get(submitted++));
+                    inFlight.add(workers.submit(() -> render(next)));
+                }
+                sink.accept(item, await(inFlight.poll()));
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static RenderedQr await(Future<RenderedQr> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while rendering QR codes");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Failed to render QR code", e.getCause());
+        }
+    }
+
+    private static RenderedQr encode(String payload) {
+        BitMatrix matrix;
+        try {
+            matrix = new QRCodeWriter().encode(payload, BarcodeFormat.QR_CODE, 0, 0, Map.of(
+                    EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M,
+                    EncodeHintType.MARGIN, QUIET_ZONE_MODULES));
+        } catch (WriterException e) {
+            throw new IllegalArgumentException("Payload cannot be encoded as a QR code", e);
+        }
+
+        int size = matrix.getWidth();
+        int rowBytes = (size + 7) / 8;
+        byte[] modules = new byte[rowBytes * size];
+        BufferedImage image = new BufferedImage(size * PNG_MODULE_PIXELS, size * PNG_MODULE_PIXELS,
+                BufferedImage.TYPE_BYTE_BINARY);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.setColor(Color.BLACK);
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    if (matrix.get(x, y)) {
+                        modules[y * rowBytes + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                        graphics.fillRect(x * PNG_MODULE_PIXELS, y * PNG_MODULE_PIXELS,
+                                PNG_MODULE_PIXELS, PNG_MODULE_PIXELS);
+                    }
+                }
+            }
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream(2048);
+        try {
+            ImageIO.write(image, "png", png);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new RenderedQr(size, modules, png.toByteArray());
+    }
+
+    @FunctionalInterface
+    public interface RenderSink<T> {
+        void accept(T item, RenderedQr qr) throws IOException;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.backend.export;
+
+/**
+ * A rendered QR symbol. {@code modules} holds one bit per module (1 = dark), rows
+ * padded to whole bytes, including the quiet zone; {@code png} is the same symbol
+ * scaled up for printing.
+ */
+public record RenderedQr(int size, byte[] modules, byte[] png) {
+}
@@ -0,0 +1,50 @@
+package com.example.backend.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * In-process channel that logs each notification and keeps the most recent ones in
+ * memory. Used until a real provider is wired in, and by tests to observe deliveries.
+ */
+@Slf4j
+@Component
+public class LocalNotificationChannel implements NotificationChannel {
+
+    private static final int MAX_RETAINED = 1000;
+
+    private final Deque<ParentNotification> delivered = new ArrayDeque<>();
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public void send(ParentNotification notification) {
+        log.info("Notifying parent {} about {} attendance change(s)",
+                notification.parentId(), notification.changes().size());
+        synchronized (delivered) {
+            if (delivered.size() == MAX_RETAINED) {
+                delivered.removeFirst();
+            }
+            delivered.addLast(notification);
+        }
+    }
+
+    public List<ParentNotification> delivered() {
+        synchronized (delivered) {
+            return List.copyOf(delivered);
+        }
+    }
+
+    public void clear() {
+        synchronized (delivered) {
+            delivered.clear();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.backend.notification;
+
+/**
+ * A way of reaching parents, e.g. e-mail or push. Every channel bean receives every
+ * notification. A channel signals a failed delivery by throwing; the whole notification
+ * is then retried later, so channels may see the same notification more than once.
+ */
+public interface NotificationChannel {
+
+    String name();
+
+    void send(ParentNotification notification);
+}
@@ -0,0 +1,31 @@
+package com.example.backend.notification;
+
+import com.example.backend.entities.Attendance;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Digest of everything one parent should be told about in a dispatch round. Changes are
+ * coalesced to the latest one per attendance, oldest first; {@code outboxIds} covers
+ * every queued row the digest replaces. {@code attempt} is the highest delivery attempt
+ * among those rows, and {@code urgent} is set when any change bypassed the window.
+ */
+public record ParentNotification(Long parentId,
+                                 int attempt,
+                                 boolean urgent,
+                                 List<AttendanceChange> changes,
+                                 List<Long> outboxIds,
+                                 LocalDateTime oldestEventAt) {
+
+    public record AttendanceChange(Long attendanceId,
+                                   Long studentId,
+                                   Long tripId,
+                                   Attendance.AttendanceStatus status,
+                                   LocalDateTime occurredAt) {
+    }
+
+    public int eventCount() {
+        return outboxIds.size();
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.backend.notification;
+
+import com.example.backend.service.ParentNotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the parent notification outbox. Each round claims the due digests of a batch
+ * of parents, hands each digest to a worker that sends it through all channels, then
+ * records the outcome with one bulk update for the delivered rows. Failed digests are
+ * retried with backoff; digests still running when the round times out are left to
+ * their lease.
+ *
+ * <p>Publishes the events and digests delivered, whose ratio is the coalescing ratio,
+ * and the end-to-end latency from a digest's oldest queued change to its delivery.</p>
+ */
+@Slf4j
+@Component
+public class ParentNotificationDispatcher {
+
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final ParentNotificationService notificationService;
+    private final List<NotificationChannel> channels;
+    private final ExecutorService workers;
+    private final int batchSize;
+    private final long roundTimeoutMs;
+    private final Counter deliveredEvents;
+    private final Counter failedDigests;
+    private final Counter urgentDigests;
+    private final Counter windowedDigests;
+    private final Timer urgentLatency;
+    private final Timer windowedLatency;
+
+    public ParentNotificationDispatcher(ParentNotificationService notificationService,
+                                        List<NotificationChannel> channels,
+                                        @Value("${nimbus.notifications.workerThreads:4}") int threads,
+                                        @Value("${nimbus.notifications.batchSize:500}") int batchSize,
+                                        @Value("${nimbus.notifications.leaseMs:120000}") long leaseMs,
+                                        MeterRegistry meterRegistry) {
+        this.notificationService = notificationService;
+        this.channels = List.copyOf(channels);
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "parent-notify-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSize = batchSize;
+        // Finish well inside the lease so completed rows are not claimed a second time.
+        this.roundTimeoutMs = leaseMs / 2;
+        this.deliveredEvents = Counter.builder("nimbus.notifications.events")
+                .description("Queued attendance changes delivered to parents")
+                .register(meterRegistry);
+        this.failedDigests = Counter.builder("nimbus.notifications.failures")
+                .description("Parent digests whose delivery failed")
+                .register(meterRegistry);
+        this.urgentDigests = digestCounter(meterRegistry, true);
+        this.windowedDigests = digestCounter(meterRegistry, false);
+        this.urgentLatency = latencyTimer(meterRegistry, true);
+        this.windowedLatency = latencyTimer(meterRegistry, false);
+        Gauge.builder("nimbus.notifications.coalescing.ratio", this, ParentNotificationDispatcher::coalescingRatio)
+                .description("Delivered events per delivered digest")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${nimbus.notifications.pollMs:2000}")
+    public void drain() {
+        try {
+            for (int round = 0; round < MAX_BATCHES_PER_RUN; round++) {
+                List<ParentNotification> batch = notificationService.claimBatch(batchSize);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                dispatch(batch);
+                if (batch.size() < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to drain parent notification outbox", e);
+        }
+    }
+
+    /**
+     * Delivers one claimed batch and records the outcome. Returns the number of parents
+     * notified.
+     */
+    public int dispatch(List<ParentNotification> batch) {
+        Map<ParentNotification, Future<?>> pending = new LinkedHashMap<>();
+        batch.forEach(notification -> pending.put(notification, workers.submit(() -> deliver(notification))));
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(roundTimeoutMs);
+        List<Long> delivered = new ArrayList<>();
+        int notified = 0;
+        for (Map.Entry<ParentNotification, Future<?>> entry : pending.entrySet()) {
+            ParentNotification notification = entry.getKey();
+            try {
+                entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                delivered.addAll(notification.outboxIds());
+                notified++;
+                recordDelivered(notification);
+            } catch (ExecutionException e) {
+                log.warn("Notifying parent {} failed (attempt {}): {}", notification.parentId(),
+                        notification.attempt(), e.getCause().getMessage());
+                failedDigests.increment();
+                notificationService.markFailed(notification, String.valueOf(e.getCause().getMessage()));
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+                log.warn("Notifying parent {} timed out; it will be retried once its lease expires",
+                        notification.parentId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        notificationService.markDelivered(delivered);
+        log.debug("Dispatched notifications to {} of {} parent(s)", notified, batch.size());
+        return notified;
+    }
+
+    public double coalescingRatio() {
+        double digests = urgentDigests.count() + windowedDigests.count();
+        return digests == 0 ? 0 : deliveredEvents.count() / digests;
+    }
+
+    private void recordDelivered(ParentNotification notification) {
+        deliveredEvents.increment(notification.eventCount());
+        (notification.urgent() ? urgentDigests : windowedDigests).increment();
+        if (notification.oldestEventAt() != null) {
+            Duration latency = Duration.between(notification.oldestEventAt(), LocalDateTime.now());
+            (notification.urgent() ? urgentLatency : windowedLatency).record(latency);
+        }
+    }
+
+    private static Counter digestCounter(MeterRegistry meterRegistry, boolean urgent) {
+        return Counter.builder("nimbus.notifications.digests")
+                .description("Parent digests delivered")
+                .tag("urgent", String.valueOf(urgent))
+                .register(meterRegistry);
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, boolean urgent) {
+        return Timer.builder("nimbus.notifications.latency")
+                .description("Time from a digest's oldest queued change to its delivery")
+                .tag("urgent", String.valueOf(urgent))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private void deliver(ParentNotification notification) {
+        for (NotificationChannel channel : channels) {
+            channel.send(notification);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.backend.repository;
+
+import com.example.backend.entities.Attendance;
+import com.example.backend.entities.AttendanceDailyCount;
+import com.example.backend.repository.base.BaseRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttendanceDailyCountRepository extends BaseRepository<AttendanceDailyCount> {
+
+    @Query("""
+            SELECT c.total FROM AttendanceDailyCount c 
+            WHERE c.schoolId = :schoolId 
+            AND c.serviceDate = :serviceDate 
+            AND c.status = :status
+            """)
+    Optional<Long> findTotal(Long schoolId, LocalDate serviceDate, Attendance.AttendanceStatus status);
+
+    List<AttendanceDailyCount> findBySchoolIdAndServiceDate(Long schoolId, LocalDate serviceDate);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO attendance_daily_counts (school_id, service_date, status, total, created_at, updated_at, active) 
+            VALUES (:schoolId, :serviceDate, :status, :delta, now(), now(), true) 
+            ON CONFLICT (school_id, service_date, status) 
+            DO UPDATE SET total = attendance_daily_counts.total + EXCLUDED.total, updated_at = now()
+            """, nativeQuery = true)
+    int increment(Long schoolId, LocalDate serviceDate, String status, long delta);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM attendance_daily_counts 
+            WHERE service_date >= :fromDate AND service_date < :toDate
+            """, nativeQuery = true)
+    int deleteRange(LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Recounts attendance rows whose trip falls in {@code [fromTime, toTime)}. Callers
+     * must clear the same range first.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO attendance_daily_counts (school_id, service_date, status, total, created_at, updated_at, active) 
+            SELECT r.school_id, 
+                   CAST(COALESCE(t.scheduled_departure_time, t.actual_departure_time, t.created_at) AS date) AS service_date, 
+                   a.status, COUNT(*), now(), now(), true 
+            FROM attendances a 
+            JOIN trips t ON t.id = a.trip_id 
+            JOIN routes r ON r.id = t.route_id 
+            WHERE a.active = true 
+            AND COALESCE(t.scheduled_departure_time, t.actual_departure_time, t.created_at) >= :fromTime 
+            AND COALESCE(t.scheduled_departure_time, t.actual_departure_time, t.created_at) < :toTime 
+            GROUP BY r.school_id, service_date, a.status
+            """, nativeQuery = true)
+    int rebuildRange(LocalDateTime fromTime, LocalDateTime toTime);
+}
@@ -1,15 +1,26 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.attendance.AttendanceExportRow;
+import com.example.backend.dto.attendance.AttendanceStatusCountView;
+import com.example.backend.dto.attendance.AttendanceUpsertView;
+import com.example.backend.dto.student.QrBadgeRowView;
+import com.example.backend.dto.student.StudentAttendanceStatsView;
+import com.example.backend.dto.trip.TripAttendanceCountView;
+import com.example.backend.dto.trip.TripManifestRowView;
 import com.example.backend.entities.Attendance;
-import com.example.backend.entities.Student;
-import com.example.backend.entities.Trip;
 import com.example.backend.repository.base.BaseRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AttendanceRepository extends BaseRepository<Attendance> {
@@ -50,15 +61,6 @@ public interface AttendanceRepository extends BaseRepository<Attendance> {
             """)
     List<Attendance> findUnnotifiedAttendance(LocalDateTime cutoffTime);
     
-    @Query("""
-            SELECT COUNT(a) FROM Attendance a 
-            WHERE a.student.school.id = :schoolId 
-            AND a.status = com.example.backend.entities.Attendance$AttendanceStatus.PRESENT 
-            AND CAST(a.scanTime AS date) = CURRENT_DATE
-            AND a.active = true
-            """)
-    long countTodaysPresentAttendance(Long schoolId);
-    
     @Query("""
             SELECT a FROM Attendance a 
             WHERE a.student.school.id = :schoolId 
@@ -80,34 +82,220 @@ public interface AttendanceRepository extends BaseRepository<Attendance> {
 
     long countByStudentIdAndScanTimeBetween(Long studentId, LocalDateTime start, LocalDateTime end);
 
-    boolean existsByStudentAndTripAndActiveTrue(Student student, Trip trip);
-
+    /**
+     * Attendance counts for every active student of a school in one pass, for scans in
+     * {@code [start, end)}. Students with no records in the period are included with zero
+     * counts.
+     */
     @Query("""
-            SELECT COUNT(a) FROM Attendance a 
-            WHERE a.student.school.id = :schoolId 
-            AND a.status = :attendanceStatus 
-            AND a.scanTime BETWEEN :startOfDay AND :endOfDay 
-            AND a.active = true
+            SELECT s.id AS studentId, s.firstName AS firstName, s.lastName AS lastName,
+                   s.grade AS grade, s.seatNumber AS seatNumber,
+                   COUNT(a.id) AS totalRecords,
+                   COALESCE(SUM(CASE WHEN a.status = com.example.backend.entities.Attendance$AttendanceStatus.PRESENT THEN 1 ELSE 0 END), 0) AS presentCount,
+                   COALESCE(SUM(CASE WHEN a.status = com.example.backend.entities.Attendance$AttendanceStatus.ABSENT THEN 1 ELSE 0 END), 0) AS absentCount,
+                   COALESCE(SUM(CASE WHEN a.status = com.example.backend.entities.Attendance$AttendanceStatus.EXCUSED THEN 1 ELSE 0 END), 0) AS excusedCount
+            FROM Student s
+            LEFT JOIN Attendance a ON a.student = s AND a.scanTime >= :start AND a.scanTime < :end
+            WHERE s.school.id = :schoolId AND s.active = true
+            GROUP BY s.id, s.firstName, s.lastName, s.grade, s.seatNumber
+            ORDER BY s.lastName, s.firstName, s.id
             """)
-    long countBySchoolAndStatusAndDateRange(Long schoolId, Attendance.AttendanceStatus attendanceStatus, LocalDateTime startOfDay, LocalDateTime endOfDay);
+    List<StudentAttendanceStatsView> findAttendanceStatsBySchool(Long schoolId, LocalDateTime start, LocalDateTime end);
 
+    /**
+     * Records a scan in one statement: inserts the attendance, or fills in the student's
+     * pending row for the trip. Relies on the partial unique index
+     * {@code uk_attendances_active_student_trip} from schema.sql. Returns no row when the
+     * student's attendance on the trip was already recorded.
+     */
+    @Query(value = """
+            INSERT INTO attendances (student_id, trip_id, status, scan_time, notes, parent_notified, 
+                                     version, created_at, updated_at, active) 
+            VALUES (:studentId, :tripId, :status, :scanTime, :notes, false, 0, :scanTime, :scanTime, true) 
+            ON CONFLICT (student_id, trip_id) WHERE active = true 
+            DO UPDATE SET status = EXCLUDED.status, 
+                          scan_time = EXCLUDED.scan_time, 
+                          notes = EXCLUDED.notes, 
+                          parent_notified = false, 
+                          version = attendances.version + 1, 
+                          updated_at = EXCLUDED.updated_at 
+            WHERE attendances.status = 'PENDING' 
+            RETURNING id AS attendanceId, (xmax = 0) AS created
+            """, nativeQuery = true)
+    List<AttendanceUpsertView> upsertScan(Long studentId, Long tripId, String status, LocalDateTime scanTime, String notes);
+
+    /**
+     * Streams flat export rows for scans in {@code [start, end)}, for one school or, when
+     * {@code schoolId} is null, all schools. Rows are read through a forward-only cursor
+     * and must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
     @Query("""
-            SELECT DISTINCT a FROM Attendance a 
-            LEFT JOIN FETCH a.student s 
-            LEFT JOIN FETCH s.school 
-            LEFT JOIN FETCH s.parent 
-            LEFT JOIN FETCH a.trip t 
-            LEFT JOIN FETCH t.route r 
-            LEFT JOIN FETCH t.driver d 
-            LEFT JOIN FETCH t.vehicle v 
+            SELECT new com.example.backend.dto.attendance.AttendanceExportRow( 
+                a.id, a.scanTime, a.status, a.seatNumber, a.parentNotified, a.notes, 
+                s.id, s.firstName, s.lastName, s.grade, 
+                sc.id, sc.name, p.id, p.email, 
+                t.id, t.scheduledDepartureTime, r.id, r.name, 
+                d.id, d.firstName, d.lastName, v.licensePlate) 
+            FROM Attendance a 
+            JOIN a.student s 
+            JOIN s.school sc 
+            LEFT JOIN s.parent p 
+            JOIN a.trip t 
+            LEFT JOIN t.route r 
+            LEFT JOIN t.driver d 
+            LEFT JOIN t.vehicle v 
             WHERE a.active = true 
-            AND s.school.id = :schoolId 
-            AND a.scanTime BETWEEN :start AND :end
-            ORDER BY a.scanTime DESC
+            AND (:schoolId IS NULL OR sc.id = :schoolId) 
+            AND a.scanTime >= :start 
+            AND a.scanTime < :end 
+            ORDER BY a.scanTime, a.id
             """)
-    List<Attendance> findAttendanceWithDetailsInPeriod(Long schoolId, LocalDateTime start, LocalDateTime end);
+    Stream<AttendanceExportRow> streamExportRows(Long schoolId, LocalDateTime start, LocalDateTime end);
 
     long countByStatus(Attendance.AttendanceStatus status);
 
     List<Attendance> findByTripIdOrderBySeatNumberAsc(Long tripId);
-} 
\ No newline at end of file
+
+    @Query("""
+            SELECT a.status AS status, COUNT(a) AS total 
+            FROM Attendance a 
+            WHERE a.trip.id = :tripId 
+            AND a.active = true 
+            GROUP BY a.status
+            """)
+    List<AttendanceStatusCountView> countByTripGroupedByStatus(Long tripId);
+
+    @Query("""
+            SELECT a.trip.id AS tripId, 
+                   COUNT(a) AS assigned, 
+                   SUM(CASE WHEN a.status = com.example.backend.entities.Attendance$AttendanceStatus.PRESENT THEN 1 ELSE 0 END) AS present 
+            FROM Attendance a 
+            WHERE a.active = true 
+            AND a.trip.route.school.id = :schoolId 
+            AND a.trip.scheduledDepartureTime >= :start 
+            AND a.trip.scheduledDepartureTime < :end 
+            GROUP BY a.trip.id
+            """)
+    List<TripAttendanceCountView> countAttendanceByTripForSchool(Long schoolId, LocalDateTime start, LocalDateTime end);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Attendance a 
+            SET a.status = :status, 
+                a.notes = :notes, 
+                a.parentNotified = false, 
+                a.version = a.version + 1, 
+                a.updatedAt = :updatedAt 
+            WHERE a.id = :id 
+            AND a.version = :expectedVersion
+            """)
+    int compareAndSetStatus(Long id, long expectedVersion, Attendance.AttendanceStatus status,
+                            String notes, LocalDateTime updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Attendance a 
+            SET a.parentNotified = true, 
+                a.version = a.version + 1, 
+                a.updatedAt = :updatedAt 
+            WHERE a.id = :id 
+            AND (a.parentNotified = false OR a.parentNotified IS NULL)
+            """)
+    int markNotifiedIfPending(Long id, LocalDateTime updatedAt);
+
+    /**
+     * Marks the attendances behind delivered outbox rows as notified, skipping those whose
+     * status has changed since the row was queued; the newer change has its own row.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Attendance a 
+            SET a.parentNotified = true, 
+                a.version = a.version + 1, 
+                a.updatedAt = :updatedAt 
+            WHERE (a.parentNotified = false OR a.parentNotified IS NULL) 
+            AND a.id IN ( 
+                SELECT o.attendanceId FROM ParentNotificationOutbox o 
+                WHERE o.id IN :outboxIds 
+                AND o.attendanceStatus = a.status 
+            )
+            """)
+    int markNotifiedForOutbox(Collection<Long> outboxIds, LocalDateTime updatedAt);
+
+    @Query("SELECT a.clientScanId FROM Attendance a WHERE a.clientScanId IN :clientScanIds")
+    List<String> findExistingClientScanIds(Collection<String> clientScanIds);
+
+    @Query("""
+            SELECT a.id AS attendanceId, 
+                   s.id AS studentId, 
+                   s.firstName AS firstName, 
+                   s.lastName AS lastName, 
+                   a.seatNumber AS seatNumber, 
+                   s.qrCode AS studentQrCode, 
+                   a.qrCode AS seatQrCode 
+            FROM Attendance a 
+            JOIN a.student s 
+            WHERE a.trip.id = :tripId 
+            AND a.active = true 
+            ORDER BY a.seatNumber ASC
+            """)
+    List<TripManifestRowView> findManifestRows(Long tripId);
+
+    @Query("""
+            SELECT a FROM Attendance a 
+            JOIN FETCH a.student s 
+            JOIN FETCH s.parent 
+            JOIN FETCH s.school 
+            WHERE a.id IN :ids
+            """)
+    List<Attendance> findAllWithStudentByIdIn(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Attendance a 
+            SET a.status = :status, 
+                a.scanTime = :scanTime, 
+                a.notes = :notes, 
+                a.parentNotified = false, 
+                a.version = a.version + 1, 
+                a.updatedAt = :scanTime 
+            WHERE a.id = :id 
+            AND a.status = com.example.backend.entities.Attendance$AttendanceStatus.PENDING
+            """)
+    int recordScanIfPending(Long id, Attendance.AttendanceStatus status, LocalDateTime scanTime, String notes);
+
+    /**
+     * Applies one queued device scan if the attendance is still pending. Returns 0 when a
+     * concurrent upload recorded it first: the row lock makes this statement wait for
+     * that upload and re-check the status once it commits.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Attendance a 
+            SET a.status = :status, 
+                a.scanTime = :scanTime, 
+                a.clientScanId = :clientScanId, 
+                a.notes = :notes, 
+                a.parentNotified = false, 
+                a.version = a.version + 1, 
+                a.updatedAt = :updatedAt 
+            WHERE a.id = :id 
+            AND a.status = com.example.backend.entities.Attendance$AttendanceStatus.PENDING
+            """)
+    int recordOfflineScanIfPending(Long id, Attendance.AttendanceStatus status, LocalDateTime scanTime,
+                                   String clientScanId, String notes, LocalDateTime updatedAt);
+
+    @Query("""
+            SELECT s.id AS studentId, s.firstName AS firstName, s.lastName AS lastName, 
+                   a.seatNumber AS seatNumber, a.qrCode AS qrCode 
+            FROM Attendance a JOIN a.student s 
+            WHERE a.trip.id = :tripId AND a.active = true AND a.qrCode IS NOT NULL 
+            ORDER BY a.seatNumber, s.id
+            """)
+    List<QrBadgeRowView> findSeatBadgeRowsByTripId(Long tripId);
+}
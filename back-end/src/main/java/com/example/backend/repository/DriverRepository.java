@@ -33,15 +33,6 @@ public interface DriverRepository extends EmailAwareRepository<Driver> {
             """)
     Optional<Driver> findByIdWithCurrentTrips(@Param("driverId") Long driverId);
 
-    @Query("""
-            SELECT COUNT(t) FROM Driver d 
-            JOIN d.trips t 
-            WHERE d.id = :driverId 
-            AND t.scheduledDepartureTime BETWEEN :start AND :end 
-            AND t.status = com.example.backend.entities.Trip$TripStatus.COMPLETED
-            """)
-    long countCompletedTripsInPeriod(@Param("driverId") Long driverId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-
     @Query("""
             SELECT d FROM Driver d 
             WHERE d.active = true 
@@ -0,0 +1,123 @@
+package com.example.backend.repository;
+
+import com.example.backend.entities.ParentNotificationOutbox;
+import com.example.backend.repository.base.BaseRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ParentNotificationOutboxRepository extends BaseRepository<ParentNotificationOutbox> {
+
+    /**
+     * Queues a notification for each given attendance that has been recorded, copying
+     * its current status. Pending attendances and students without a parent are skipped.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO parent_notification_outbox (attendance_id, parent_id, student_id, trip_id, 
+                                                    attendance_status, status, attempts, available_at, 
+                                                    created_at, updated_at, active) 
+            SELECT a.id, s.parent_id, s.id, a.trip_id, a.status, 'PENDING', 0, :now, :now, :now, true 
+            FROM attendances a 
+            JOIN students s ON s.id = a.student_id 
+            WHERE a.id IN (:attendanceIds) 
+            AND a.active = true 
+            AND a.status <> 'PENDING' 
+            AND s.parent_id IS NOT NULL
+            """, nativeQuery = true)
+    int enqueueForAttendances(Collection<Long> attendanceIds, LocalDateTime now);
+
+    /**
+     * Slides the coalescing window for the parents of the given attendances: all of a
+     * parent's fresh rows become due together at {@code windowEnd}, but no later than
+     * {@code maxDelayMs} after the oldest of them. A parent with an urgent row is due
+     * immediately. Rows already attempted keep their lease or backoff.
+     */
+    @Modifying
+    @Query(value = """
+            WITH touched AS ( 
+                SELECT o.parent_id, 
+                       bool_or(o.attendance_status IN (:urgentStatuses)) AS urgent, 
+                       MIN(o.created_at) AS oldest 
+                FROM parent_notification_outbox o 
+                WHERE o.status = 'PENDING' 
+                AND o.attempts = 0 
+                AND o.parent_id IN ( 
+                    SELECT s.parent_id FROM attendances a 
+                    JOIN students s ON s.id = a.student_id 
+                    WHERE a.id IN (:attendanceIds) 
+                ) 
+                GROUP BY o.parent_id 
+            ) 
+            UPDATE parent_notification_outbox o 
+            SET available_at = CASE WHEN t.urgent THEN CAST(:now AS timestamp) 
+                                    ELSE LEAST(CAST(:windowEnd AS timestamp), 
+                                               t.oldest + :maxDelayMs * INTERVAL '1 millisecond') END 
+            FROM touched t 
+            WHERE o.parent_id = t.parent_id 
+            AND o.status = 'PENDING' 
+            AND o.attempts = 0
+            """, nativeQuery = true)
+    int slideWindow(Collection<Long> attendanceIds, Collection<String> urgentStatuses,
+                    LocalDateTime now, LocalDateTime windowEnd, long maxDelayMs);
+
+    /**
+     * Claims every due row of up to {@code limit} parents, oldest first, by pushing their
+     * {@code available_at} to {@code leaseUntil} and counting the attempt. Claiming whole
+     * parents keeps a coalesced window in one digest. Rows locked by another dispatcher
+     * are skipped, and rows whose lease runs out without being completed become due again.
+     */
+    @Query(value = """
+            UPDATE parent_notification_outbox 
+            SET available_at = :leaseUntil, attempts = attempts + 1, updated_at = :now 
+            WHERE id IN ( 
+                SELECT id FROM parent_notification_outbox 
+                WHERE status = 'PENDING' AND available_at <= :now 
+                AND parent_id IN ( 
+                    SELECT parent_id FROM parent_notification_outbox 
+                    WHERE status = 'PENDING' AND available_at <= :now 
+                    GROUP BY parent_id 
+                    ORDER BY MIN(id) 
+                    LIMIT :limit 
+                ) 
+                FOR UPDATE SKIP LOCKED 
+            ) 
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit);
+
+    List<ParentNotificationOutbox> findAllByIdIn(Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE ParentNotificationOutbox o 
+            SET o.status = com.example.backend.entities.ParentNotificationOutbox$OutboxStatus.SENT, 
+                o.dispatchedAt = :now, 
+                o.lastError = null, 
+                o.updatedAt = :now 
+            WHERE o.id IN :ids
+            """)
+    int markSent(Collection<Long> ids, LocalDateTime now);
+
+    /**
+     * Returns claimed rows to the queue after a failed delivery, giving up on those that
+     * already used {@code maxAttempts}.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE ParentNotificationOutbox o 
+            SET o.status = CASE WHEN o.attempts >= :maxAttempts 
+                                THEN com.example.backend.entities.ParentNotificationOutbox$OutboxStatus.FAILED 
+                                ELSE com.example.backend.entities.ParentNotificationOutbox$OutboxStatus.PENDING END, 
+                o.availableAt = :retryAt, 
+                o.lastError = :error, 
+                o.updatedAt = :now 
+            WHERE o.id IN :ids
+            """)
+    int reschedule(Collection<Long> ids, int maxAttempts, LocalDateTime retryAt, String error, LocalDateTime now);
+}
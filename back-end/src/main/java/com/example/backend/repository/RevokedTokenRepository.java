@@ -0,0 +1,37 @@
+package com.example.backend.repository;
+
+import com.example.backend.entities.RevokedToken;
+import com.example.backend.repository.base.BaseRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends BaseRepository<RevokedToken> {
+
+    /**
+     * Records the revocation; revoking the same token twice is a no-op.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO revoked_tokens (token_id, user_id, expires_at, created_at, updated_at, active) 
+            VALUES (:tokenId, :userId, :expiresAt, :now, :now, true) 
+            ON CONFLICT (token_id) DO NOTHING
+            """, nativeQuery = true)
+    int revoke(String tokenId, Long userId, LocalDateTime expiresAt, LocalDateTime now);
+
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findUnexpiredTokenIds(LocalDateTime now);
+
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.createdAt > :since AND r.expiresAt > :now")
+    List<String> findTokenIdsRevokedSince(LocalDateTime since, LocalDateTime now);
+
+    boolean existsByTokenIdAndExpiresAtAfter(String tokenId, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -46,11 +46,6 @@ public interface RouteRepository extends JpaRepository<Route, Long> {
            "AND s.active = true")
     long countActiveStudentsOnRoute(@Param("routeId") Long routeId);
 
-    @Query("SELECT COUNT(t) FROM Trip t " +
-           "WHERE t.route.id = :routeId " +
-           "AND t.status = com.example.backend.entities.Trip$TripStatus.COMPLETED")
-    long countCompletedTripsOnRoute(@Param("routeId") Long routeId);
-
     @Query("SELECT COUNT(r) FROM Route r WHERE r.active = true")
     long countActiveRoutes();
 
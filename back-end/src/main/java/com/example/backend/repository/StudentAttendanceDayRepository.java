@@ -0,0 +1,106 @@
+package com.example.backend.repository;
+
+import com.example.backend.entities.StudentAttendanceDay;
+import com.example.backend.repository.base.BaseRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface StudentAttendanceDayRepository extends BaseRepository<StudentAttendanceDay> {
+
+    Optional<StudentAttendanceDay> findFirstByStudentIdAndServiceDateLessThanEqualOrderByServiceDateDesc(
+            Long studentId, LocalDate serviceDate);
+
+    Optional<StudentAttendanceDay> findFirstByStudentIdAndServiceDateLessThanOrderByServiceDateDesc(
+            Long studentId, LocalDate serviceDate);
+
+    /**
+     * Adds the deltas to the given day, creating it from the previous day's running
+     * totals if missing, and to the running totals of every later day, in one
+     * statement. An existing day row is updated under its row lock, so concurrent scans
+     * of the same student on the same day (the common case) cannot lose updates.
+     * Concurrent first scans of one student on two different days can still leave a
+     * running total off; the nightly reconcile of recent days corrects that.
+     */
+    @Modifying
+    @Query(value = """
+            WITH day AS ( 
+                INSERT INTO student_attendance_days (student_id, service_date, total_count, absent_count, 
+                                                     cumulative_total, cumulative_absent, created_at, updated_at, active) 
+                SELECT :studentId, :serviceDate, :totalDelta, :absentDelta, 
+                       COALESCE(p.cumulative_total, 0) + :totalDelta, 
+                       COALESCE(p.cumulative_absent, 0) + :absentDelta, 
+                       now(), now(), true 
+                FROM (SELECT 1) one 
+                LEFT JOIN LATERAL (SELECT d.cumulative_total, d.cumulative_absent 
+                                   FROM student_attendance_days d 
+                                   WHERE d.student_id = :studentId AND d.service_date < :serviceDate 
+                                   ORDER BY d.service_date DESC LIMIT 1) p ON true 
+                ON CONFLICT (student_id, service_date) 
+                DO UPDATE SET total_count = student_attendance_days.total_count + EXCLUDED.total_count, 
+                              absent_count = student_attendance_days.absent_count + EXCLUDED.absent_count, 
+                              cumulative_total = student_attendance_days.cumulative_total + EXCLUDED.total_count, 
+                              cumulative_absent = student_attendance_days.cumulative_absent + EXCLUDED.absent_count, 
+                              updated_at = now() 
+            ) 
+            UPDATE student_attendance_days 
+            SET cumulative_total = cumulative_total + :totalDelta, 
+                cumulative_absent = cumulative_absent + :absentDelta, 
+                updated_at = now() 
+            WHERE student_id = :studentId AND service_date > :serviceDate
+            """, nativeQuery = true)
+    int recordDelta(Long studentId, LocalDate serviceDate, long totalDelta, long absentDelta);
+
+    @Modifying
+    @Query(value = "DELETE FROM student_attendance_days WHERE service_date >= :fromDate", nativeQuery = true)
+    int deleteDaysFrom(LocalDate fromDate);
+
+    /**
+     * Recomputes the days from {@code fromDate} on from the attendance table, continuing
+     * each student's running totals from their last day before {@code fromDate}.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO student_attendance_days (student_id, service_date, total_count, absent_count, 
+                                                 cumulative_total, cumulative_absent, created_at, updated_at, active) 
+            SELECT d.student_id, d.service_date, d.total_count, d.absent_count, 
+                   COALESCE(b.cumulative_total, 0) + SUM(d.total_count) OVER w, 
+                   COALESCE(b.cumulative_absent, 0) + SUM(d.absent_count) OVER w, now(), now(), true 
+            FROM (SELECT a.student_id, CAST(a.scan_time AS date) AS service_date, COUNT(*) AS total_count, 
+                         COUNT(*) FILTER (WHERE a.status = 'ABSENT') AS absent_count 
+                  FROM attendances a 
+                  WHERE a.active = true 
+                  AND a.scan_time >= :fromTime 
+                  GROUP BY a.student_id, CAST(a.scan_time AS date)) d 
+            LEFT JOIN LATERAL (SELECT p.cumulative_total, p.cumulative_absent 
+                               FROM student_attendance_days p 
+                               WHERE p.student_id = d.student_id AND p.service_date < d.service_date 
+                               ORDER BY p.service_date DESC LIMIT 1) b ON true 
+            WINDOW w AS (PARTITION BY d.student_id ORDER BY d.service_date)
+            """, nativeQuery = true)
+    int rebuildDaysFrom(LocalDateTime fromTime);
+
+    /**
+     * Recomputes every student's days and running totals from the attendance table.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO student_attendance_days (student_id, service_date, total_count, absent_count, 
+                                                 cumulative_total, cumulative_absent, created_at, updated_at, active) 
+            SELECT d.student_id, d.service_date, d.total_count, d.absent_count, 
+                   SUM(d.total_count) OVER w, SUM(d.absent_count) OVER w, now(), now(), true 
+            FROM (SELECT a.student_id, CAST(a.scan_time AS date) AS service_date, COUNT(*) AS total_count, 
+                         COUNT(*) FILTER (WHERE a.status = 'ABSENT') AS absent_count 
+                  FROM attendances a 
+                  WHERE a.active = true 
+                  AND a.scan_time IS NOT NULL 
+                  GROUP BY a.student_id, CAST(a.scan_time AS date)) d 
+            WINDOW w AS (PARTITION BY d.student_id ORDER BY d.service_date)
+            """, nativeQuery = true)
+    int rebuildAllDays();
+}
@@ -1,5 +1,6 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.student.QrBadgeRowView;
 import com.example.backend.entities.Student;
 import com.example.backend.repository.base.BaseRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -41,4 +42,13 @@ public interface StudentRepository extends BaseRepository<Student> {
 
     @Query("SELECT r.school.id FROM Route r WHERE r.id = :routeId")
     Optional<Long> findSchoolIdByRouteId(Long routeId);
-} 
\ No newline at end of file
+
+    @Query("""
+            SELECT s.id AS studentId, s.firstName AS firstName, s.lastName AS lastName, 
+                   s.seatNumber AS seatNumber, s.qrCode AS qrCode 
+            FROM Student s 
+            WHERE s.school.id = :schoolId AND s.active = true 
+            ORDER BY s.lastName, s.firstName, s.id
+            """)
+    List<QrBadgeRowView> findBadgeRowsBySchoolId(Long schoolId);
+}
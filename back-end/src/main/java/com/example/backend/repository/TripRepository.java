@@ -1,7 +1,12 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.trip.RouteTripStatsView;
+import com.example.backend.dto.trip.TripRollupKeyView;
+import com.example.backend.dto.trip.TripTimeline;
 import com.example.backend.entities.Trip;
 import com.example.backend.repository.base.BaseRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -20,6 +25,40 @@ public interface TripRepository extends BaseRepository<Trip> {
            "AND t.status = com.example.backend.entities.Trip$TripStatus.SCHEDULED " +
            "AND t.scheduledDepartureTime BETWEEN :start AND :end")
     List<Trip> findUpcomingTrips(LocalDateTime start, LocalDateTime end);
+
+    @Query("""
+            SELECT t FROM Trip t 
+            JOIN FETCH t.route r 
+            LEFT JOIN FETCH t.driver 
+            LEFT JOIN FETCH t.vehicle 
+            WHERE r.school.id = :schoolId 
+            AND t.active = true 
+            AND t.status = com.example.backend.entities.Trip$TripStatus.SCHEDULED 
+            AND t.scheduledDepartureTime BETWEEN :start AND :end
+            """)
+    List<Trip> findUpcomingTripsBySchool(Long schoolId, LocalDateTime start, LocalDateTime end);
+
+    @Query(value = """
+            SELECT r.id AS routeId, 
+                   r.name AS routeName, 
+                   COUNT(*) AS totalTrips, 
+                   SUM(CASE WHEN t.status = 'SCHEDULED' THEN 1 ELSE 0 END) AS scheduledTrips, 
+                   SUM(CASE WHEN t.status = 'IN_PROGRESS' THEN 1 ELSE 0 END) AS inProgressTrips, 
+                   SUM(CASE WHEN t.status = 'COMPLETED' THEN 1 ELSE 0 END) AS completedTrips, 
+                   SUM(CASE WHEN t.status = 'CANCELLED' THEN 1 ELSE 0 END) AS cancelledTrips, 
+                   SUM(CASE WHEN t.actual_departure_time IS NOT NULL 
+                            AND t.actual_departure_time <= t.scheduled_departure_time + make_interval(mins => :toleranceMinutes) 
+                            THEN 1 ELSE 0 END) AS onTimeDepartures, 
+                   AVG(EXTRACT(EPOCH FROM (t.actual_departure_time - t.scheduled_departure_time)) / 60.0) AS averageDelayMinutes 
+            FROM trips t 
+            JOIN routes r ON r.id = t.route_id 
+            WHERE r.school_id = :schoolId 
+            AND t.active = true 
+            AND t.scheduled_departure_time BETWEEN :start AND :end 
+            GROUP BY r.id, r.name 
+            ORDER BY r.name
+            """, nativeQuery = true)
+    List<RouteTripStatsView> findRouteTripStatsBySchool(Long schoolId, LocalDateTime start, LocalDateTime end, int toleranceMinutes);
     
     @Query("SELECT t FROM Trip t " +
            "WHERE t.active = true " +
@@ -92,9 +131,18 @@ public interface TripRepository extends BaseRepository<Trip> {
     @Query("""
             SELECT t FROM Trip t 
             WHERE t.active = true 
-            ORDER BY t.scheduledDepartureTime DESC
+            ORDER BY t.scheduledDepartureTime DESC, t.id DESC
+            """)
+    List<Trip> findTripHistory(Limit limit);
+
+    @Query("""
+            SELECT t FROM Trip t 
+            WHERE t.active = true 
+            AND (t.scheduledDepartureTime < :departureTime 
+                 OR (t.scheduledDepartureTime = :departureTime AND t.id < :id)) 
+            ORDER BY t.scheduledDepartureTime DESC, t.id DESC
             """)
-    List<Trip> findTripHistory(int page, int size);
+    List<Trip> findTripHistoryAfter(LocalDateTime departureTime, Long id, Limit limit);
 
     @Query("""
             SELECT t FROM Trip t 
@@ -106,10 +154,95 @@ public interface TripRepository extends BaseRepository<Trip> {
     @Query("""
             SELECT t FROM Trip t 
             JOIN t.attendances a 
-            JOIN a.student s 
-            WHERE s.id = :studentId 
-            AND t.active = true
-            ORDER BY t.scheduledDepartureTime DESC
+            WHERE a.student.id = :studentId 
+            AND a.active = true 
+            AND t.active = true 
+            ORDER BY t.scheduledDepartureTime DESC, t.id DESC
+            """)
+    List<Trip> findTripsByStudentId(Long studentId, Limit limit);
+
+    @Query("""
+            SELECT t FROM Trip t 
+            JOIN t.attendances a 
+            WHERE a.student.id = :studentId 
+            AND a.active = true 
+            AND t.active = true 
+            AND (t.scheduledDepartureTime < :departureTime 
+                 OR (t.scheduledDepartureTime = :departureTime AND t.id < :id)) 
+            ORDER BY t.scheduledDepartureTime DESC, t.id DESC
+            """)
+    List<Trip> findTripsByStudentIdAfter(Long studentId, LocalDateTime departureTime, Long id, Limit limit);
+
+    @Query("""
+            SELECT new com.example.backend.dto.trip.TripTimeline(
+                   t.id, t.status, t.scheduledDepartureTime, t.actualDepartureTime, 
+                   MAX(s.estimatedMinutesFromStart)) 
+            FROM Trip t 
+            JOIN t.route r 
+            LEFT JOIN r.stops s 
+            WHERE t.active = true 
+            AND t.status IN (com.example.backend.entities.Trip$TripStatus.SCHEDULED, 
+                             com.example.backend.entities.Trip$TripStatus.IN_PROGRESS) 
+            GROUP BY t.id, t.status, t.scheduledDepartureTime, t.actualDepartureTime
+            """)
+    List<TripTimeline> findOpenTripTimelines();
+
+    @Query("""
+            SELECT new com.example.backend.dto.trip.TripTimeline(
+                   t.id, t.status, t.scheduledDepartureTime, t.actualDepartureTime, 
+                   MAX(s.estimatedMinutesFromStart)) 
+            FROM Trip t 
+            JOIN t.route r 
+            LEFT JOIN r.stops s 
+            WHERE t.id = :id 
+            AND t.active = true 
+            GROUP BY t.id, t.status, t.scheduledDepartureTime, t.actualDepartureTime
+            """)
+    Optional<TripTimeline> findTimelineById(Long id);
+
+    @Query("SELECT t.status FROM Trip t WHERE t.id = :id AND t.active = true")
+    Optional<Trip.TripStatus> findActiveStatus(Long id);
+
+    @Query("""
+            SELECT t FROM Trip t 
+            JOIN FETCH t.route r 
+            LEFT JOIN FETCH t.driver 
+            LEFT JOIN FETCH t.vehicle 
+            WHERE r.school.id = :schoolId 
+            AND t.active = true 
+            AND t.scheduledDepartureTime >= :start 
+            AND t.scheduledDepartureTime < :end
+            """)
+    List<Trip> findBoardTripsBySchool(Long schoolId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Writes a trip's lifecycle fields only if the row still has {@code expectedVersion}.
+     *
+     * @return 1 on success, 0 if the trip changed since it was read
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Trip t 
+            SET t.status = :status, 
+                t.actualDepartureTime = :actualDepartureTime, 
+                t.actualArrivalTime = :actualArrivalTime, 
+                t.notes = :notes, 
+                t.version = t.version + 1, 
+                t.updatedAt = :updatedAt 
+            WHERE t.id = :id 
+            AND t.version = :expectedVersion
+            """)
+    int compareAndSetState(Long id, long expectedVersion, Trip.TripStatus status,
+                           LocalDateTime actualDepartureTime, LocalDateTime actualArrivalTime,
+                           String notes, LocalDateTime updatedAt);
+
+    @Query("""
+            SELECT s.id AS schoolId, 
+                   COALESCE(t.scheduledDepartureTime, t.actualDepartureTime, t.createdAt) AS serviceTime 
+            FROM Trip t 
+            JOIN t.route r 
+            LEFT JOIN r.school s 
+            WHERE t.id = :tripId
             """)
-    List<Trip> findTripsByStudentId(Long studentId, int page, int size);
-} 
\ No newline at end of file
+    Optional<TripRollupKeyView> findRollupKey(Long tripId);
+}
@@ -0,0 +1,115 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.trip.TripCountView;
+import com.example.backend.dto.trip.TripSummaryStatsView;
+import com.example.backend.entities.TripSummary;
+import com.example.backend.repository.base.BaseRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TripSummaryRepository extends BaseRepository<TripSummary> {
+
+    Optional<TripSummary> findByTripId(Long tripId);
+
+    @Query("""
+            SELECT COUNT(s) FROM TripSummary s 
+            WHERE s.driverId = :driverId 
+            AND s.finalStatus = com.example.backend.entities.Trip$TripStatus.COMPLETED 
+            AND s.scheduledDepartureTime BETWEEN :start AND :end
+            """)
+    long countCompletedByDriverInPeriod(Long driverId, LocalDateTime start, LocalDateTime end);
+
+    @Query("""
+            SELECT COUNT(s) FROM TripSummary s 
+            WHERE s.vehicleId = :vehicleId 
+            AND s.finalStatus = com.example.backend.entities.Trip$TripStatus.COMPLETED
+            """)
+    long countCompletedByVehicle(Long vehicleId);
+
+    @Query("""
+            SELECT COUNT(s) FROM TripSummary s 
+            WHERE s.routeId = :routeId 
+            AND s.finalStatus = com.example.backend.entities.Trip$TripStatus.COMPLETED
+            """)
+    long countCompletedByRoute(Long routeId);
+
+    @Query("""
+            SELECT s.vehicleId AS ownerId, COUNT(s) AS completedTrips 
+            FROM TripSummary s 
+            WHERE s.finalStatus = com.example.backend.entities.Trip$TripStatus.COMPLETED 
+            GROUP BY s.vehicleId
+            """)
+    List<TripCountView> countCompletedGroupedByVehicle();
+
+    @Query("""
+            SELECT s.routeId AS ownerId, COUNT(s) AS completedTrips 
+            FROM TripSummary s 
+            WHERE s.schoolId = :schoolId 
+            AND s.finalStatus = com.example.backend.entities.Trip$TripStatus.COMPLETED 
+            GROUP BY s.routeId
+            """)
+    List<TripCountView> countCompletedGroupedByRoute(Long schoolId);
+
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN s.finalStatus = com.example.backend.entities.Trip$TripStatus.COMPLETED THEN 1 ELSE 0 END), 0) AS completedTrips, 
+                   COALESCE(SUM(CASE WHEN s.finalStatus = com.example.backend.entities.Trip$TripStatus.CANCELLED THEN 1 ELSE 0 END), 0) AS cancelledTrips, 
+                   AVG(s.durationMinutes) AS averageDurationMinutes, 
+                   AVG(s.departureDelayMinutes) AS averageDelayMinutes, 
+                   SUM(s.distanceKm) AS totalDistanceKm, 
+                   COALESCE(SUM(s.presentCount), 0) AS presentCount, 
+                   COALESCE(SUM(s.absentCount), 0) AS absentCount 
+            FROM TripSummary s 
+            WHERE s.schoolId = :schoolId 
+            AND s.scheduledDepartureTime BETWEEN :start AND :end
+            """)
+    TripSummaryStatsView aggregateBySchool(Long schoolId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Applies an attendance correction made after the trip finished. Trips without a
+     * summary yet are left alone; their counts are read when the summary is written.
+     */
+    @Modifying
+    @Query("""
+            UPDATE TripSummary s 
+            SET s.presentCount = s.presentCount + :presentDelta, 
+                s.absentCount = s.absentCount + :absentDelta, 
+                s.assignedCount = s.assignedCount + :assignedDelta 
+            WHERE s.trip.id = :tripId
+            """)
+    int applyAttendanceDelta(Long tripId, int presentDelta, int absentDelta, int assignedDelta);
+
+    /**
+     * Creates summaries for finished trips that predate the summary table. Distance is
+     * left empty because it is only computed when the trip is closed by the service.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO trip_summaries (trip_id, driver_id, vehicle_id, route_id, school_id, final_status, 
+                                        scheduled_departure_time, actual_departure_time, actual_arrival_time, 
+                                        duration_minutes, departure_delay_minutes, present_count, absent_count, 
+                                        assigned_count, created_at, updated_at, active) 
+            SELECT t.id, t.driver_id, t.vehicle_id, t.route_id, r.school_id, t.status, 
+                   t.scheduled_departure_time, t.actual_departure_time, t.actual_arrival_time, 
+                   FLOOR(EXTRACT(EPOCH FROM (t.actual_arrival_time - t.actual_departure_time)) / 60), 
+                   FLOOR(EXTRACT(EPOCH FROM (t.actual_departure_time - t.scheduled_departure_time)) / 60), 
+                   COUNT(a.id) FILTER (WHERE a.status = 'PRESENT'), 
+                   COUNT(a.id) FILTER (WHERE a.status IN ('ABSENT', 'ABSENT_NOTIFIED')), 
+                   COUNT(a.id), now(), now(), true 
+            FROM trips t 
+            JOIN routes r ON r.id = t.route_id 
+            LEFT JOIN attendances a ON a.trip_id = t.id AND a.active = true 
+            WHERE t.status IN ('COMPLETED', 'CANCELLED') 
+            AND t.active = true 
+            AND NOT EXISTS (SELECT 1 FROM trip_summaries s WHERE s.trip_id = t.id) 
+            GROUP BY t.id, r.school_id
+            """, nativeQuery = true)
+    int backfillMissingSummaries();
+}
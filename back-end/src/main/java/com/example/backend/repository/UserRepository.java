@@ -2,32 +2,69 @@ package com.example.backend.repository;
 
 import com.example.backend.entities.user.User;
 import com.example.backend.repository.base.EmailAwareRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends EmailAwareRepository<User> {
+    // Identifiers are matched on their normalized columns, so each lookup is a single
+    // unique index probe whatever the casing or surrounding whitespace of the input.
+    @Query("SELECT u FROM User u WHERE u.normalizedEmail = LOWER(TRIM(:email)) AND u.active = true")
     Optional<User> findByEmailAndActiveTrue(String email);
     
-    @Query("SELECT u FROM User u WHERE u.email = :email AND u.active = true")
+    @Query("SELECT u FROM User u WHERE u.normalizedEmail = LOWER(TRIM(:email)) AND u.active = true")
     Optional<User> findByEmailForAuthentication(String email);
     
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role AND u.active = true")
     long countActiveUsersByRole(User.Role role);
 
+    @Query("SELECT u FROM User u WHERE u.normalizedUsername = LOWER(TRIM(:username)) AND u.active = true")
     Optional<User> findByUsernameAndActiveTrue(String username);
     
-    @Query("SELECT u FROM User u WHERE u.username = :username AND u.active = true")
-    Optional<User> findByUsernameForAuthentication(@Param("username") String username);
-    
-    @Query("SELECT u FROM User u WHERE LOWER(u.username) = LOWER(:username) AND u.active = true")
-    Optional<User> findByUsernameIgnoreCaseForAuthentication(@Param("username") String username);
+    @Query("SELECT u FROM User u WHERE u.normalizedUsername = LOWER(TRIM(:username)) AND u.active = true")
+    Optional<User> findByUsernameForAuthentication(String username);
     
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.normalizedUsername = LOWER(TRIM(:username))")
     boolean existsByUsername(String username);
+
+    /**
+     * Replaces a password hash with an equivalent one of higher cost. Only applies if
+     * the hash is still {@code currentPassword}, and bypasses the entity so it does not
+     * count as a credential change that revokes tokens.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE users SET password = :upgradedPassword, updated_at = :now 
+            WHERE id = :userId AND password = :currentPassword
+            """, nativeQuery = true)
+    int upgradePasswordHash(Long userId, String currentPassword, String upgradedPassword, LocalDateTime now);
+
+    // Reads the base table only, without joining the subclass tables.
+    @Query(value = "SELECT security_version FROM users WHERE id = :userId AND active = true", nativeQuery = true)
+    Optional<Long> findActiveSecurityVersion(Long userId);
+
+    /**
+     * Schools the user works in or has children at, depending on their role.
+     */
+    @Query(value = """
+            SELECT d.school_id FROM drivers d WHERE d.id = :userId AND d.school_id IS NOT NULL 
+            UNION 
+            SELECT m.school_id FROM admin_managed_schools m WHERE m.admin_id = :userId 
+            UNION 
+            SELECT s.school_id FROM students s WHERE s.parent_id = :userId AND s.active = true
+            """, nativeQuery = true)
+    List<Long> findSchoolScope(Long userId);
+
+    @Query(value = "SELECT s.id FROM students s WHERE s.parent_id = :userId AND s.active = true", nativeQuery = true)
+    List<Long> findChildStudentIds(Long userId);
     
     // Find users by role and active status
     @Query("SELECT u FROM User u WHERE u.role = :role AND u.active = true")
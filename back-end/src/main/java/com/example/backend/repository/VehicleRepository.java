@@ -88,14 +88,6 @@ public interface VehicleRepository extends BaseRepository<Vehicle> {
             """)
     List<Vehicle> findActivelyOperatingVehicles();
 
-    @Query("""
-            SELECT COUNT(t) FROM Vehicle v 
-            JOIN Trip t ON t.vehicle = v 
-            WHERE v.id = :vehicleId 
-            AND t.status = com.example.backend.entities.Trip$TripStatus.COMPLETED
-            """)
-    long countCompletedTrips(Long vehicleId);
-
     @Query("SELECT COUNT(v) FROM Vehicle v WHERE v.school.id = :schoolId AND v.active = true")
     long countActiveVehiclesBySchool(@Param("schoolId") Long schoolId);
 } 
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.example.backend.repository.base;
 
-import com.example.backend.entities.base.BaseEntity;
+import com.example.backend.entities.user.User;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
 
 @NoRepositoryBean
-public interface EmailAwareRepository<T extends BaseEntity> extends BaseRepository<T> {
+public interface EmailAwareRepository<T extends User> extends BaseRepository<T> {
+    @Query("SELECT CASE WHEN COUNT(e) > 0 THEN true ELSE false END FROM #{#entityName} e WHERE e.normalizedEmail = LOWER(TRIM(:email))")
     boolean existsByEmail(String email);
-} 
\ No newline at end of file
+}
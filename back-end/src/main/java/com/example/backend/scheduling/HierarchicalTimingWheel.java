@@ -0,0 +1,210 @@
+package com.example.backend.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical hashed timing wheel. Each level has {@code wheelSize} slots; a slot at
+ * level {@code i} spans {@code wheelSize^i} ticks. Timers are kept in intrusive doubly
+ * linked lists so scheduling and cancellation are O(1); timers on upper levels are
+ * cascaded down as the clock reaches their slot.
+ *
+ * <p>The wheel does not own a thread. Callers drive it with {@link #advanceTo(long)} and
+ * receive the payloads whose deadlines have passed. All methods are thread-safe.</p>
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final long maxDelayTicks;
+    private final Bucket<T>[][] buckets;
+    private final Bucket<T> overdue = new Bucket<>();
+
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        if (levels < 1 || (long) Integer.numberOfTrailingZeros(wheelSize) * levels >= 62) {
+            throw new IllegalArgumentException("Unsupported number of levels: " + levels);
+        }
+        this.tickMs = tickMs;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = levels;
+        this.maxDelayTicks = 1L << (bits * levels);
+        this.buckets = new Bucket[levels][wheelSize];
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                buckets[level][slot] = new Bucket<>();
+            }
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Registers {@code payload} to expire at {@code deadlineMs}. Deadlines that are
+     * already due are returned by the next call to {@link #advanceTo(long)}.
+     */
+    public synchronized Timeout<T> schedule(long deadlineMs, T payload) {
+        long deadlineTick = Math.floorDiv(deadlineMs + tickMs - 1, tickMs);
+        if (deadlineTick - currentTick >= maxDelayTicks) {
+            throw new IllegalArgumentException("Deadline is beyond the wheel horizon of "
+                    + (maxDelayTicks * tickMs) + " ms");
+        }
+        Timeout<T> timeout = new Timeout<>(this, deadlineTick, payload);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Moves the clock forward to {@code nowMs}, cascading upper levels as their slots
+     * come due, and returns the payloads of every timer that expired on the way.
+     */
+    public synchronized List<T> advanceTo(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        drain(overdue, expired);
+
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            int highest = 0;
+            while (highest + 1 < levels && (currentTick & ((1L << (bits * (highest + 1))) - 1)) == 0) {
+                highest++;
+            }
+            // Cascade from the top so that timers moved down land in slots not yet visited.
+            for (int level = highest; level >= 1; level--) {
+                cascade(buckets[level][slotFor(currentTick, level)]);
+            }
+            drain(buckets[0][(int) (currentTick & mask)], expired);
+            // Timers cascaded onto the current tick are parked as overdue.
+            drain(overdue, expired);
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delay = timeout.deadlineTick - currentTick;
+        if (delay <= 0) {
+            overdue.add(timeout);
+            return;
+        }
+        int level = 0;
+        while (level + 1 < levels && delay >= (1L << (bits * (level + 1)))) {
+            level++;
+        }
+        buckets[level][slotFor(timeout.deadlineTick, level)].add(timeout);
+    }
+
+    private int slotFor(long tick, int level) {
+        return (int) ((tick >>> (bits * level)) & mask);
+    }
+
+    private void cascade(Bucket<T> bucket) {
+        Timeout<T> timeout;
+        while ((timeout = bucket.poll()) != null) {
+            place(timeout);
+        }
+    }
+
+    private void drain(Bucket<T> bucket, List<T> expired) {
+        Timeout<T> timeout;
+        while ((timeout = bucket.poll()) != null) {
+            size--;
+            expired.add(timeout.payload);
+        }
+    }
+
+    /**
+     * Handle to a pending timer.
+     */
+    public static final class Timeout<T> {
+        private final HierarchicalTimingWheel<T> wheel;
+        private final long deadlineTick;
+        private final T payload;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, long deadlineTick, T payload) {
+            this.wheel = wheel;
+            this.deadlineTick = deadlineTick;
+            this.payload = payload;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        /**
+         * @return {@code true} if the timer was pending and is now removed
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        public boolean isPending() {
+            synchronized (wheel) {
+                return bucket != null;
+            }
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        Timeout<T> poll() {
+            Timeout<T> first = head;
+            if (first != null) {
+                remove(first);
+            }
+            return first;
+        }
+    }
+}
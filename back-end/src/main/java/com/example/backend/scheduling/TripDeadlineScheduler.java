@@ -0,0 +1,178 @@
+package com.example.backend.scheduling;
+
+import com.example.backend.dto.trip.TripTimeline;
+import com.example.backend.entities.Trip;
+import com.example.backend.events.TripDeadlineEvent;
+import com.example.backend.events.TripDeadlineEvent.Deadline;
+import com.example.backend.events.TripLifecycleEvent;
+import com.example.backend.repository.TripRepository;
+import com.example.backend.service.TripRules;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps every open trip's lifecycle deadlines on an in-process timing wheel and
+ * publishes a {@link TripDeadlineEvent} as each one passes, so nothing has to poll the
+ * trips table. Deadlines are rebuilt from the database on startup and re-derived from
+ * the trip's current timeline after each committed {@link TripLifecycleEvent}.
+ */
+@Slf4j
+@Component
+public class TripDeadlineScheduler {
+
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_LEVELS = 3;
+
+    private final TripRepository tripRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HierarchicalTimingWheel<TripDeadlineEvent> wheel;
+    private final Map<Long, List<HierarchicalTimingWheel.Timeout<TripDeadlineEvent>>> timeoutsByTrip =
+            new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+
+    public TripDeadlineScheduler(TripRepository tripRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${nimbus.trips.deadlineTickMs:1000}") long tickMs) {
+        this.tripRepository = tripRepository;
+        this.eventPublisher = eventPublisher;
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "trip-deadline-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules the deadlines of every open trip. Deadlines that passed while the node
+     * was down are queued as overdue and fire once on the next tick.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        List<TripTimeline> timelines = tripRepository.findOpenTripTimelines();
+        timelines.forEach(timeline -> schedule(timeline, true));
+        log.info("Rehydrated deadlines for {} open trips ({} pending timers)", timelines.size(), wheel.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripLifecycle(TripLifecycleEvent event) {
+        log.debug("Re-deriving deadlines for trip {} after {}", event.tripId(), event.transition());
+        tripRepository.findTimelineById(event.tripId())
+                .ifPresentOrElse(this::schedule, () -> cancel(event.tripId()));
+    }
+
+    /**
+     * Replaces any pending deadlines for the trip with those implied by its timeline.
+     * Deadlines already in the past are not fired retroactively.
+     */
+    public void schedule(TripTimeline timeline) {
+        schedule(timeline, false);
+    }
+
+    private void schedule(TripTimeline timeline, boolean fireOverdue) {
+        List<HierarchicalTimingWheel.Timeout<TripDeadlineEvent>> timeouts = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (TripDeadlineEvent deadline : deadlinesFor(timeline)) {
+            if (!fireOverdue && !deadline.dueAt().isAfter(now)) {
+                continue;
+            }
+            try {
+                timeouts.add(wheel.schedule(toEpochMillis(deadline.dueAt()), deadline));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping deadline {} for trip {}: {}", deadline.deadline(), deadline.tripId(), e.getMessage());
+            }
+        }
+        List<HierarchicalTimingWheel.Timeout<TripDeadlineEvent>> previous = timeouts.isEmpty()
+                ? timeoutsByTrip.remove(timeline.tripId())
+                : timeoutsByTrip.put(timeline.tripId(), timeouts);
+        if (previous != null) {
+            previous.forEach(HierarchicalTimingWheel.Timeout::cancel);
+        }
+    }
+
+    public void cancel(Long tripId) {
+        List<HierarchicalTimingWheel.Timeout<TripDeadlineEvent>> previous = timeoutsByTrip.remove(tripId);
+        if (previous != null) {
+            previous.forEach(HierarchicalTimingWheel.Timeout::cancel);
+        }
+    }
+
+    public int pendingDeadlines() {
+        return wheel.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    static List<TripDeadlineEvent> deadlinesFor(TripTimeline timeline) {
+        List<TripDeadlineEvent> deadlines = new ArrayList<>();
+        Long tripId = timeline.tripId();
+        if (timeline.status() == Trip.TripStatus.SCHEDULED && timeline.scheduledDepartureTime() != null) {
+            LocalDateTime departure = timeline.scheduledDepartureTime();
+            deadlines.add(new TripDeadlineEvent(tripId, Deadline.START_WINDOW_OPENED,
+                    departure.minusMinutes(TripRules.START_WINDOW_MINUTES)));
+            deadlines.add(new TripDeadlineEvent(tripId, Deadline.START_OVERDUE,
+                    departure.plusMinutes(TripRules.START_WINDOW_MINUTES)));
+        } else if (timeline.status() == Trip.TripStatus.IN_PROGRESS) {
+            LocalDateTime departure = timeline.actualDepartureTime() != null
+                    ? timeline.actualDepartureTime()
+                    : timeline.scheduledDepartureTime();
+            if (departure == null) {
+                return deadlines;
+            }
+            LocalDateTime arrival = departure;
+            if (timeline.routeDurationMinutes() != null) {
+                arrival = departure.plusMinutes(timeline.routeDurationMinutes());
+                deadlines.add(new TripDeadlineEvent(tripId, Deadline.EXPECTED_ARRIVAL, arrival));
+            }
+            deadlines.add(new TripDeadlineEvent(tripId, Deadline.NOTIFICATION_CUTOFF,
+                    arrival.plusMinutes(TripRules.NOTIFICATION_THRESHOLD_MINUTES)));
+            deadlines.add(new TripDeadlineEvent(tripId, Deadline.MAX_DURATION_EXCEEDED,
+                    departure.plusHours(TripRules.MAX_TRIP_DURATION_HOURS)));
+        }
+        return deadlines;
+    }
+
+    private void tick() {
+        try {
+            for (TripDeadlineEvent event : wheel.advanceTo(System.currentTimeMillis())) {
+                forget(event);
+                log.debug("Trip {} reached deadline {} due at {}", event.tripId(), event.deadline(), event.dueAt());
+                eventPublisher.publishEvent(event);
+            }
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the fixed-rate ticker.
+            log.error("Failed to dispatch trip deadlines", e);
+        }
+    }
+
+    private void forget(TripDeadlineEvent event) {
+        timeoutsByTrip.computeIfPresent(event.tripId(), (tripId, timeouts) -> {
+            timeouts.removeIf(timeout -> timeout.payload() == event);
+            return timeouts.isEmpty() ? null : timeouts;
+        });
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
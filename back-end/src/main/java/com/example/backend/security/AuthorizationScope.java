@@ -0,0 +1,64 @@
+package com.example.backend.security;
+
+import com.example.backend.entities.user.User;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * What the current principal may see, computed once when the principal is built: the
+ * schools an admin manages, a driver works for or a parent has children at, and a
+ * parent's children. Every check is a set lookup, without touching the database or
+ * lazy associations.
+ */
+public final class AuthorizationScope {
+
+    private final long userId;
+    private final User.Role role;
+    private final LongSet schoolIds;
+    private final LongSet studentIds;
+
+    private AuthorizationScope(long userId, User.Role role, LongSet schoolIds, LongSet studentIds) {
+        this.userId = userId;
+        this.role = role;
+        this.schoolIds = schoolIds;
+        this.studentIds = studentIds;
+    }
+
+    public static AuthorizationScope of(long userId, User.Role role,
+                                        Collection<Long> schoolIds, Collection<Long> studentIds) {
+        return new AuthorizationScope(userId, role, LongSet.of(schoolIds), LongSet.of(studentIds));
+    }
+
+    public long userId() {
+        return userId;
+    }
+
+    public User.Role role() {
+        return role;
+    }
+
+    public boolean isAdmin() {
+        return role == User.Role.ADMIN;
+    }
+
+    public Optional<Long> driverId() {
+        return role == User.Role.DRIVER ? Optional.of(userId) : Optional.empty();
+    }
+
+    public Optional<Long> parentId() {
+        return role == User.Role.PARENT ? Optional.of(userId) : Optional.empty();
+    }
+
+    public boolean canAccessSchool(long schoolId) {
+        return schoolIds.contains(schoolId);
+    }
+
+    public boolean isParentOf(long studentId) {
+        return role == User.Role.PARENT && studentIds.contains(studentId);
+    }
+
+    public boolean isSelfOrAdmin(long otherUserId) {
+        return otherUserId == userId || isAdmin();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.backend.security;
+
+import java.util.Collection;
+
+/**
+ * Immutable open-addressing set of {@code long}s, for constant-time id membership checks
+ * without boxing.
+ */
+public final class LongSet {
+
+    private static final LongSet EMPTY = new LongSet(new long[1], false, 0);
+
+    // 0 marks a free slot, so a contained 0 is tracked separately.
+    private final long[] slots;
+    private final boolean containsZero;
+    private final int size;
+
+    private LongSet(long[] slots, boolean containsZero, int size) {
+        this.slots = slots;
+        this.containsZero = containsZero;
+        this.size = size;
+    }
+
+    public static LongSet of(Collection<Long> values) {
+        if (values == null || values.isEmpty()) {
+            return EMPTY;
+        }
+        long[] slots = new long[Integer.highestOneBit(Math.max(2, values.size()) * 2 - 1) << 1];
+        int mask = slots.length - 1;
+        boolean containsZero = false;
+        int size = 0;
+        for (Long value : values) {
+            if (value == 0) {
+                size += containsZero ? 0 : 1;
+                containsZero = true;
+                continue;
+            }
+            int slot = index(value, mask);
+            while (slots[slot] != 0 && slots[slot] != value) {
+                slot = (slot + 1) & mask;
+            }
+            if (slots[slot] == 0) {
+                slots[slot] = value;
+                size++;
+            }
+        }
+        return new LongSet(slots, containsZero, size);
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        int mask = slots.length - 1;
+        int slot = index(value, mask);
+        while (slots[slot] != 0) {
+            if (slots[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static int index(long value, int mask) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
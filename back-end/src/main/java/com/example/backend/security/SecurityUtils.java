@@ -1,6 +1,6 @@
 package com.example.backend.security;
 
-import com.example.backend.entities.user.User;
+import com.example.backend.security.services.UserDetailsImpl;
 import lombok.NoArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,19 +27,39 @@ public class SecurityUtils {
         return Optional.ofNullable(username);
     }
 
-    public static Optional<User> getCurrentUser() {
+    public static Optional<UserDetailsImpl> getCurrentUser() {
         final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null) {
             return Optional.empty();
         }
 
-        if (authentication.getPrincipal() instanceof User user) {
+        if (authentication.getPrincipal() instanceof UserDetailsImpl user) {
             return Optional.of(user);
         }
 
         return Optional.empty();
     }
 
+    public static Optional<AuthorizationScope> getCurrentScope() {
+        return getCurrentUser().map(UserDetailsImpl::getAuthorizationScope);
+    }
+
+    public static Optional<Long> getCurrentDriverId() {
+        return getCurrentScope().flatMap(AuthorizationScope::driverId);
+    }
+
+    public static Optional<Long> getCurrentParentId() {
+        return getCurrentScope().flatMap(AuthorizationScope::parentId);
+    }
+
+    public static boolean canAccessSchool(Long schoolId) {
+        return schoolId != null && getCurrentScope().map(scope -> scope.canAccessSchool(schoolId)).orElse(false);
+    }
+
+    public static boolean isParentOf(Long studentId) {
+        return studentId != null && getCurrentScope().map(scope -> scope.isParentOf(studentId)).orElse(false);
+    }
+
     public static boolean isAuthenticated() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         return authentication != null &&
@@ -55,8 +75,8 @@ public class SecurityUtils {
     }
 
     public static void validateUserAccess(Long userId) {
-        getCurrentUser().ifPresent(user -> {
-            if (!user.getId().equals(userId) && !hasRole("ADMIN")) {
+        getCurrentScope().ifPresent(scope -> {
+            if (!scope.isSelfOrAdmin(userId)) {
                 throw new SecurityException("Access denied");
             }
         });
@@ -1,6 +1,9 @@
 package com.example.backend.security.jwt;
 
+import com.example.backend.security.services.UserDetailsCache;
+import com.example.backend.security.services.UserDetailsImpl;
 import com.example.backend.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,6 +11,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +20,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
@@ -24,6 +29,18 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserTokenVersions userTokenVersions;
+
+    @Autowired
+    private TokenRevocations tokenRevocations;
+
+    @Value("${nimbus.app.jwtStatelessPrincipal:true}")
+    private boolean statelessPrincipal;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -31,10 +48,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Optional<Claims> claims = jwt != null ? jwtUtils.parseVerifiedClaims(jwt) : Optional.empty();
+            UserDetails userDetails = claims.map(this::resolvePrincipal).orElse(null);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -51,6 +67,33 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the principal from the token when it carries the user's current security
+     * version, without touching the database unless that version is not cached. Tokens
+     * with an outdated version or a revoked id are rejected; tokens without the claims
+     * fall back to the cached principal, loading the user on a miss.
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        if (tokenRevocations.isRevoked(claims)) {
+            logger.debug("Rejecting revoked token {}", claims.getId());
+            return null;
+        }
+        if (statelessPrincipal) {
+            Optional<UserDetailsImpl> principal = jwtUtils.principalFromClaims(claims);
+            if (principal.isPresent()) {
+                UserDetailsImpl user = principal.get();
+                if (userTokenVersions.isCurrent(user.getId(), user.getSecurityVersion())) {
+                    return user;
+                }
+                logger.debug("Rejecting revoked token for user {}", user.getId());
+                return null;
+            }
+        }
+        String username = claims.getSubject();
+        return userDetailsCache.get(username)
+                .orElseGet(() -> userDetailsService.loadTokenPrincipal(username));
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -0,0 +1,33 @@
+package com.example.backend.security.jwt;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Token signing keys. New tokens are signed with {@code jwtActiveKeyId} and carry it in
+ * their {@code kid} header; any key still listed in {@code jwtKeys} is accepted when
+ * verifying, so a key can be rotated out once the tokens it signed have expired.
+ * {@code jwtSecret} verifies tokens without a key id, and signs new ones while no
+ * active key is set.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nimbus.app")
+public class JwtProperties {
+
+    /** Base64-encoded HMAC secret for tokens without a key id. */
+    private String jwtSecret;
+
+    private int jwtExpirationMs;
+
+    /** Key id to base64-encoded HMAC secret. */
+    private Map<String, String> jwtKeys = new HashMap<>();
+
+    private String jwtActiveKeyId;
+}
@@ -6,48 +6,116 @@ import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies access tokens. Keys and the parser are built once at startup; the
+ * parser is immutable and shared by all requests, and resolves the verification key
+ * from the token's {@code kid} header so several keys can be active during rotation.
+ */
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${nimbus.app.jwtSecret}")
-    private String jwtSecret;
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_SCHOOLS = "sch";
+    static final String CLAIM_VERSION = "ver";
+    static final String CLAIM_STUDENTS = "stu";
 
-    @Value("${nimbus.app.jwtExpirationMs}")
-    private int jwtExpirationMs;
+    private final Map<String, Key> keys = new HashMap<>();
+    private final Key legacyKey;
+    private final String activeKeyId;
+    private final Key signingKey;
+    private final int jwtExpirationMs;
+    private final JwtParser parser;
+
+    public JwtUtils(JwtProperties properties) {
+        properties.getJwtKeys().forEach((keyId, secret) -> keys.put(keyId, hmacKey(secret)));
+        this.legacyKey = properties.getJwtSecret() != null ? hmacKey(properties.getJwtSecret()) : null;
+        this.activeKeyId = properties.getJwtActiveKeyId();
+        if (activeKeyId != null && !keys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("Active JWT key " + activeKeyId + " is not configured");
+        }
+        this.signingKey = activeKeyId != null ? keys.get(activeKeyId) : legacyKey;
+        if (signingKey == null) {
+            throw new IllegalStateException("No JWT signing key is configured");
+        }
+        this.jwtExpirationMs = properties.getJwtExpirationMs();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
 
     public String generateJwtToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
 
-        return Jwts.builder()
+        String role = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse(null);
+
+        JwtBuilder builder = Jwts.builder();
+        if (activeKeyId != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, activeKeyId);
+        }
+        return builder
+                .setId(UUID.randomUUID().toString())
                 .setSubject((userPrincipal.getUsername()))
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_SCHOOLS, userPrincipal.getSchoolIds())
+                .claim(CLAIM_STUDENTS, userPrincipal.getStudentIds())
+                .claim(CLAIM_VERSION, userPrincipal.getSecurityVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-    
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+
+    private Key verificationKey(String keyId) {
+        Key key = keyId == null ? legacyKey : keys.get(keyId);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key id: " + keyId);
+        }
+        return key;
+    }
+
+    private static Key hmacKey(String base64Secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
     }
 
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the token and returns its claims, or empty if it is invalid or expired.
+     */
+    public Optional<Claims> parseVerifiedClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
-        } catch (SecurityException e) {
+            return Optional.of(parser.parseClaimsJws(authToken).getBody());
+        } catch (io.jsonwebtoken.security.SecurityException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
@@ -57,13 +125,47 @@ public class JwtUtils {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("Invalid JWT: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Rebuilds the principal a token was issued for from its claims alone. Empty for
+     * tokens issued before the claims were added.
+     */
+    public Optional<UserDetailsImpl> principalFromClaims(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Long version = claims.get(CLAIM_VERSION, Long.class);
+        List<?> schools = claims.get(CLAIM_SCHOOLS, List.class);
+        List<?> students = claims.get(CLAIM_STUDENTS, List.class);
+        if (userId == null || role == null || version == null || students == null) {
+            return Optional.empty();
         }
-        return false;
+        UserDetailsImpl principal = new UserDetailsImpl(userId, claims.getSubject(),
+                claims.get(CLAIM_EMAIL, String.class), null, null, null, null, true,
+                List.of(new SimpleGrantedAuthority(role)));
+        principal.setSecurityVersion(version);
+        principal.setSchoolIds(idSet(schools));
+        principal.setStudentIds(idSet(students));
+        return Optional.of(principal);
+    }
+
+    private static Set<Long> idSet(List<?> ids) {
+        return ids == null
+                ? Set.of()
+                : ids.stream().map(id -> ((Number) id).longValue()).collect(Collectors.toUnmodifiableSet());
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return parseVerifiedClaims(authToken).isPresent();
     }
 
     public boolean isTokenValid(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
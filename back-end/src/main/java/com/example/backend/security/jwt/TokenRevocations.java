@@ -0,0 +1,164 @@
+package com.example.backend.security.jwt;
+
+import com.example.backend.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Revoked token ids, kept in the database and fronted by an in-memory Bloom filter so
+ * a token that was never revoked is accepted after a few hash probes. Only a filter hit
+ * is confirmed against the database. Each node polls for revocations made elsewhere
+ * every few seconds and rebuilds its filter from scratch periodically, dropping
+ * expired entries; until the first build every lookup goes to the database.
+ */
+@Slf4j
+@Component
+public class TokenRevocations {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    private static final int MIN_CAPACITY = 10_000;
+    // Re-reads a little of the past on each poll to cover clock skew and late commits.
+    private static final long SYNC_OVERLAP_SECONDS = 10;
+
+    private final RevokedTokenRepository repository;
+    private final Counter filtered;
+    private final Counter confirmed;
+    private final Counter falsePositives;
+    private final AtomicInteger size = new AtomicInteger();
+
+    private volatile BloomFilter filter;
+    private volatile int capacity;
+    private volatile LocalDateTime syncedUntil;
+
+    public TokenRevocations(RevokedTokenRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.filtered = lookupCounter(meterRegistry, "filtered");
+        this.confirmed = lookupCounter(meterRegistry, "revoked");
+        this.falsePositives = lookupCounter(meterRegistry, "false_positive");
+    }
+
+    /**
+     * True when the token carries an id that has been revoked. Tokens issued without an
+     * id cannot be revoked individually and only expire.
+     */
+    public boolean isRevoked(Claims claims) {
+        String tokenId = claims.getId();
+        if (tokenId == null) {
+            return false;
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(tokenId)) {
+            filtered.increment();
+            return false;
+        }
+        boolean revoked = repository.existsByTokenIdAndExpiresAtAfter(tokenId, LocalDateTime.now());
+        (revoked ? confirmed : falsePositives).increment();
+        return revoked;
+    }
+
+    /**
+     * Revokes the token until it expires. Returns false if it carries no id.
+     */
+    @Transactional
+    public boolean revoke(Claims claims) {
+        String tokenId = claims.getId();
+        if (tokenId == null) {
+            return false;
+        }
+        LocalDateTime expiresAt = claims.getExpiration() == null
+                ? LocalDateTime.now().plusDays(1)
+                : LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+        repository.revoke(tokenId, claims.get(JwtUtils.CLAIM_USER_ID, Long.class), expiresAt, LocalDateTime.now());
+        add(tokenId);
+        return true;
+    }
+
+    /**
+     * Builds the first filter. Expired rows are purged by the scheduled {@link #rebuild},
+     * the only caller that goes through the transactional proxy.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            load(LocalDateTime.now(), 0);
+        } catch (RuntimeException e) {
+            log.warn("Could not build the token revocation filter, checking the database until the next rebuild: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the filter with one sized for the currently unexpired revocations and
+     * purges expired rows.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${nimbus.app.tokenRevocationRebuildMs:600000}",
+            initialDelayString = "${nimbus.app.tokenRevocationRebuildMs:600000}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        load(now, repository.deleteExpired(now));
+    }
+
+    private void load(LocalDateTime now, int purged) {
+        List<String> tokenIds = repository.findUnexpiredTokenIds(now);
+        int newCapacity = Math.max(MIN_CAPACITY, tokenIds.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(newCapacity, FALSE_POSITIVE_RATE);
+        tokenIds.forEach(rebuilt::add);
+        capacity = newCapacity;
+        size.set(tokenIds.size());
+        filter = rebuilt;
+        syncedUntil = now;
+        log.debug("Rebuilt token revocation filter with {} ids ({} bits), purged {} expired",
+                tokenIds.size(), rebuilt.bitCount(), purged);
+    }
+
+    /**
+     * Adds revocations recorded by other nodes since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${nimbus.app.tokenRevocationSyncMs:2000}")
+    public void sync() {
+        LocalDateTime since = syncedUntil;
+        if (filter == null || since == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        repository.findTokenIdsRevokedSince(since.minusSeconds(SYNC_OVERLAP_SECONDS), now).forEach(this::add);
+        syncedUntil = now;
+    }
+
+    private void add(String tokenId) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        if (current.mightContain(tokenId)) {
+            return;
+        }
+        current.add(tokenId);
+        // Rebuild early once the filter is overfull and its false positive rate climbs.
+        if (size.incrementAndGet() > capacity) {
+            log.info("Token revocation filter is over capacity, rebuilding");
+            load(LocalDateTime.now(), 0);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("nimbus.security.revocation.lookups")
+                .description("Token revocation checks by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
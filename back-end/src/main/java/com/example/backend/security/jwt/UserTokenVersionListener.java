@@ -0,0 +1,36 @@
+package com.example.backend.security.jwt;
+
+import com.example.backend.entities.user.User;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops a user's cached token version once an update to them commits, so this node
+ * rejects tokens revoked by a password, role or status change straight away. Other
+ * nodes catch up when their cached entry expires.
+ */
+public class UserTokenVersionListener {
+
+    private final ObjectProvider<UserTokenVersions> userTokenVersions;
+
+    public UserTokenVersionListener(ObjectProvider<UserTokenVersions> userTokenVersions) {
+        this.userTokenVersions = userTokenVersions;
+    }
+
+    @PostUpdate
+    public void onUserUpdated(User user) {
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userTokenVersions.ifAvailable(versions -> versions.evict(userId));
+                }
+            });
+        } else {
+            userTokenVersions.ifAvailable(versions -> versions.evict(userId));
+        }
+    }
+}
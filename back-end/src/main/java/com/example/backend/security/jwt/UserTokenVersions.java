@@ -0,0 +1,53 @@
+package com.example.backend.security.jwt;
+
+import com.example.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of each user's current security version, used to accept tokens
+ * without loading the user. The database is only read when a user's entry is missing
+ * or older than the TTL, and a user who is inactive or gone caches as revoked.
+ */
+@Component
+public class UserTokenVersions {
+
+    private static final long REVOKED = -1;
+    private static final int PURGE_THRESHOLD = 100_000;
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final Map<Long, Entry> versions = new ConcurrentHashMap<>();
+
+    public UserTokenVersions(UserRepository userRepository,
+                             @Value("${nimbus.app.jwtVersionCacheTtlMs:30000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttlMs * 1_000_000;
+    }
+
+    /**
+     * True when {@code tokenVersion} is the user's current version and the user is active.
+     */
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        long now = System.nanoTime();
+        Entry entry = versions.get(userId);
+        if (entry == null || now - entry.loadedAt() > ttlNanos) {
+            entry = new Entry(userRepository.findActiveSecurityVersion(userId).orElse(REVOKED), now);
+            if (versions.size() >= PURGE_THRESHOLD) {
+                versions.values().removeIf(cached -> now - cached.loadedAt() > ttlNanos);
+            }
+            versions.put(userId, entry);
+        }
+        return entry.version() != REVOKED && entry.version() == tokenVersion;
+    }
+
+    public void evict(Long userId) {
+        versions.remove(userId);
+    }
+
+    private record Entry(long version, long loadedAt) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.backend.security.qr;
+
+import java.util.Arrays;
+
+/**
+ * RFC 4648 base32 without padding. The alphabet is a subset of the QR alphanumeric
+ * character set and is safe in URLs and path segments.
+ */
+final class Base32 {
+
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+    private static final int[] LOOKUP = new int[128];
+
+    static {
+        Arrays.fill(LOOKUP, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            LOOKUP[ALPHABET[i]] = i;
+        }
+    }
+
+    private Base32() {
+    }
+
+    static String encode(byte[] data) {
+        StringBuilder out = new StringBuilder((data.length * 8 + 4) / 5);
+        int buffer = 0;
+        int bits = 0;
+        for (byte b : data) {
+            buffer = (buffer << 8) | (b & 0xFF);
+            bits += 8;
+            while (bits >= 5) {
+                out.append(ALPHABET[(buffer >>> (bits - 5)) & 0x1F]);
+                bits -= 5;
+            }
+        }
+        if (bits > 0) {
+            out.append(ALPHABET[(buffer << (5 - bits)) & 0x1F]);
+        }
+        return out.toString();
+    }
+
+    /**
+     * @return the decoded bytes, or {@code null} if the text is not valid base32
+     */
+    static byte[] decode(CharSequence text) {
+        byte[] out = new byte[text.length() * 5 / 8];
+        int buffer = 0;
+        int bits = 0;
+        int index = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int value = c < 128 ? LOOKUP[c] : -1;
+            if (value < 0) {
+                return null;
+            }
+            buffer = (buffer << 5) | value;
+            bits += 5;
+            if (bits >= 8) {
+                out[index++] = (byte) (buffer >>> (bits - 8));
+                bits -= 8;
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.backend.security.qr;
+
+import java.time.Instant;
+
+/**
+ * Verified contents of a signed QR payload. {@code tripId} and {@code seatNumber} are
+ * {@code null} for student badges.
+ */
+public record QrClaims(Type type, Long studentId, Long tripId, Integer seatNumber, Instant expiresAt, int keyId) {
+
+    public enum Type {
+        STUDENT_BADGE(1),
+        TRIP_SEAT(2);
+
+        private final int code;
+
+        Type(int code) {
+            this.code = code;
+        }
+
+        public int code() {
+            return code;
+        }
+
+        static Type fromCode(int code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.backend.security.qr;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Signing keys for QR payloads. New codes are signed with {@code activeKeyId}; any key
+ * still listed in {@code keys} is accepted when verifying, so a key can be rotated out
+ * once the codes it signed have expired.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "nimbus.qr")
+public class QrSigningProperties {
+
+    /** Key id (0-255) to hex-encoded secret. */
+    private Map<Integer, String> keys = new HashMap<>();
+
+    private int activeKeyId;
+
+    private int badgeValidityDays = 365;
+
+    private int seatValidityHours = 24;
+}
@@ -0,0 +1,235 @@
+package com.example.backend.security.qr;
+
+import com.example.backend.exception.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Issues and verifies self-authenticating QR payloads, so a scan can be trusted without
+ * a database lookup.
+ *
+ * <p>Payloads are {@code "NB:"} followed by base32 of:</p>
+ * <pre>
+ * version(1) | keyId(1) | type(1) | studentId(varint) | tripId(varint) | seat(varint)
+ *            | expiresAt(4, epoch seconds) | mac(8, truncated HMAC-SHA256 of all prior bytes)
+ * </pre>
+ * <p>A student badge comes to roughly 40 characters, which fits a version 2 QR symbol
+ * in alphanumeric mode.</p>
+ */
+@Component
+public class SignedQrCodec {
+
+    public static final String PREFIX = "NB:";
+
+    private static final int VERSION = 1;
+    private static final int MAC_LENGTH = 8;
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Map<Integer, SecretKeySpec> keys = new TreeMap<>();
+    private final int activeKeyId;
+    private final Duration badgeValidity;
+    private final Duration seatValidity;
+    private final Clock clock;
+
+    @Autowired
+    public SignedQrCodec(QrSigningProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    SignedQrCodec(QrSigningProperties properties, Clock clock) {
+        properties.getKeys().forEach((keyId, secret) -> {
+            if (keyId < 0 || keyId > 255) {
+                throw new IllegalStateException("QR key id must be between 0 and 255: " + keyId);
+            }
+            byte[] bytes = HexFormat.of().parseHex(secret);
+            if (bytes.length < 16) {
+                throw new IllegalStateException("QR key " + keyId + " must be at least 128 bits");
+            }
+            keys.put(keyId, new SecretKeySpec(bytes, ALGORITHM));
+        });
+        if (!keys.containsKey(properties.getActiveKeyId())) {
+            throw new IllegalStateException("Active QR key " + properties.getActiveKeyId() + " is not configured");
+        }
+        this.activeKeyId = properties.getActiveKeyId();
+        this.badgeValidity = Duration.ofDays(properties.getBadgeValidityDays());
+        this.seatValidity = Duration.ofHours(properties.getSeatValidityHours());
+        this.clock = clock;
+    }
+
+    public String signBadge(long studentId) {
+        return sign(QrClaims.Type.STUDENT_BADGE, studentId, 0, 0, clock.instant().plus(badgeValidity));
+    }
+
+    /**
+     * Signs a seat code valid until {@code validFrom} plus the configured seat validity.
+     */
+    public String signSeat(long tripId, long studentId, int seatNumber, Instant validFrom) {
+        return sign(QrClaims.Type.TRIP_SEAT, studentId, tripId, seatNumber, validFrom.plus(seatValidity));
+    }
+
+    public boolean isSigned(String payload) {
+        return payload != null && payload.startsWith(PREFIX);
+    }
+
+    /**
+     * Checks format, signature and expiry.
+     *
+     * @throws ValidationException if the payload is malformed, forged, signed with an
+     *                             unknown key or expired
+     */
+    public QrClaims verify(String payload) {
+        if (!isSigned(payload)) {
+            throw invalid("Unrecognised QR code format");
+        }
+        byte[] data = Base32.decode(payload.subSequence(PREFIX.length(), payload.length()));
+        if (data == null || data.length < 3 + 3 + 4 + MAC_LENGTH) {
+            throw invalid("Malformed QR code");
+        }
+        if ((data[0] & 0xFF) != VERSION) {
+            throw invalid("Unsupported QR code version");
+        }
+        int keyId = data[1] & 0xFF;
+        SecretKeySpec key = keys.get(keyId);
+        if (key == null) {
+            throw invalid("QR code was signed with an unknown key");
+        }
+        int bodyLength = data.length - MAC_LENGTH;
+        byte[] expected = mac(key, data, bodyLength);
+        byte[] actual = new byte[MAC_LENGTH];
+        System.arraycopy(data, bodyLength, actual, 0, MAC_LENGTH);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw invalid("QR code signature is invalid");
+        }
+
+        Reader reader = new Reader(data, 2, bodyLength);
+        QrClaims.Type type = QrClaims.Type.fromCode(reader.readByte());
+        long studentId = reader.readVarint();
+        long tripId = reader.readVarint();
+        long seat = reader.readVarint();
+        long expiresAt = reader.readUnsignedInt();
+        if (type == null || !reader.atEnd()) {
+            throw invalid("Malformed QR code");
+        }
+        Instant expiry = Instant.ofEpochSecond(expiresAt);
+        if (!clock.instant().isBefore(expiry)) {
+            throw invalid("QR code has expired");
+        }
+        return new QrClaims(type, studentId,
+                type == QrClaims.Type.TRIP_SEAT ? tripId : null,
+                type == QrClaims.Type.TRIP_SEAT ? (int) seat : null,
+                expiry, keyId);
+    }
+
+    /**
+     * Like {@link #verify(String)} but returns empty instead of throwing.
+     */
+    public Optional<QrClaims> tryVerify(String payload) {
+        try {
+            return Optional.of(verify(payload));
+        } catch (ValidationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String sign(QrClaims.Type type, long studentId, long tripId, long seat, Instant expiresAt) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32);
+        out.write(VERSION);
+        out.write(activeKeyId);
+        out.write(type.code());
+        writeVarint(out, studentId);
+        writeVarint(out, tripId);
+        writeVarint(out, seat);
+        long seconds = expiresAt.getEpochSecond();
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            out.write((int) (seconds >>> shift) & 0xFF);
+        }
+        byte[] body = out.toByteArray();
+        out.writeBytes(mac(keys.get(activeKeyId), body, body.length));
+        return PREFIX + Base32.encode(out.toByteArray());
+    }
+
+    private byte[] mac(SecretKeySpec key, byte[] data, int length) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(data, 0, length);
+            byte[] full = mac.doFinal();
+            byte[] truncated = new byte[MAC_LENGTH];
+            System.arraycopy(full, 0, truncated, 0, MAC_LENGTH);
+            return truncated;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("QR payload ids must not be negative");
+        }
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static ValidationException invalid(String reason) {
+        return new ValidationException("qrCode", reason);
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private final int end;
+        private int position;
+
+        Reader(byte[] data, int position, int end) {
+            this.data = data;
+            this.position = position;
+            this.end = end;
+        }
+
+        int readByte() {
+            if (position >= end) {
+                throw invalid("Malformed QR code");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw invalid("Malformed QR code");
+        }
+
+        long readUnsignedInt() {
+            long value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+
+        boolean atEnd() {
+            return position == end;
+        }
+    }
+}
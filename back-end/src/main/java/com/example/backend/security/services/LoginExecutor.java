@@ -0,0 +1,73 @@
+package com.example.backend.security.services;
+
+import com.example.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing work (logins and credential checks) on its own small pool, so a
+ * burst of logins is bounded to a few cores and never occupies the request threads
+ * other endpoints need. Once the queue is full, further work is refused straight away
+ * with a 429 instead of waiting.
+ */
+@Slf4j
+@Component
+public class LoginExecutor {
+
+    private final ThreadPoolExecutor workers;
+    private final Counter rejected;
+
+    public LoginExecutor(@Value("${nimbus.auth.loginThreads:0}") int threads,
+                         @Value("${nimbus.auth.loginQueueCapacity:200}") int queueCapacity,
+                         MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "login-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder("nimbus.auth.login.rejected")
+                .description("Logins refused because the login queue was full")
+                .register(meterRegistry);
+        Gauge.builder("nimbus.auth.login.queued", workers, executor -> executor.getQueue().size())
+                .description("Logins waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("nimbus.auth.login.active", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Logins currently hashing")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Queues the work, or throws {@link TooManyRequestsException} without waiting when
+     * the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, workers);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Login queue is full, rejecting request");
+            throw new TooManyRequestsException("Too many login attempts in progress, please retry shortly", e);
+        }
+    }
+}
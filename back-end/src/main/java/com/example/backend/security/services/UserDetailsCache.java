@@ -0,0 +1,164 @@
+package com.example.backend.security.services;
+
+import com.example.backend.entities.user.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size and time bounded cache of loaded principals, keyed by normalized username, for
+ * tokens that cannot be turned into a principal from their claims alone. Entries are
+ * dropped as soon as the user service reports a change to the user.
+ *
+ * <p>Principals are stored without their password hash and every lookup hands out its
+ * own copy, so a caller cannot change what other requests see. Entries are also
+ * indexed by user id, which lets an invalidation drop the entry stored under a
+ * username the user no longer has.</p>
+ */
+@Component
+public class UserDetailsCache {
+
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+    private final Map<Long, String> keysByUserId = new HashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    /** Bumped on every invalidation so a load that raced with one is not cached. */
+    private long generation;
+
+    public UserDetailsCache(@Value("${nimbus.app.userDetailsCacheSize:10000}") int maxSize,
+                            @Value("${nimbus.app.userDetailsCacheTtlMs:60000}") long ttlMs,
+                            MeterRegistry meterRegistry) {
+        this.ttlNanos = ttlMs * 1_000_000;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                keysByUserId.remove(eldest.getValue().details().getId(), eldest.getKey());
+                return true;
+            }
+        };
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.invalidations = Counter.builder("nimbus.security.userdetails.cache.invalidations")
+                .description("User details cache entries dropped because the user changed")
+                .register(meterRegistry);
+        Gauge.builder("nimbus.security.userdetails.cache.size", this, UserDetailsCache::size)
+                .description("User details currently cached")
+                .register(meterRegistry);
+    }
+
+    public static String normalize(String username) {
+        return User.normalizeIdentifier(username);
+    }
+
+    public Optional<UserDetailsImpl> get(String username) {
+        String key = normalize(username);
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt() <= ttlNanos) {
+                hits.increment();
+                return Optional.of(entry.details().withoutCredentials());
+            }
+            if (entry != null) {
+                remove(key);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Current invalidation generation, to be read before loading a user and handed back
+     * to {@link #put}.
+     */
+    public long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Caches a freshly loaded principal unless an invalidation happened since
+     * {@code loadedGeneration} was read.
+     */
+    public void put(String username, UserDetailsImpl details, long loadedGeneration) {
+        synchronized (entries) {
+            if (loadedGeneration == generation) {
+                String key = normalize(username);
+                entries.put(key, new Entry(details.withoutCredentials(), System.nanoTime()));
+                String previousKey = keysByUserId.put(details.getId(), key);
+                if (previousKey != null && !previousKey.equals(key)) {
+                    entries.remove(previousKey);
+                }
+            }
+        }
+    }
+
+    public void invalidate(String username) {
+        invalidate(null, username);
+    }
+
+    /**
+     * Drops the entry cached under {@code username} and, when {@code userId} is given,
+     * whichever entry is cached for that user, so a rename also evicts the old name.
+     */
+    public void invalidate(Long userId, String username) {
+        synchronized (entries) {
+            generation++;
+            boolean removed = remove(normalize(username));
+            String previousKey = userId != null ? keysByUserId.get(userId) : null;
+            if (previousKey != null && remove(previousKey)) {
+                removed = true;
+            }
+            if (removed) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+            keysByUserId.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private boolean remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        keysByUserId.remove(entry.details().getId(), key);
+        return true;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("nimbus.security.userdetails.cache")
+                .description("User details cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(UserDetailsImpl details, long loadedAt) {
+    }
+}
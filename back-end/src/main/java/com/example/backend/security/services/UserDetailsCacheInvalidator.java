@@ -0,0 +1,36 @@
+package com.example.backend.security.services;
+
+import com.example.backend.events.UserAccountChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops a user's cached details once a change to them commits, and forwards the
+ * invalidation to the other nodes when the Redis relay is enabled. Invalidations carry
+ * the user id so the entry cached under a previous username goes as well.
+ */
+@Slf4j
+@Component
+public class UserDetailsCacheInvalidator {
+
+    private final UserDetailsCache cache;
+    private final ObjectProvider<UserDetailsInvalidationRelay> relay;
+
+    public UserDetailsCacheInvalidator(UserDetailsCache cache, ObjectProvider<UserDetailsInvalidationRelay> relay) {
+        this.cache = cache;
+        this.relay = relay;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        log.debug("Invalidating cached details of user {} after {}", event.userId(), event.change());
+        invalidate(event.userId(), event.username());
+    }
+
+    public void invalidate(Long userId, String username) {
+        cache.invalidate(userId, username);
+        relay.ifAvailable(r -> r.publish(userId, username));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.backend.security.services;
+
+import com.example.backend.entities.user.User;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops a user's cached details once any update to them commits, including updates
+ * that do not go through the user service, such as a rename saved by an admin screen.
+ */
+public class UserDetailsCacheListener {
+
+    private final ObjectProvider<UserDetailsCacheInvalidator> invalidator;
+
+    public UserDetailsCacheListener(ObjectProvider<UserDetailsCacheInvalidator> invalidator) {
+        this.invalidator = invalidator;
+    }
+
+    @PostUpdate
+    public void onUserUpdated(User user) {
+        Long userId = user.getId();
+        String username = user.getUsername();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidator.ifAvailable(i -> i.invalidate(userId, username));
+                }
+            });
+        } else {
+            invalidator.ifAvailable(i -> i.invalidate(userId, username));
+        }
+    }
+}
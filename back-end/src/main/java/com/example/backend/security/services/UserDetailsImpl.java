@@ -1,8 +1,12 @@
 package com.example.backend.security.services;
 
 import com.example.backend.entities.user.User;
+import com.example.backend.security.AuthorizationScope;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,6 +15,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 @Data
 public class UserDetailsImpl implements UserDetails {
@@ -28,6 +33,17 @@ public class UserDetailsImpl implements UserDetails {
     
     private boolean active;
 
+    private long securityVersion;
+
+    private Set<Long> schoolIds = Set.of();
+
+    private Set<Long> studentIds = Set.of();
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile AuthorizationScope authorizationScope;
+
     private Collection<? extends GrantedAuthority> authorities;
 
     public UserDetailsImpl(Long id, String username, String email, String password, String firstName, String lastName, String phoneNumber,
@@ -48,7 +64,7 @@ public class UserDetailsImpl implements UserDetails {
                 new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
         );
 
-        return new UserDetailsImpl(
+        UserDetailsImpl details = new UserDetailsImpl(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
@@ -58,6 +74,54 @@ public class UserDetailsImpl implements UserDetails {
                 user.getPhoneNumber(),
                 user.isActive(),
                 authorities);
+        details.setSecurityVersion(user.getSecurityVersion());
+        return details;
+    }
+
+    /**
+     * A separate copy of this principal without the password hash, safe to share
+     * between requests.
+     */
+    public UserDetailsImpl withoutCredentials() {
+        UserDetailsImpl copy = new UserDetailsImpl(id, username, email, null, firstName, lastName, phoneNumber,
+                active, authorities);
+        copy.setSecurityVersion(securityVersion);
+        copy.setSchoolIds(schoolIds);
+        copy.setStudentIds(studentIds);
+        return copy;
+    }
+
+    public void setSchoolIds(Set<Long> schoolIds) {
+        this.schoolIds = schoolIds;
+        this.authorizationScope = null;
+    }
+
+    public void setStudentIds(Set<Long> studentIds) {
+        this.studentIds = studentIds;
+        this.authorizationScope = null;
+    }
+
+    /**
+     * The principal's access scope, built on first use from its role, schools and
+     * children.
+     */
+    @JsonIgnore
+    public AuthorizationScope getAuthorizationScope() {
+        AuthorizationScope scope = authorizationScope;
+        if (scope == null) {
+            scope = AuthorizationScope.of(id, role(), schoolIds, studentIds);
+            authorizationScope = scope;
+        }
+        return scope;
+    }
+
+    private User.Role role() {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .map(authority -> User.Role.valueOf(authority.substring("ROLE_".length())))
+                .findFirst()
+                .orElse(null);
     }
 
     @Override
@@ -0,0 +1,60 @@
+package com.example.backend.security.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Carries user details cache invalidations to the other nodes over Redis pub/sub.
+ * Messages are {@code <node id>|<user id>|<username>}; a node ignores its own messages
+ * since it already invalidated locally.
+ */
+@Slf4j
+public class UserDetailsInvalidationRelay implements MessageListener {
+
+    private static final char SEPARATOR = '|';
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserDetailsCache cache;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public UserDetailsInvalidationRelay(StringRedisTemplate redisTemplate, UserDetailsCache cache, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.cache = cache;
+        this.channel = channel;
+    }
+
+    public void publish(Long userId, String username) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + userId + SEPARATOR + username);
+        } catch (RuntimeException e) {
+            // Other nodes still drop the entry when it expires.
+            log.warn("Could not publish user details invalidation for {}: {}", username, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        int userSeparator = separator < 0 ? -1 : body.indexOf(SEPARATOR, separator + 1);
+        if (userSeparator < 0) {
+            log.warn("Ignoring malformed user details invalidation: {}", body);
+            return;
+        }
+        if (body.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        try {
+            Long userId = Long.valueOf(body.substring(separator + 1, userSeparator));
+            cache.invalidate(userId, body.substring(userSeparator + 1));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed user details invalidation: {}", body);
+        }
+    }
+}
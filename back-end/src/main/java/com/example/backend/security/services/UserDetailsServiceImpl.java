@@ -5,57 +5,83 @@ import com.example.backend.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.Set;
 
 @Slf4j
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    UserDetailsCache userDetailsCache;
+
+    /**
+     * Loads the principal for an already authenticated token and caches a copy without
+     * credentials. Callers look in {@link UserDetailsCache} first and call this on the
+     * bean, not from within this class, so the load runs in its transaction. Logins use
+     * {@link #loadUserByUsername}, which always reads the current password and never
+     * touches the cache.
+     */
+    @Transactional(readOnly = true)
+    public UserDetailsImpl loadTokenPrincipal(String username) throws UsernameNotFoundException {
+        long cacheGeneration = userDetailsCache.generation();
+        UserDetailsImpl userDetails = loadUser(username);
+        userDetailsCache.put(userDetails.getUsername(), userDetails, cacheGeneration);
+        return userDetails.withoutCredentials();
+    }
+
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return loadUser(username);
+    }
+
+    private UserDetailsImpl loadUser(String username) {
         log.debug("Loading user by username: {}", username);
         
-        // Ensure username is trimmed to remove whitespace issues
         final String trimmedUsername = username.trim();
-        log.debug("Trimmed username for lookup: '{}' (length: {})", trimmedUsername, trimmedUsername.length());
-        
-        // First try exact match
-        Optional<User> userOpt = userRepository.findByUsernameForAuthentication(trimmedUsername);
-        
-        if (userOpt.isEmpty()) {
-            log.info("User not found with exact username match, trying case-insensitive search: {}", trimmedUsername);
-            
-            // Try a case-insensitive search
-            userOpt = userRepository.findByUsernameIgnoreCaseForAuthentication(trimmedUsername);
-            
-            if (userOpt.isEmpty()) {
-                log.error("User still not found after case-insensitive search");
-                throw new UsernameNotFoundException("User Not Found with username: " + trimmedUsername);
-            } else {
-                log.info("User found with case-insensitive search: {} (original input: {})", 
-                         userOpt.get().getUsername(), trimmedUsername);
-            }
-        }
-        
-        User user = userOpt.get();
+        User user = userRepository.findByUsernameForAuthentication(trimmedUsername)
+                .orElseThrow(() -> {
+                    log.error("User not found with username: {}", trimmedUsername);
+                    return new UsernameNotFoundException("User Not Found with username: " + trimmedUsername);
+                });
         
         if (!user.isActive()) {
             log.error("User account is not active: {}", trimmedUsername);
             throw new UsernameNotFoundException("User account is not active: " + trimmedUsername);
         }
         
-        UserDetails userDetails = UserDetailsImpl.build(user);
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+        userDetails.setSchoolIds(Set.copyOf(userRepository.findSchoolScope(user.getId())));
+        if (user.getRole() == User.Role.PARENT) {
+            userDetails.setStudentIds(Set.copyOf(userRepository.findChildStudentIds(user.getId())));
+        }
         log.debug("Built UserDetailsImpl for user: {}", user.getUsername());
         
         return userDetails;
     }
-}
 
+    /**
+     * Stores the re-hashed password and returns a new principal carrying it; the one
+     * passed in may be shared and is left untouched.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserDetailsImpl details = (UserDetailsImpl) user;
+        if (userRepository.upgradePasswordHash(details.getId(), details.getPassword(), newPassword, LocalDateTime.now()) == 0) {
+            return details;
+        }
+        log.debug("Upgraded password hash for user: {}", details.getUsername());
+        UserDetailsImpl upgraded = details.withoutCredentials();
+        upgraded.setPassword(newPassword);
+        return upgraded;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.backend.service;
+
+import com.example.backend.export.AttendanceExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface AttendanceExportService {
+    /**
+     * Rejects an export request up front, before any bytes are streamed. A null
+     * {@code schoolId} exports all schools.
+     */
+    void validateExport(Long schoolId, LocalDateTime start, LocalDateTime end);
+    /**
+     * Streams attendance scanned in {@code [start, end)} to {@code out} in constant memory.
+     */
+    long writeExport(Long schoolId, LocalDateTime start, LocalDateTime end,
+                     AttendanceExportFormat format, OutputStream out) throws IOException;
+}
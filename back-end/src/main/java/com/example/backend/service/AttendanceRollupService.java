@@ -0,0 +1,42 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.student.AttendanceTotals;
+import com.example.backend.dto.trip.TripRollupKey;
+import com.example.backend.entities.Attendance;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface AttendanceRollupService {
+    /**
+     * Looks up the key a trip's counts are kept under. Callers that already hold the trip
+     * or its manifest should build the key from those instead.
+     */
+    TripRollupKey rollupKey(Long tripId);
+    void recordInserted(TripRollupKey key, Attendance.AttendanceStatus status, int count);
+    void recordStatusChange(TripRollupKey key, Attendance.AttendanceStatus from, Attendance.AttendanceStatus to);
+    /**
+     * Applies several status changes for one trip at once, e.g. a bulk scan upload.
+     */
+    void recordStatusChanges(TripRollupKey key, Map<Attendance.AttendanceStatus, Integer> deltas);
+    LocalDate serviceDate(Long tripId);
+    /**
+     * Moves a trip's counts to its new service day after its schedule changed.
+     */
+    void recordTripRescheduled(Long tripId, LocalDate previousServiceDate);
+    long countForDay(Long schoolId, LocalDate serviceDate, Attendance.AttendanceStatus status);
+    Map<Attendance.AttendanceStatus, Long> countsForDay(Long schoolId, LocalDate serviceDate);
+    int reconcile(LocalDate fromDate, LocalDate toDate);
+    /**
+     * Adjusts a student's running totals for scanned records on {@code scanDate}.
+     */
+    void recordStudentAttendance(Long studentId, LocalDate scanDate, int totalDelta, int absentDelta);
+    /**
+     * Scanned records and absences for scan days in {@code [fromDate, toDate]}.
+     */
+    AttendanceTotals studentTotals(Long studentId, LocalDate fromDate, LocalDate toDate);
+    /**
+     * Rebuilds every student's days from {@code fromDate} on from the attendance table.
+     */
+    int rebuildStudentTotals(LocalDate fromDate);
+}
@@ -1,10 +1,17 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.attendance.BulkScanRequest;
+import com.example.backend.dto.attendance.BulkScanResult;
+import com.example.backend.dto.attendance.QrScanRequest;
+import com.example.backend.dto.attendance.RecordedAttendance;
+import com.example.backend.dto.trip.TripManifestEntry;
 import com.example.backend.entities.Attendance;
 import com.example.backend.service.base.BaseService;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface AttendanceService extends BaseService<Attendance> {
@@ -15,9 +22,19 @@ public interface AttendanceService extends BaseService<Attendance> {
     List<Attendance> findByTripAndStatus(Long tripId, String status);
     List<Attendance> findUnnotifiedAttendance(LocalDateTime cutoffTime);
     long countTodaysPresentAttendance(Long schoolId);
+    /**
+     * Attendance counts per status for trips scheduled on {@code date} (today if null).
+     */
+    Map<Attendance.AttendanceStatus, Long> getDailyCounts(Long schoolId, LocalDate date);
     List<Attendance> findSchoolAttendanceInPeriod(Long schoolId, LocalDateTime start, LocalDateTime end);
     List<Attendance> findByParentId(Long parentId);
-    void recordAttendance(Long studentId, Long tripId, String status, String notes);
+    /**
+     * Records attendance atomically; concurrent or repeated calls for the same student and
+     * trip record it once.
+     */
+    RecordedAttendance recordAttendance(Long studentId, Long tripId, String status, String notes);
+    BulkScanResult recordOfflineScans(BulkScanRequest request);
+    TripManifestEntry recordQrScan(QrScanRequest request);
     void updateAttendanceStatus(Long attendanceId, String status, String notes);
     void markAsNotified(Long attendanceId);
     List<Attendance> findAttendanceWithStats(Long schoolId, LocalDateTime start, LocalDateTime end);
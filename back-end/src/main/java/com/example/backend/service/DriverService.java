@@ -3,6 +3,7 @@ package com.example.backend.service;
 import com.example.backend.entities.user.Driver;
 import com.example.backend.entities.Vehicle;
 import com.example.backend.service.base.BaseService;
+import com.fasterxml.jackson.databind.util.RawValue;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -11,6 +12,8 @@ import java.util.List;
 import java.util.Optional;
 
 public interface DriverService extends BaseService<Driver> {
+    /** Same listing as {@link #findAll()}, already serialized and served from the reference data cache. */
+    RawValue findAllAsJson();
     List<Driver> findByAvailable(boolean available);
     Optional<Driver> findByLicenseNumber(String licenseNumber);
     Optional<Driver> findByIdWithCurrentTrips(Long driverId);
@@ -0,0 +1,20 @@
+package com.example.backend.service;
+
+import com.example.backend.notification.ParentNotification;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ParentNotificationService {
+    /**
+     * Queues parent notifications for the given attendances in the caller's transaction.
+     */
+    void enqueue(Collection<Long> attendanceIds);
+    /**
+     * Leases the due outbox rows of up to {@code limit} parents and returns one digest
+     * per parent.
+     */
+    List<ParentNotification> claimBatch(int limit);
+    void markDelivered(Collection<Long> outboxIds);
+    void markFailed(ParentNotification notification, String error);
+}
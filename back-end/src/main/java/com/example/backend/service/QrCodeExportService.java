@@ -0,0 +1,18 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.student.QrBadge;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public interface QrCodeExportService {
+    List<QrBadge> findSchoolBadges(Long schoolId);
+    /**
+     * Badges for every student who can ride the route, i.e. the students of its school.
+     */
+    List<QrBadge> findRouteBadges(Long routeId);
+    List<QrBadge> findTripSeatBadges(Long tripId);
+    void writeZip(List<QrBadge> badges, OutputStream out) throws IOException;
+    void writePdf(List<QrBadge> badges, OutputStream out) throws IOException;
+}
@@ -2,11 +2,14 @@ package com.example.backend.service;
 
 import com.example.backend.entities.Route;
 import com.example.backend.service.base.BaseService;
+import com.fasterxml.jackson.databind.util.RawValue;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface RouteService extends BaseService<Route> {
+    /** Same listing as {@link #findAll()}, already serialized and served from the reference data cache. */
+    RawValue findAllAsJson();
     List<Route> findBySchoolId(Long schoolId);
     List<Route> findByType(Route.RouteType type);
     Optional<Route> findByIdWithStops(Long id);
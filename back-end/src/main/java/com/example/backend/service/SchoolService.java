@@ -3,11 +3,14 @@ package com.example.backend.service;
 import com.example.backend.dto.school.SchoolRequest;
 import com.example.backend.entities.School;
 import com.example.backend.service.base.BaseService;
+import com.fasterxml.jackson.databind.util.RawValue;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface SchoolService extends BaseService<School> {
+    /** Same listing as {@link #findAll()}, already serialized and served from the reference data cache. */
+    RawValue findAllAsJson();
     School createSchool(SchoolRequest school);
     School updateSchool(Long id, SchoolRequest school);
     List<School> findByNameContaining(String name);
@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.student.StudentAttendanceStatsView;
 import com.example.backend.entities.Student;
 import com.example.backend.service.base.BaseService;
 
@@ -19,7 +20,7 @@ public interface StudentService extends BaseService<Student> {
     void removeFromParent(Long studentId);
     void generateQrCode(Long studentId);
     void updateStudentDetails(Long studentId, String firstName, String lastName, String grade);
-    List<Student> findStudentsWithAttendanceStats(Long schoolId, LocalDateTime start, LocalDateTime end);
+    List<StudentAttendanceStatsView> findStudentsWithAttendanceStats(Long schoolId, LocalDateTime start, LocalDateTime end);
     long countAbsences(Long studentId, LocalDateTime start, LocalDateTime end);
     double calculateAttendancePercentage(Long studentId, LocalDateTime start, LocalDateTime end);
     List<Student> findStudentsByRoute(Long routeId);
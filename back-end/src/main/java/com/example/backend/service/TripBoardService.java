@@ -0,0 +1,8 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.trip.TripBoard;
+
+public interface TripBoardService {
+    TripBoard getBoard(Long schoolId);
+    void rebuildBoards();
+}
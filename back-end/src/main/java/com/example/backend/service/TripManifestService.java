@@ -0,0 +1,20 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.trip.TripManifest;
+import com.example.backend.dto.trip.TripManifestEntry;
+import com.example.backend.dto.trip.TripRollupKey;
+
+import java.util.Optional;
+
+public interface TripManifestService {
+    TripManifest getManifest(Long tripId);
+    /**
+     * Resolves a scanned QR payload against the manifest of an in-progress trip.
+     */
+    Optional<TripManifestEntry> resolveScan(Long tripId, String qrPayload);
+    /**
+     * Rollup key of the trip, from the cached manifest while the trip is in progress.
+     */
+    TripRollupKey rollupKey(Long tripId);
+    void evict(Long tripId);
+}
@@ -0,0 +1,20 @@
+package com.example.backend.service;
+
+/**
+ * Timing rules of a trip's lifecycle, shared by the services that enforce them and the
+ * scheduler that raises their deadlines.
+ */
+public final class TripRules {
+
+    /** A trip can be started this many minutes either side of its scheduled departure. */
+    public static final int START_WINDOW_MINUTES = 30;
+
+    /** A trip still running this long after departure has exceeded its maximum duration. */
+    public static final int MAX_TRIP_DURATION_HOURS = 4;
+
+    /** Attendance older than this is due for parent notification. */
+    public static final long NOTIFICATION_THRESHOLD_MINUTES = 15;
+
+    private TripRules() {
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.response.CursorPage;
+import com.example.backend.dto.trip.RouteTripStatsView;
 import com.example.backend.dto.trip.TripRequest;
 import com.example.backend.entities.Trip;
 import com.example.backend.service.base.BaseService;
@@ -24,6 +26,7 @@ public interface TripService extends BaseService<Trip> {
     void updateTripStatus(Long tripId, String status);
     void updateTripSchedule(Long tripId, LocalDateTime departureTime, LocalDateTime estimatedArrivalTime);
     List<Trip> findTripsWithStats(Long schoolId, LocalDateTime start, LocalDateTime end);
+    List<RouteTripStatsView> getRouteTripStats(Long schoolId, LocalDateTime start, LocalDateTime end);
     void startTrip(Long tripId);
     void completeTrip(Long tripId);
     void cancelTrip(Long tripId, String reason);
@@ -38,9 +41,9 @@ public interface TripService extends BaseService<Trip> {
     Trip createAndStartTrip(Long routeId);
     Trip endCurrentTrip();
     Trip getCurrentTrip();
-    List<Trip> getTripHistory(int page, int size);
+    CursorPage<Trip> getTripHistory(String cursor, int size);
     Trip findCurrentTripByStudentId(Long studentId);
-    List<Trip> findTripsByStudentId(Long studentId, int page, int size);
+    CursorPage<Trip> findTripsByStudentId(Long studentId, String cursor, int size);
     Trip create(@Valid TripRequest tripRequest);
     Trip assignStudents(Long tripId, List<Long> studentIds);
 } 
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.trip.TripSummaryStatsView;
+import com.example.backend.entities.Trip;
+import com.example.backend.entities.TripSummary;
+
+import java.time.LocalDateTime;
+
+public interface TripSummaryService {
+    TripSummary recordSummary(Trip trip);
+    TripSummaryStatsView getSchoolStats(Long schoolId, LocalDateTime start, LocalDateTime end);
+    int backfillMissingSummaries();
+}
@@ -2,11 +2,14 @@ package com.example.backend.service;
 
 import com.example.backend.entities.Vehicle;
 import com.example.backend.service.base.BaseService;
+import com.fasterxml.jackson.databind.util.RawValue;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface VehicleService extends BaseService<Vehicle> {
+    /** Same listing as {@link #findAll()}, already serialized and served from the reference data cache. */
+    RawValue findAllAsJson();
     Optional<Vehicle> findByLicensePlate(String licensePlate);
     List<Vehicle> findByAvailable(boolean available);
     Optional<Vehicle> findByIdWithDriver(Long vehicleId);
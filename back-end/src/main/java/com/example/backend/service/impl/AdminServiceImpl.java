@@ -143,6 +143,7 @@ public class AdminServiceImpl implements AdminService {
         }
 
         admin.getManagedSchools().add(school);
+        admin.revokeIssuedTokens();
         repository.save(admin);
         log.info("Successfully assigned school {} to admin {}", schoolId, adminId);
     }
@@ -159,6 +160,7 @@ public class AdminServiceImpl implements AdminService {
         }
 
         admin.getManagedSchools().remove(school);
+        admin.revokeIssuedTokens();
         repository.save(admin);
         log.info("Successfully removed school {} from admin {}", schoolId, adminId);
     }
@@ -0,0 +1,69 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.dto.attendance.AttendanceExportRow;
+import com.example.backend.exception.EntityNotFoundException;
+import com.example.backend.exception.ValidationException;
+import com.example.backend.export.AttendanceExportFormat;
+import com.example.backend.export.AttendanceExportWriter;
+import com.example.backend.repository.AttendanceRepository;
+import com.example.backend.repository.SchoolRepository;
+import com.example.backend.service.AttendanceExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams attendance exports straight from a database cursor to the response. Rows are
+ * flat scalar projections, so nothing accumulates in the persistence context and
+ * memory stays flat however long the period is.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AttendanceExportServiceImpl implements AttendanceExportService {
+
+    private static final Duration MAX_EXPORT_PERIOD = Duration.ofDays(366);
+
+    private final AttendanceRepository attendanceRepository;
+    private final SchoolRepository schoolRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void validateExport(Long schoolId, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new ValidationException("period", "Start must be before end");
+        }
+        if (Duration.between(start, end).compareTo(MAX_EXPORT_PERIOD) > 0) {
+            throw new ValidationException("period", "Exports cannot span more than " + MAX_EXPORT_PERIOD.toDays() + " days");
+        }
+        if (schoolId != null && !schoolRepository.existsById(schoolId)) {
+            throw new EntityNotFoundException("School", schoolId);
+        }
+    }
+
+    @Override
+    public long writeExport(Long schoolId, LocalDateTime start, LocalDateTime end,
+                            AttendanceExportFormat format, OutputStream out) throws IOException {
+        log.debug("Exporting attendance for school {} between {} and {} as {}", schoolId, start, end, format);
+        AttendanceExportWriter writer = new AttendanceExportWriter(format, out, objectMapper.getFactory());
+        try (Stream<AttendanceExportRow> rows = attendanceRepository.streamExportRows(schoolId, start, end)) {
+            Iterator<AttendanceExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        }
+        writer.finish();
+        log.info("Exported {} attendance rows for school {} between {} and {}", writer.rowCount(), schoolId, start, end);
+        return writer.rowCount();
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.dto.attendance.AttendanceStatusCountView;
+import com.example.backend.dto.student.AttendanceTotals;
+import com.example.backend.dto.trip.TripRollupKey;
+import com.example.backend.dto.trip.TripRollupKeyView;
+import com.example.backend.entities.Attendance;
+import com.example.backend.entities.AttendanceDailyCount;
+import com.example.backend.entities.StudentAttendanceDay;
+import com.example.backend.events.AttendanceCountsChangedEvent;
+import com.example.backend.exception.EntityNotFoundException;
+import com.example.backend.repository.AttendanceDailyCountRepository;
+import com.example.backend.repository.AttendanceRepository;
+import com.example.backend.repository.StudentAttendanceDayRepository;
+import com.example.backend.repository.TripRepository;
+import com.example.backend.service.AttendanceRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Maintains {@link AttendanceDailyCount} rows in the same transaction as the attendance
+ * change that moves them, so dashboard counters are a single-row read. Deltas are
+ * applied as upserts in status order to keep lock ordering consistent between
+ * concurrent writers. A nightly job rebuilds the days around today from the
+ * attendance table to correct any drift, e.g. from soft deletes or route changes.
+ *
+ * <p>Per-student running totals ({@link StudentAttendanceDay}) are maintained the same
+ * way, keyed by scan date, so a student's percentage for any range is two index
+ * lookups. Each change is a single upsert; the nightly job also rebuilds the recent
+ * days of these totals.</p>
+ *
+ * <p>Every per-trip change is also published as an {@link AttendanceCountsChangedEvent}
+ * so in-memory views of a trip's attendance can follow it.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AttendanceRollupServiceImpl implements AttendanceRollupService {
+
+    private static final int RECONCILE_DAYS_BACK = 7;
+    private static final int RECONCILE_DAYS_AHEAD = 7;
+
+    private final AttendanceDailyCountRepository dailyCountRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final TripRepository tripRepository;
+    private final StudentAttendanceDayRepository studentAttendanceDayRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public TripRollupKey rollupKey(Long tripId) {
+        TripRollupKeyView key = tripRepository.findRollupKey(tripId)
+                .orElseThrow(() -> new EntityNotFoundException("Trip", tripId));
+        return new TripRollupKey(tripId, key.getSchoolId(), key.getServiceTime().toLocalDate());
+    }
+
+    @Override
+    @Transactional
+    public void recordInserted(TripRollupKey key, Attendance.AttendanceStatus status, int count) {
+        if (count == 0) {
+            return;
+        }
+        Map<Attendance.AttendanceStatus, Long> deltas = new EnumMap<>(Attendance.AttendanceStatus.class);
+        deltas.put(status, (long) count);
+        applyForTrip(key, deltas);
+    }
+
+    @Override
+    @Transactional
+    public void recordStatusChange(TripRollupKey key, Attendance.AttendanceStatus from, Attendance.AttendanceStatus to) {
+        if (from == to) {
+            return;
+        }
+        Map<Attendance.AttendanceStatus, Long> deltas = new EnumMap<>(Attendance.AttendanceStatus.class);
+        deltas.put(from, -1L);
+        deltas.put(to, 1L);
+        applyForTrip(key, deltas);
+    }
+
+    @Override
+    @Transactional
+    public void recordStatusChanges(TripRollupKey key, Map<Attendance.AttendanceStatus, Integer> deltas) {
+        Map<Attendance.AttendanceStatus, Long> sorted = new EnumMap<>(Attendance.AttendanceStatus.class);
+        deltas.forEach((status, delta) -> sorted.put(status, (long) delta));
+        applyForTrip(key, sorted);
+    }
+
+    @Override
+    public LocalDate serviceDate(Long tripId) {
+        return rollupKey(tripId).serviceDate();
+    }
+
+    @Override
+    @Transactional
+    public void recordTripRescheduled(Long tripId, LocalDate previousServiceDate) {
+        TripRollupKey key = rollupKey(tripId);
+        LocalDate serviceDate = key.serviceDate();
+        if (serviceDate.equals(previousServiceDate)) {
+            return;
+        }
+        Map<Attendance.AttendanceStatus, Long> moved = new EnumMap<>(Attendance.AttendanceStatus.class);
+        for (AttendanceStatusCountView count : attendanceRepository.countByTripGroupedByStatus(tripId)) {
+            moved.put(count.getStatus(), count.getTotal());
+        }
+        Map<Attendance.AttendanceStatus, Long> removed = new EnumMap<>(Attendance.AttendanceStatus.class);
+        moved.forEach((status, total) -> removed.put(status, -total));
+        apply(key.schoolId(), previousServiceDate, removed);
+        apply(key.schoolId(), serviceDate, moved);
+        log.debug("Moved attendance counts for trip {} from {} to {}", tripId, previousServiceDate, serviceDate);
+    }
+
+    @Override
+    public long countForDay(Long schoolId, LocalDate serviceDate, Attendance.AttendanceStatus status) {
+        return dailyCountRepository.findTotal(schoolId, serviceDate, status).orElse(0L);
+    }
+
+    @Override
+    public Map<Attendance.AttendanceStatus, Long> countsForDay(Long schoolId, LocalDate serviceDate) {
+        Map<Attendance.AttendanceStatus, Long> counts = new EnumMap<>(Attendance.AttendanceStatus.class);
+        for (Attendance.AttendanceStatus status : Attendance.AttendanceStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (AttendanceDailyCount count : dailyCountRepository.findBySchoolIdAndServiceDate(schoolId, serviceDate)) {
+            counts.put(count.getStatus(), count.getTotal());
+        }
+        return counts;
+    }
+
+    /**
+     * Rebuilds the counters for service days in {@code [fromDate, toDate)} from the
+     * attendance table.
+     */
+    @Override
+    @Transactional
+    public int reconcile(LocalDate fromDate, LocalDate toDate) {
+        int cleared = dailyCountRepository.deleteRange(fromDate, toDate);
+        int rebuilt = dailyCountRepository.rebuildRange(fromDate.atStartOfDay(), toDate.atStartOfDay());
+        log.info("Reconciled attendance counts from {} to {}: {} rows replaced by {}", fromDate, toDate, cleared, rebuilt);
+        return rebuilt;
+    }
+
+    @Override
+    @Transactional
+    public void recordStudentAttendance(Long studentId, LocalDate scanDate, int totalDelta, int absentDelta) {
+        if (totalDelta == 0 && absentDelta == 0) {
+            return;
+        }
+        studentAttendanceDayRepository.recordDelta(studentId, scanDate, totalDelta, absentDelta);
+    }
+
+    @Override
+    public AttendanceTotals studentTotals(Long studentId, LocalDate fromDate, LocalDate toDate) {
+        if (toDate.isBefore(fromDate)) {
+            return AttendanceTotals.NONE;
+        }
+        StudentAttendanceDay upper = studentAttendanceDayRepository
+                .findFirstByStudentIdAndServiceDateLessThanEqualOrderByServiceDateDesc(studentId, toDate)
+                .orElse(null);
+        if (upper == null) {
+            return AttendanceTotals.NONE;
+        }
+        return studentAttendanceDayRepository
+                .findFirstByStudentIdAndServiceDateLessThanOrderByServiceDateDesc(studentId, fromDate)
+                .map(lower -> new AttendanceTotals(upper.getCumulativeTotal() - lower.getCumulativeTotal(),
+                        upper.getCumulativeAbsent() - lower.getCumulativeAbsent()))
+                .orElseGet(() -> new AttendanceTotals(upper.getCumulativeTotal(), upper.getCumulativeAbsent()));
+    }
+
+    @Override
+    @Transactional
+    public int rebuildStudentTotals(LocalDate fromDate) {
+        int cleared = studentAttendanceDayRepository.deleteDaysFrom(fromDate);
+        int rebuilt = studentAttendanceDayRepository.rebuildDaysFrom(fromDate.atStartOfDay());
+        log.info("Rebuilt student attendance totals from {}: {} rows replaced by {}", fromDate, cleared, rebuilt);
+        return rebuilt;
+    }
+
+    @Scheduled(cron = "${nimbus.attendance.rollupReconcileCron:0 30 3 * * *}")
+    @Transactional
+    public void reconcileRecentDays() {
+        LocalDate today = LocalDate.now();
+        reconcile(today.minusDays(RECONCILE_DAYS_BACK), today.plusDays(RECONCILE_DAYS_AHEAD + 1));
+        rebuildStudentTotals(today.minusDays(RECONCILE_DAYS_BACK));
+    }
+
+    /**
+     * Builds the full history the first time the application starts with empty tables.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void onApplicationReady() {
+        if (dailyCountRepository.count() == 0) {
+            int rebuilt = dailyCountRepository.rebuildRange(LocalDateTime.of(1970, 1, 1, 0, 0), LocalDateTime.of(9999, 1, 1, 0, 0));
+            log.info("Backfilled {} attendance daily count rows", rebuilt);
+        }
+        if (studentAttendanceDayRepository.count() == 0) {
+            int rebuilt = studentAttendanceDayRepository.rebuildAllDays();
+            log.info("Backfilled {} student attendance day rows", rebuilt);
+        }
+    }
+
+    private void applyForTrip(TripRollupKey key, Map<Attendance.AttendanceStatus, Long> deltas) {
+        apply(key.schoolId(), key.serviceDate(), deltas);
+        eventPublisher.publishEvent(new AttendanceCountsChangedEvent(key.tripId(), Map.copyOf(deltas)));
+    }
+
+    /** Trips on a route without a school have no counter rows to move. */
+    private void apply(Long schoolId, LocalDate serviceDate, Map<Attendance.AttendanceStatus, Long> deltas) {
+        if (schoolId == null) {
+            return;
+        }
+        deltas.forEach((status, delta) -> {
+            if (delta != 0) {
+                dailyCountRepository.increment(schoolId, serviceDate, status.name(), delta);
+            }
+        });
+    }
+}
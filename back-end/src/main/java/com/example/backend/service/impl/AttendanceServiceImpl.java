@@ -1,12 +1,28 @@
 package com.example.backend.service.impl;
 
+import com.example.backend.dto.attendance.BulkScanRequest;
+import com.example.backend.dto.attendance.AttendanceUpsertView;
+import com.example.backend.dto.attendance.BulkScanResult;
+import com.example.backend.dto.attendance.OfflineScanRequest;
+import com.example.backend.dto.attendance.QrScanRequest;
+import com.example.backend.dto.attendance.RecordedAttendance;
+import com.example.backend.dto.attendance.ScanOutcome;
+import com.example.backend.dto.trip.TripManifest;
+import com.example.backend.dto.trip.TripManifestEntry;
+import com.example.backend.dto.trip.TripRollupKey;
 import com.example.backend.entities.Attendance;
 import com.example.backend.entities.Student;
 import com.example.backend.entities.Trip;
+import com.example.backend.exception.ConcurrentUpdateException;
 import com.example.backend.repository.AttendanceRepository;
 import com.example.backend.repository.StudentRepository;
 import com.example.backend.repository.TripRepository;
+import com.example.backend.security.qr.SignedQrCodec;
+import com.example.backend.service.AttendanceRollupService;
 import com.example.backend.service.AttendanceService;
+import com.example.backend.service.ParentNotificationService;
+import com.example.backend.service.TripManifestService;
+import com.example.backend.service.TripRules;
 import com.example.backend.service.base.BaseServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ValidationException;
@@ -14,10 +30,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -26,17 +54,30 @@ public class AttendanceServiceImpl extends BaseServiceImpl<Attendance, Attendanc
 
     private final StudentRepository studentRepository;
     private final TripRepository tripRepository;
+    private final TripManifestService tripManifestService;
+    private final SignedQrCodec signedQrCodec;
+    private final AttendanceRollupService attendanceRollupService;
+    private final ParentNotificationService parentNotificationService;
 
     private static final long MAX_SCAN_TIME_DIFFERENCE_MINUTES = 30;
-    private static final long NOTIFICATION_THRESHOLD_MINUTES = 15;
     private static final int MAX_NOTES_LENGTH = 500;
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+    private static final long MAX_DEVICE_CLOCK_SKEW_MINUTES = 5;
 
     public AttendanceServiceImpl(AttendanceRepository repository,
                                StudentRepository studentRepository,
-                               TripRepository tripRepository) {
+                               TripRepository tripRepository,
+                               TripManifestService tripManifestService,
+                               SignedQrCodec signedQrCodec,
+                               AttendanceRollupService attendanceRollupService,
+                               ParentNotificationService parentNotificationService) {
         super(repository);
         this.studentRepository = studentRepository;
         this.tripRepository = tripRepository;
+        this.tripManifestService = tripManifestService;
+        this.signedQrCodec = signedQrCodec;
+        this.attendanceRollupService = attendanceRollupService;
+        this.parentNotificationService = parentNotificationService;
     }
 
     @Override
@@ -73,7 +114,7 @@ public class AttendanceServiceImpl extends BaseServiceImpl<Attendance, Attendanc
     @Override
     public List<Attendance> findUnnotifiedAttendance(LocalDateTime cutoffTime) {
         if (cutoffTime == null) {
-            cutoffTime = LocalDateTime.now().minusMinutes(NOTIFICATION_THRESHOLD_MINUTES);
+            cutoffTime = LocalDateTime.now().minusMinutes(TripRules.NOTIFICATION_THRESHOLD_MINUTES);
         }
         return repository.findUnnotifiedAttendance(cutoffTime);
     }
@@ -81,9 +122,13 @@ public class AttendanceServiceImpl extends BaseServiceImpl<Attendance, Attendanc
     @Override
     public long countTodaysPresentAttendance(Long schoolId) {
         validateSchoolExists(schoolId);
-        LocalDateTime startOfDay = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
-        LocalDateTime endOfDay = startOfDay.plusDays(1);
-        return repository.countBySchoolAndStatusAndDateRange(schoolId, Attendance.AttendanceStatus.PRESENT, startOfDay, endOfDay);
+        return attendanceRollupService.countForDay(schoolId, LocalDate.now(), Attendance.AttendanceStatus.PRESENT);
+    }
+
+    @Override
+    public Map<Attendance.AttendanceStatus, Long> getDailyCounts(Long schoolId, LocalDate date) {
+        validateSchoolExists(schoolId);
+        return attendanceRollupService.countsForDay(schoolId, date != null ? date : LocalDate.now());
     }
 
     @Override
@@ -101,7 +146,7 @@ public class AttendanceServiceImpl extends BaseServiceImpl<Attendance, Attendanc
 
     @Override
     @Transactional
-    public void recordAttendance(Long studentId, Long tripId, String status, String notes) {
+    public RecordedAttendance recordAttendance(Long studentId, Long tripId, String status, String notes) {
         log.debug("Recording attendance for student {} on trip {} with status {}", studentId, tripId, status);
         
         Student student = findStudentById(studentId);
@@ -111,17 +156,180 @@ public class AttendanceServiceImpl extends BaseServiceImpl<Attendance, Attendanc
         validateNotes(notes);
         validateAttendanceRecording(student, trip);
 
-        Attendance attendance = new Attendance();
-        attendance.setStudent(student);
-        attendance.setTrip(trip);
-        attendance.setStatus(Attendance.AttendanceStatus.valueOf(status));
-        attendance.setNotes(notes);
-        attendance.setScanTime(LocalDateTime.now());
-        attendance.setParentNotified(false);
-        attendance.setActive(true);
-
-        repository.save(attendance);
+        Attendance.AttendanceStatus attendanceStatus = Attendance.AttendanceStatus.valueOf(status);
+        LocalDateTime now = LocalDateTime.now();
+        AttendanceUpsertView row = repository.upsertScan(studentId, tripId, attendanceStatus.name(), now, notes)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ValidationException("Attendance already recorded for this student on this trip"));
+
+        if (Boolean.TRUE.equals(row.getCreated())) {
+            attendanceRollupService.recordInserted(TripRollupKey.of(trip), attendanceStatus, 1);
+        } else {
+            attendanceRollupService.recordStatusChange(TripRollupKey.of(trip),
+                    Attendance.AttendanceStatus.PENDING, attendanceStatus);
+        }
+        attendanceRollupService.recordStudentAttendance(studentId, now.toLocalDate(), 1,
+                attendanceStatus == Attendance.AttendanceStatus.ABSENT ? 1 : 0);
+        parentNotificationService.enqueue(List.of(row.getAttendanceId()));
         log.info("Successfully recorded attendance for student {} on trip {}", studentId, tripId);
+        return new RecordedAttendance(row.getAttendanceId(), Boolean.TRUE.equals(row.getCreated()));
+    }
+
+    /**
+     * Applies a queued batch of device scans against the trip's manifest in a single
+     * transaction. Scans are matched in memory by QR hash and only the matched attendance
+     * rows are loaded. Each scan is applied with a conditional update on the pending row.
+     * Replaying a batch is safe, even concurrently: scans whose client id is already
+     * stored, or whose student was already scanned, are reported as duplicates and leave
+     * the data untouched.
+     */
+    @Override
+    @Transactional
+    public BulkScanResult recordOfflineScans(BulkScanRequest request) {
+        Long tripId = request.getTripId();
+        List<OfflineScanRequest> scans = request.getScans();
+        log.debug("Recording {} offline scans for trip {}", scans.size(), tripId);
+
+        Trip trip = findTripById(tripId);
+        if (trip.getStatus() != Trip.TripStatus.IN_PROGRESS && trip.getStatus() != Trip.TripStatus.COMPLETED) {
+            throw new ValidationException("Scans can only be uploaded for in-progress or completed trips");
+        }
+
+        TripManifest manifest = tripManifestService.getManifest(tripId);
+        Map<String, TripManifestEntry> byQrHash = manifest.indexByQrHash();
+        Map<Long, TripManifestEntry> byStudentId = new HashMap<>();
+        manifest.students().forEach(entry -> byStudentId.putIfAbsent(entry.studentId(), entry));
+
+        TripManifestEntry[] resolved = new TripManifestEntry[scans.size()];
+        for (int i = 0; i < scans.size(); i++) {
+            OfflineScanRequest scan = scans.get(i);
+            if (scan.getQrCode() == null) {
+                resolved[i] = byStudentId.get(scan.getStudentId());
+            } else if (signedQrCodec.isSigned(scan.getQrCode())) {
+                // Forged, expired or other-trip codes stay unresolved and are rejected below.
+                resolved[i] = signedQrCodec.tryVerify(scan.getQrCode())
+                        .filter(claims -> claims.tripId() == null || claims.tripId().equals(tripId))
+                        .map(claims -> byStudentId.get(claims.studentId()))
+                        .orElse(null);
+            } else {
+                resolved[i] = byQrHash.get(TripManifest.hashQrPayload(scan.getQrCode()));
+            }
+        }
+        Set<Long> matchedIds = Arrays.stream(resolved)
+                .filter(Objects::nonNull)
+                .map(TripManifestEntry::attendanceId)
+                .collect(Collectors.toSet());
+        Map<Long, Attendance> rows = matchedIds.isEmpty()
+                ? Map.of()
+                : repository.findAllWithStudentByIdIn(matchedIds).stream()
+                        .collect(Collectors.toMap(Attendance::getId, Function.identity()));
+
+        Set<String> seenScanIds = new HashSet<>(repository.findExistingClientScanIds(
+                scans.stream().map(OfflineScanRequest::getClientScanId).collect(Collectors.toSet())));
+        LocalDateTime earliest = trip.getScheduledDepartureTime().minusMinutes(MAX_SCAN_TIME_DIFFERENCE_MINUTES);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime latest = now.plusMinutes(MAX_DEVICE_CLOCK_SKEW_MINUTES);
+
+        // Earliest device scan wins when a student was scanned more than once.
+        Integer[] order = new Integer[scans.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing(i -> scans.get(i).getScannedAt()));
+
+        ScanOutcome[] outcomes = new ScanOutcome[scans.size()];
+        Map<Attendance.AttendanceStatus, Integer> statusDeltas = new EnumMap<>(Attendance.AttendanceStatus.class);
+        // Per student and scan day: {records, absences}, applied in student order.
+        Map<Long, Map<LocalDate, int[]>> studentDeltas = new TreeMap<>();
+        for (int index : order) {
+            OfflineScanRequest scan = scans.get(index);
+            String clientScanId = scan.getClientScanId();
+            if (!seenScanIds.add(clientScanId)) {
+                outcomes[index] = ScanOutcome.duplicate(clientScanId, null, null, "Scan already uploaded");
+                continue;
+            }
+
+            Attendance attendance = resolved[index] != null ? rows.get(resolved[index].attendanceId()) : null;
+            if (attendance == null) {
+                outcomes[index] = ScanOutcome.rejected(clientScanId, "Student is not on this trip's manifest");
+                continue;
+            }
+            Long studentId = attendance.getStudent().getId();
+            if (attendance.getStatus() != Attendance.AttendanceStatus.PENDING) {
+                outcomes[index] = ScanOutcome.duplicate(clientScanId, studentId, attendance.getId(),
+                        "Attendance already recorded as " + attendance.getStatus());
+                continue;
+            }
+            if (scan.getScannedAt().isBefore(earliest) || scan.getScannedAt().isAfter(latest)) {
+                outcomes[index] = ScanOutcome.rejected(clientScanId, "Scan time is outside the trip window");
+                continue;
+            }
+            Attendance.AttendanceStatus status;
+            try {
+                status = scan.getStatus() == null
+                        ? Attendance.AttendanceStatus.PRESENT
+                        : Attendance.AttendanceStatus.valueOf(scan.getStatus());
+            } catch (IllegalArgumentException e) {
+                outcomes[index] = ScanOutcome.rejected(clientScanId, "Invalid attendance status: " + scan.getStatus());
+                continue;
+            }
+            if (scan.getNotes() != null && scan.getNotes().length() > MAX_NOTES_LENGTH) {
+                outcomes[index] = ScanOutcome.rejected(clientScanId, "Notes cannot exceed " + MAX_NOTES_LENGTH + " characters");
+                continue;
+            }
+
+            // Conditional per row, so a concurrent retry of the same queue loses per item
+            // instead of failing the whole upload at commit.
+            if (repository.recordOfflineScanIfPending(attendance.getId(), status, scan.getScannedAt(),
+                    clientScanId, scan.getNotes(), now) == 0) {
+                outcomes[index] = ScanOutcome.duplicate(clientScanId, studentId, attendance.getId(),
+                        "Attendance already recorded by a concurrent upload");
+                continue;
+            }
+            statusDeltas.merge(Attendance.AttendanceStatus.PENDING, -1, Integer::sum);
+            statusDeltas.merge(status, 1, Integer::sum);
+            int[] studentDelta = studentDeltas.computeIfAbsent(studentId, id -> new HashMap<>())
+                    .computeIfAbsent(scan.getScannedAt().toLocalDate(), day -> new int[2]);
+            studentDelta[0]++;
+            studentDelta[1] += status == Attendance.AttendanceStatus.ABSENT ? 1 : 0;
+            outcomes[index] = ScanOutcome.recorded(clientScanId, studentId, attendance.getId());
+        }
+        if (!statusDeltas.isEmpty()) {
+            attendanceRollupService.recordStatusChanges(manifest.rollupKey(), statusDeltas);
+        }
+        studentDeltas.forEach((studentId, days) -> days.forEach((day, delta) ->
+                attendanceRollupService.recordStudentAttendance(studentId, day, delta[0], delta[1])));
+        parentNotificationService.enqueue(Arrays.stream(outcomes)
+                .filter(outcome -> outcome.outcome() == ScanOutcome.Outcome.RECORDED)
+                .map(ScanOutcome::attendanceId)
+                .toList());
+
+        BulkScanResult result = BulkScanResult.of(tripId, List.of(outcomes));
+        log.info("Recorded offline scans for trip {}: {} recorded, {} duplicates, {} rejected",
+                tripId, result.recorded(), result.duplicates(), result.rejected());
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public TripManifestEntry recordQrScan(QrScanRequest request) {
+        log.debug("Recording QR scan for trip {}", request.getTripId());
+        validateNotes(request.getNotes());
+
+        TripManifestEntry entry = tripManifestService.resolveScan(request.getTripId(), request.getQrCode())
+                .orElseThrow(() -> new ValidationException("QR code does not match any student on this trip"));
+        LocalDateTime now = LocalDateTime.now();
+        String notes = request.getNotes() != null && !request.getNotes().isBlank()
+                ? request.getNotes()
+                : "Scanned at " + now;
+        if (repository.recordScanIfPending(entry.attendanceId(), Attendance.AttendanceStatus.PRESENT, now, notes) == 0) {
+            throw new ValidationException("Attendance already recorded for this student on this trip");
+        }
+        attendanceRollupService.recordStatusChange(tripManifestService.rollupKey(request.getTripId()),
+                Attendance.AttendanceStatus.PENDING, Attendance.AttendanceStatus.PRESENT);
+        attendanceRollupService.recordStudentAttendance(entry.studentId(), now.toLocalDate(), 1, 0);
+        parentNotificationService.enqueue(List.of(entry.attendanceId()));
+        log.info("Recorded QR scan for student {} on trip {}", entry.studentId(), request.getTripId());
+        return entry;
     }
 
     @Override
@@ -129,17 +337,36 @@ public class AttendanceServiceImpl extends BaseServiceImpl<Attendance, Attendanc
     public void updateAttendanceStatus(Long attendanceId, String status, String notes) {
         log.debug("Updating attendance {} status to {} with notes: {}", attendanceId, status, notes);
         
-        Attendance attendance = findAttendanceById(attendanceId);
         validateAttendanceStatus(status);
         validateNotes(notes);
-        validateStatusUpdate(attendance);
-
-        attendance.setStatus(Attendance.AttendanceStatus.valueOf(status));
-        attendance.setNotes(notes);
-        attendance.setParentNotified(false); // Reset notification flag as status has changed
-
-        repository.save(attendance);
-        log.info("Successfully updated attendance {} status to {}", attendanceId, status);
+        Attendance.AttendanceStatus newStatus = Attendance.AttendanceStatus.valueOf(status);
+
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            Attendance attendance = findAttendanceById(attendanceId);
+            validateStatusUpdate(attendance);
+            Attendance.AttendanceStatus previousStatus = attendance.getStatus();
+            Long tripId = attendance.getTrip().getId();
+            Long studentId = attendance.getStudent().getId();
+            LocalDateTime scanTime = attendance.getScanTime();
+
+            // Reset notification flag as status has changed
+            int updated = repository.compareAndSetStatus(attendanceId, attendance.getVersion(),
+                    newStatus, notes, LocalDateTime.now());
+            if (updated == 1) {
+                attendanceRollupService.recordStatusChange(attendanceRollupService.rollupKey(tripId),
+                        previousStatus, newStatus);
+                int absentDelta = (newStatus == Attendance.AttendanceStatus.ABSENT ? 1 : 0)
+                        - (previousStatus == Attendance.AttendanceStatus.ABSENT ? 1 : 0);
+                if (scanTime != null) {
+                    attendanceRollupService.recordStudentAttendance(studentId, scanTime.toLocalDate(), 0, absentDelta);
+                }
+                parentNotificationService.enqueue(List.of(attendanceId));
+                log.info("Successfully updated attendance {} status to {}", attendanceId, status);
+                return;
+            }
+            log.debug("Attendance {} changed concurrently, retrying update (attempt {})", attendanceId, attempt);
+        }
+        throw new ConcurrentUpdateException("Attendance", attendanceId);
     }
 
     @Override
@@ -150,8 +377,9 @@ public class AttendanceServiceImpl extends BaseServiceImpl<Attendance, Attendanc
         Attendance attendance = findAttendanceById(attendanceId);
         validateNotificationUpdate(attendance);
 
-        attendance.setParentNotified(true);
-        repository.save(attendance);
+        if (repository.markNotifiedIfPending(attendanceId, LocalDateTime.now()) == 0) {
+            throw new ValidationException("Attendance is already marked as notified");
+        }
         log.info("Successfully marked attendance {} as notified", attendanceId);
     }
 
@@ -248,10 +476,6 @@ public class AttendanceServiceImpl extends BaseServiceImpl<Attendance, Attendanc
             throw new ValidationException("Attendance can only be recorded within " + 
                 MAX_SCAN_TIME_DIFFERENCE_MINUTES + " minutes of scheduled trip time");
         }
-
-        if (repository.existsByStudentAndTripAndActiveTrue(student, trip)) {
-            throw new ValidationException("Attendance already recorded for this student on this trip");
-        }
     }
 
     private void validateStatusUpdate(Attendance attendance) {
@@ -9,9 +9,11 @@ import com.example.backend.entities.user.User.Role;
 import com.example.backend.entities.user.Admin;
 import com.example.backend.exception.ValidationException;
 import com.example.backend.security.jwt.JwtUtils;
+import com.example.backend.security.jwt.TokenRevocations;
 import com.example.backend.security.services.UserDetailsImpl;
 import com.example.backend.service.AuthenticationService;
 import com.example.backend.service.UserService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,14 +21,12 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 
 @Slf4j
 @Service
@@ -40,10 +40,10 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     UserService userService;
 
     @Autowired
-    PasswordEncoder passwordEncoder;
+    JwtUtils jwtUtils;
 
     @Autowired
-    JwtUtils jwtUtils;
+    TokenRevocations tokenRevocations;
 
     @Override
     @Transactional
@@ -92,56 +92,24 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             // Ensure username is trimmed
             loginRequest.setUsername(loginRequest.getUsername().trim());
             
-            log.debug("Creating UsernamePasswordAuthenticationToken for user: {}", loginRequest.getUsername());
-            
-            // Attempt to find the user directly first to check if they exist
-            Optional<User> userOpt = userService.findByUsername(loginRequest.getUsername());
-            
-            if (userOpt.isEmpty()) {
-                log.error("User not found for authentication check: {}", loginRequest.getUsername());
-                throw new ValidationException("Invalid username or password");
-            }
-            
-            User user = userOpt.get();
-            if (!user.isActive()) {
-                log.error("Attempt to authenticate inactive user: {}", loginRequest.getUsername());
-                throw new ValidationException("User account is not active");
-            }
-            
-            // Check password match before trying authentication manager
-            boolean passwordMatches = passwordEncoder.matches(loginRequest.getPassword(), user.getPassword());
-            log.debug("Pre-check: Password matches for user {}: {}", loginRequest.getUsername(), passwordMatches);
-            
-            if (!passwordMatches) {
-                log.error("Password mismatch for user: {}", loginRequest.getUsername());
-                throw new ValidationException("Invalid username or password");
-            }
-            
-            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                loginRequest.getUsername(), loginRequest.getPassword());
-            
-            log.debug("Attempting authentication with AuthenticationManager");
-            Authentication authentication = authenticationManager.authenticate(authToken);
-            log.debug("Authentication successful, setting SecurityContext");
-            
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            // A single lookup and hash check; inactive users are refused while loading them.
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-            log.debug("Retrieved UserDetailsImpl for user: {}", userDetails.getUsername());
+            log.debug("Authentication successful for user: {}", userDetails.getUsername());
             
             String jwt = jwtUtils.generateJwtToken(authentication);
-            log.debug("Generated JWT token successfully");
             
             return new JwtResponse(jwt,
-                    user.getId(),
-                    user.getUsername(),
-                    user.getEmail(),
-                    user.getFirstName(),
-                    user.getPhoneNumber(),
-                    user.getLastName(),
-                    "ROLE_" + user.getRole().name());
+                    userDetails.getId(),
+                    userDetails.getUsername(),
+                    userDetails.getEmail(),
+                    userDetails.getFirstName(),
+                    userDetails.getPhoneNumber(),
+                    userDetails.getLastName(),
+                    userDetails.getAuthorities().iterator().next().getAuthority());
         } catch (Exception e) {
-            log.error("Authentication failed for user: {} - Exception: {} - Stack trace: {}", 
-                loginRequest.getUsername(), e.getMessage(), e.getStackTrace());
+            log.error("Authentication failed for user: {} - {}", loginRequest.getUsername(), e.getMessage());
             if (e instanceof BadCredentialsException) {
                 log.error("Bad credentials for user: {}", loginRequest.getUsername());
             } else if (e instanceof UsernameNotFoundException) {
@@ -153,17 +121,11 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     @Override
     public void logout(String refreshToken) {
-        final String username = jwtUtils.getUserNameFromJwtToken(refreshToken);
-
-        if (username == null) {
-            throw new ValidationException("Invalid refresh token");
-        }
-
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new ValidationException("User not found"));
+        Claims claims = jwtUtils.parseVerifiedClaims(refreshToken)
+                .orElseThrow(() -> new ValidationException("Invalid refresh token"));
 
-        if (!jwtUtils.isTokenValid(refreshToken)) {
-            throw new ValidationException("Invalid refresh token");
+        if (!tokenRevocations.revoke(claims)) {
+            log.debug("Token of {} has no id and stays valid until it expires", claims.getSubject());
         }
     }
 }
\ No newline at end of file
@@ -1,18 +1,22 @@
 package com.example.backend.service.impl;
 
+import com.example.backend.cache.ReferenceDataCache;
 import com.example.backend.entities.School;
 import com.example.backend.entities.Vehicle;
 import com.example.backend.entities.user.Driver;
 import com.example.backend.exception.EntityNotFoundException;
+import com.example.backend.exception.UnauthorizedException;
 import com.example.backend.exception.ValidationException;
 import com.example.backend.repository.DriverRepository;
 import com.example.backend.repository.SchoolRepository;
+import com.example.backend.repository.TripSummaryRepository;
 import com.example.backend.repository.VehicleRepository;
+import com.example.backend.security.SecurityUtils;
 import com.example.backend.service.DriverService;
 import com.example.backend.service.base.BaseServiceImpl;
+import com.fasterxml.jackson.databind.util.RawValue;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -28,16 +32,27 @@ public class DriverServiceImpl extends BaseServiceImpl<Driver, DriverRepository>
 
     private final VehicleRepository vehicleRepository;
     private final SchoolRepository schoolRepository;
+    private final TripSummaryRepository tripSummaryRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ReferenceDataCache referenceDataCache;
 
     public DriverServiceImpl(DriverRepository repository,
                            VehicleRepository vehicleRepository,
                            SchoolRepository schoolRepository,
-                           PasswordEncoder passwordEncoder) {
+                           TripSummaryRepository tripSummaryRepository,
+                           PasswordEncoder passwordEncoder,
+                           ReferenceDataCache referenceDataCache) {
         super(repository);
         this.vehicleRepository = vehicleRepository;
         this.schoolRepository = schoolRepository;
+        this.tripSummaryRepository = tripSummaryRepository;
         this.passwordEncoder = passwordEncoder;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @Override
+    public RawValue findAllAsJson() {
+        return referenceDataCache.get(ReferenceDataCache.Region.DRIVERS, repository::findAll);
     }
 
     @Override
@@ -69,7 +84,7 @@ public class DriverServiceImpl extends BaseServiceImpl<Driver, DriverRepository>
         log.debug("Counting completed trips for driver {} between {} and {}", driverId, start, end);
         validateDriverExists(driverId);
         validateTimeRange(start, end);
-        return repository.countCompletedTripsInPeriod(driverId, start, end);
+        return tripSummaryRepository.countCompletedByDriverInPeriod(driverId, start, end);
     }
 
     @Override
@@ -231,10 +246,8 @@ public class DriverServiceImpl extends BaseServiceImpl<Driver, DriverRepository>
 
     @Override
     public Long getCurrentDriverId() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return repository.findByEmail(email)
-                .map(Driver::getId)
-                .orElseThrow(() -> new RuntimeException("Driver not found"));
+        return SecurityUtils.getCurrentDriverId()
+                .orElseThrow(() -> new UnauthorizedException("Current user is not a driver"));
     }
 
     @Override
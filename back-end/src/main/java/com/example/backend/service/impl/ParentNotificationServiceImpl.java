@@ -0,0 +1,158 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.entities.Attendance;
+import com.example.backend.entities.ParentNotificationOutbox;
+import com.example.backend.notification.ParentNotification;
+import com.example.backend.repository.AttendanceRepository;
+import com.example.backend.repository.ParentNotificationOutboxRepository;
+import com.example.backend.service.ParentNotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transactional outbox for parent notifications. Attendance writes queue a row per
+ * recorded change in their own transaction, so a notification exists exactly when the
+ * change committed. Delivery state is then updated in bulk, one statement per batch.
+ *
+ * <p>Rows are coalesced per parent: each new change slides the parent's window, and
+ * the whole window is claimed and sent as one digest once it closes. Urgent statuses
+ * close the window at once, and a window never stays open longer than the maximum
+ * coalescing delay.</p>
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ParentNotificationServiceImpl implements ParentNotificationService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    private final ParentNotificationOutboxRepository outboxRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final int maxAttempts;
+    private final Duration coalesceWindow;
+    private final long maxCoalesceDelayMs;
+    private final Set<Attendance.AttendanceStatus> urgentStatuses;
+    private final List<String> urgentStatusNames;
+
+    public ParentNotificationServiceImpl(ParentNotificationOutboxRepository outboxRepository,
+                                         AttendanceRepository attendanceRepository,
+                                         @Value("${nimbus.notifications.leaseMs:120000}") long leaseMs,
+                                         @Value("${nimbus.notifications.retryDelayMs:30000}") long retryDelayMs,
+                                         @Value("${nimbus.notifications.maxAttempts:5}") int maxAttempts,
+                                         @Value("${nimbus.notifications.coalesceWindowMs:30000}") long coalesceWindowMs,
+                                         @Value("${nimbus.notifications.maxCoalesceDelayMs:120000}") long maxCoalesceDelayMs,
+                                         @Value("${nimbus.notifications.urgentStatuses:ABSENT}") Set<Attendance.AttendanceStatus> urgentStatuses) {
+        this.outboxRepository = outboxRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.retryDelay = Duration.ofMillis(retryDelayMs);
+        this.maxAttempts = maxAttempts;
+        this.coalesceWindow = Duration.ofMillis(coalesceWindowMs);
+        this.maxCoalesceDelayMs = maxCoalesceDelayMs;
+        this.urgentStatuses = urgentStatuses.isEmpty()
+                ? EnumSet.noneOf(Attendance.AttendanceStatus.class)
+                : EnumSet.copyOf(urgentStatuses);
+        // Never empty, so the IN list in slideWindow stays valid.
+        this.urgentStatusNames = urgentStatuses.isEmpty()
+                ? List.of("")
+                : urgentStatuses.stream().map(Enum::name).toList();
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(Collection<Long> attendanceIds) {
+        if (attendanceIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int queued = outboxRepository.enqueueForAttendances(attendanceIds, now);
+        if (queued > 0) {
+            outboxRepository.slideWindow(attendanceIds, urgentStatusNames, now, now.plus(coalesceWindow),
+                    maxCoalesceDelayMs);
+        }
+        log.debug("Queued {} parent notification(s) for {} attendance change(s)", queued, attendanceIds.size());
+    }
+
+    @Override
+    @Transactional
+    public List<ParentNotification> claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> claimed = outboxRepository.claimDue(now, now.plus(lease), limit);
+        if (claimed.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ParentNotificationOutbox>> byParent = new LinkedHashMap<>();
+        outboxRepository.findAllByIdIn(claimed).stream()
+                .sorted(Comparator.comparing(ParentNotificationOutbox::getId))
+                .forEach(row -> byParent.computeIfAbsent(row.getParentId(), id -> new ArrayList<>()).add(row));
+        return byParent.entrySet().stream()
+                .map(entry -> digest(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void markDelivered(Collection<Long> outboxIds) {
+        if (outboxIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int notified = attendanceRepository.markNotifiedForOutbox(outboxIds, now);
+        outboxRepository.markSent(outboxIds, now);
+        log.debug("Delivered {} outbox row(s), {} attendance(s) marked notified", outboxIds.size(), notified);
+    }
+
+    @Override
+    @Transactional
+    public void markFailed(ParentNotification notification, String error) {
+        int shift = Math.min(Math.max(notification.attempt() - 1, 0), MAX_BACKOFF_SHIFT);
+        LocalDateTime now = LocalDateTime.now();
+        String message = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        outboxRepository.reschedule(notification.outboxIds(), maxAttempts,
+                now.plus(retryDelay.multipliedBy(1L << shift)), message, now);
+        if (notification.attempt() >= maxAttempts) {
+            log.warn("Giving up on notifying parent {} after {} attempts: {}", notification.parentId(),
+                    notification.attempt(), message);
+        }
+    }
+
+    /**
+     * Folds one parent's rows, in id order, into a digest holding the latest change per
+     * attendance.
+     */
+    private ParentNotification digest(Long parentId, List<ParentNotificationOutbox> rows) {
+        Map<Long, ParentNotificationOutbox> latestByAttendance = new LinkedHashMap<>();
+        rows.forEach(row -> {
+            latestByAttendance.remove(row.getAttendanceId());
+            latestByAttendance.put(row.getAttendanceId(), row);
+        });
+        List<ParentNotification.AttendanceChange> changes = latestByAttendance.values().stream()
+                .map(row -> new ParentNotification.AttendanceChange(row.getAttendanceId(), row.getStudentId(),
+                        row.getTripId(), row.getAttendanceStatus(), row.getCreatedAt()))
+                .toList();
+        int attempt = rows.stream().mapToInt(ParentNotificationOutbox::getAttempts).max().orElse(0);
+        boolean urgent = rows.stream().anyMatch(row -> urgentStatuses.contains(row.getAttendanceStatus()));
+        LocalDateTime oldest = rows.stream()
+                .map(ParentNotificationOutbox::getCreatedAt)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        return new ParentNotification(parentId, attempt, urgent, changes,
+                rows.stream().map(ParentNotificationOutbox::getId).toList(), oldest);
+    }
+}
@@ -4,10 +4,13 @@ import com.example.backend.entities.Attendance;
 import com.example.backend.entities.Student;
 import com.example.backend.entities.user.Parent;
 import com.example.backend.entities.user.User;
+import com.example.backend.exception.UnauthorizedException;
 import com.example.backend.repository.AttendanceRepository;
 import com.example.backend.repository.ParentRepository;
 import com.example.backend.repository.StudentRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.security.SecurityUtils;
+import com.example.backend.service.ParentNotificationService;
 import com.example.backend.service.ParentService;
 import com.example.backend.service.base.BaseServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
@@ -16,7 +19,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,17 +32,20 @@ public class ParentServiceImpl extends BaseServiceImpl<Parent, ParentRepository>
     private final AttendanceRepository attendanceRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ParentNotificationService parentNotificationService;
 
     public ParentServiceImpl(ParentRepository repository,
                            StudentRepository studentRepository,
                            AttendanceRepository attendanceRepository,
                            UserRepository userRepository,
-                           PasswordEncoder passwordEncoder) {
+                           PasswordEncoder passwordEncoder,
+                           ParentNotificationService parentNotificationService) {
         super(repository);
         this.studentRepository = studentRepository;
         this.attendanceRepository = attendanceRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.parentNotificationService = parentNotificationService;
     }
 
     @Override
@@ -116,6 +121,7 @@ public class ParentServiceImpl extends BaseServiceImpl<Parent, ParentRepository>
         }
 
         student.setParent(parent);
+        parent.revokeIssuedTokens();
         studentRepository.save(student);
     }
 
@@ -132,6 +138,7 @@ public class ParentServiceImpl extends BaseServiceImpl<Parent, ParentRepository>
         }
 
         student.setParent(null);
+        parent.revokeIssuedTokens();
         studentRepository.save(student);
     }
 
@@ -147,8 +154,8 @@ public class ParentServiceImpl extends BaseServiceImpl<Parent, ParentRepository>
             throw new IllegalStateException("Attendance record is not related to this parent's student");
         }
 
-        attendance.setParentNotified(true);
-        attendanceRepository.save(attendance);
+        // Delivered by the outbox dispatcher, which marks the attendance notified once sent.
+        parentNotificationService.enqueue(List.of(attendanceId));
     }
 
     @Override
@@ -164,10 +171,8 @@ public class ParentServiceImpl extends BaseServiceImpl<Parent, ParentRepository>
 
     @Override
     public Long getCurrentParentId() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return repository.findByEmail(email)
-                .map(Parent::getId)
-                .orElseThrow(() -> new RuntimeException("Parent not found"));
+        return SecurityUtils.getCurrentParentId()
+                .orElseThrow(() -> new UnauthorizedException("Current user is not a parent"));
     }
 
     @Override
@@ -0,0 +1,107 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.dto.student.QrBadge;
+import com.example.backend.dto.student.QrBadgeRowView;
+import com.example.backend.exception.EntityNotFoundException;
+import com.example.backend.export.BadgeSheetPdfWriter;
+import com.example.backend.export.QrImageRenderer;
+import com.example.backend.repository.AttendanceRepository;
+import com.example.backend.repository.SchoolRepository;
+import com.example.backend.repository.StudentRepository;
+import com.example.backend.repository.TripRepository;
+import com.example.backend.security.qr.SignedQrCodec;
+import com.example.backend.service.QrCodeExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Resolves the QR payloads to print in one short read, then renders and streams them.
+ * Students without a stored badge code get a freshly signed one, which scans the same
+ * way because signed codes are verified rather than looked up.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class QrCodeExportServiceImpl implements QrCodeExportService {
+
+    private final StudentRepository studentRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final SchoolRepository schoolRepository;
+    private final TripRepository tripRepository;
+    private final SignedQrCodec signedQrCodec;
+    private final QrImageRenderer qrImageRenderer;
+
+    @Override
+    public List<QrBadge> findSchoolBadges(Long schoolId) {
+        if (!schoolRepository.existsById(schoolId)) {
+            throw new EntityNotFoundException("School", schoolId);
+        }
+        return toStudentBadges(studentRepository.findBadgeRowsBySchoolId(schoolId));
+    }
+
+    @Override
+    public List<QrBadge> findRouteBadges(Long routeId) {
+        Long schoolId = studentRepository.findSchoolIdByRouteId(routeId)
+                .orElseThrow(() -> new EntityNotFoundException("Route", routeId));
+        return toStudentBadges(studentRepository.findBadgeRowsBySchoolId(schoolId));
+    }
+
+    @Override
+    public List<QrBadge> findTripSeatBadges(Long tripId) {
+        if (!tripRepository.existsById(tripId)) {
+            throw new EntityNotFoundException("Trip", tripId);
+        }
+        return attendanceRepository.findSeatBadgeRowsByTripId(tripId).stream()
+                .map(row -> new QrBadge(
+                        String.format("trip-%d-seat-%03d-student-%d.png", tripId, row.getSeatNumber(), row.getStudentId()),
+                        String.format("Seat %d - %s", row.getSeatNumber(), fullName(row)),
+                        row.getQrCode()))
+                .toList();
+    }
+
+    @Override
+    public void writeZip(List<QrBadge> badges, OutputStream out) throws IOException {
+        log.debug("Streaming {} QR images as ZIP", badges.size());
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // PNGs are already deflated; compressing them again only costs CPU.
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        qrImageRenderer.renderInOrder(badges, QrBadge::payload, (badge, qr) -> {
+            zip.putNextEntry(new ZipEntry(badge.fileName()));
+            zip.write(qr.png());
+            zip.closeEntry();
+        });
+        zip.finish();
+        zip.flush();
+    }
+
+    @Override
+    public void writePdf(List<QrBadge> badges, OutputStream out) throws IOException {
+        log.debug("Streaming {} QR images as PDF badge sheets", badges.size());
+        BadgeSheetPdfWriter pdf = new BadgeSheetPdfWriter(out);
+        qrImageRenderer.renderInOrder(badges, QrBadge::payload, (badge, qr) -> pdf.addBadge(badge.caption(), qr));
+        pdf.finish();
+    }
+
+    private List<QrBadge> toStudentBadges(List<QrBadgeRowView> rows) {
+        return rows.stream()
+                .map(row -> new QrBadge(
+                        String.format("student-%d.png", row.getStudentId()),
+                        fullName(row),
+                        row.getQrCode() != null ? row.getQrCode() : signedQrCodec.signBadge(row.getStudentId())))
+                .toList();
+    }
+
+    private static String fullName(QrBadgeRowView row) {
+        return row.getLastName() + ", " + row.getFirstName();
+    }
+}
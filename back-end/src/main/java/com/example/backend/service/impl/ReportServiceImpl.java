@@ -13,6 +13,7 @@ import com.example.backend.mapper.ReportMapper;
 import com.example.backend.repository.ReportRepository;
 import com.example.backend.repository.SchoolRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.security.SecurityUtils;
 import com.example.backend.service.ReportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -45,7 +46,7 @@ public class ReportServiceImpl implements ReportService {
                     .orElseThrow(() -> new ResourceNotFoundException("School not found with id: " + reportRequest.getSchoolId()));
             
             // Check if user has access to this school
-            if (!hasAccessToSchool(currentUser, school)) {
+            if (!hasAccessToSchool(school)) {
                 throw new UnauthorizedException("You don't have access to this school");
             }
         } else if (currentUser.getRole() == User.Role.DRIVER) {
@@ -86,7 +87,7 @@ public class ReportServiceImpl implements ReportService {
                     .orElseThrow(() -> new ResourceNotFoundException("School not found with id: " + reportRequest.getSchoolId()));
             
             // Check if user has access to this school
-            if (!hasAccessToSchool(currentUser, school)) {
+            if (!hasAccessToSchool(school)) {
                 throw new UnauthorizedException("You don't have access to this school");
             }
         } else {
@@ -122,7 +123,7 @@ public class ReportServiceImpl implements ReportService {
                 .orElseThrow(() -> new ResourceNotFoundException("Report not found with id: " + id));
 
         // Check if admin has access to this school
-        if (report.getSchool() != null && !hasAccessToSchool(currentUser, report.getSchool())) {
+        if (report.getSchool() != null && !hasAccessToSchool(report.getSchool())) {
             throw new UnauthorizedException("You don't have access to reports from this school");
         }
 
@@ -190,7 +191,7 @@ public class ReportServiceImpl implements ReportService {
                 .orElseThrow(() -> new ResourceNotFoundException("School not found with id: " + schoolId));
 
         // Check if user has access to this school
-        if (!hasAccessToSchool(currentUser, school)) {
+        if (!hasAccessToSchool(school)) {
             throw new UnauthorizedException("You don't have access to reports from this school");
         }
 
@@ -257,21 +258,10 @@ public class ReportServiceImpl implements ReportService {
     }
     
     /**
-     * Check if the user has access to the given school
+     * Check if the signed-in user has access to the given school, using the scope
+     * computed when they authenticated rather than their lazy associations
      */
-    private boolean hasAccessToSchool(User user, School school) {
-        if (user.getRole() == User.Role.ADMIN) {
-            Admin admin = (Admin) user;
-            return admin.getManagedSchools().contains(school);
-        } else if (user.getRole() == User.Role.DRIVER) {
-            Driver driver = (Driver) user;
-            return driver.getSchool() != null && driver.getSchool().getId().equals(school.getId());
-        } else if (user.getRole() == User.Role.PARENT) {
-            Parent parent = (Parent) user;
-            return parent.getStudents().stream()
-                    .anyMatch(student -> student.getSchool() != null && 
-                              student.getSchool().getId().equals(school.getId()));
-        }
-        return false;
+    private boolean hasAccessToSchool(School school) {
+        return SecurityUtils.canAccessSchool(school.getId());
     }
 } 
\ No newline at end of file
@@ -1,13 +1,17 @@
 package com.example.backend.service.impl;
 
+import com.example.backend.cache.ReferenceDataCache;
+import com.example.backend.dto.trip.TripCountView;
 import com.example.backend.entities.Route;
 import com.example.backend.entities.School;
 import com.example.backend.exception.EntityNotFoundException;
 import com.example.backend.exception.ValidationException;
 import com.example.backend.repository.RouteRepository;
 import com.example.backend.repository.SchoolRepository;
+import com.example.backend.repository.TripSummaryRepository;
 import com.example.backend.service.RouteService;
 import com.example.backend.service.base.BaseService;
+import com.fasterxml.jackson.databind.util.RawValue;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -17,13 +21,18 @@ import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class RouteServiceImpl implements RouteService {
     
     private final RouteRepository routeRepository;
     private final SchoolRepository schoolRepository;
+    private final TripSummaryRepository tripSummaryRepository;
+    private final ReferenceDataCache referenceDataCache;
     
     // Constants for business rules
     private static final int MINIMUM_STOPS = 2;
@@ -34,9 +43,13 @@ public class RouteServiceImpl implements RouteService {
 
     @Autowired
     public RouteServiceImpl(RouteRepository routeRepository,
-                          SchoolRepository schoolRepository) {
+                          SchoolRepository schoolRepository,
+                          TripSummaryRepository tripSummaryRepository,
+                          ReferenceDataCache referenceDataCache) {
         this.routeRepository = routeRepository;
         this.schoolRepository = schoolRepository;
+        this.tripSummaryRepository = tripSummaryRepository;
+        this.referenceDataCache = referenceDataCache;
     }
 
     // BaseService methods
@@ -45,6 +58,12 @@ public class RouteServiceImpl implements RouteService {
         return routeRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public RawValue findAllAsJson() {
+        return referenceDataCache.get(ReferenceDataCache.Region.ROUTES, routeRepository::findAll);
+    }
+
     @Override
     public Route findById(Long id) {
         return routeRepository.findById(id)
@@ -188,6 +207,7 @@ public class RouteServiceImpl implements RouteService {
             updateEstimatedTimes(route.getStops());
         }
         
+        stopsChanged();
         routeRepository.save(route);
     }
 
@@ -216,6 +236,7 @@ public class RouteServiceImpl implements RouteService {
         route.getStops().remove(stopId.intValue());
         route.getStops().add(sequence - 1, stop);
         updateEstimatedTimes(route.getStops());
+        stopsChanged();
         routeRepository.save(route);
     }
 
@@ -230,6 +251,7 @@ public class RouteServiceImpl implements RouteService {
         
         route.getStops().remove(stopId.intValue());
         updateEstimatedTimes(route.getStops());
+        stopsChanged();
         routeRepository.save(route);
     }
 
@@ -249,6 +271,7 @@ public class RouteServiceImpl implements RouteService {
         
         route.setStops(reorderedStops);
         updateEstimatedTimes(route.getStops());
+        stopsChanged();
         routeRepository.save(route);
     }
 
@@ -273,9 +296,11 @@ public class RouteServiceImpl implements RouteService {
     @Override
     public List<Route> findActiveRoutesWithStats(Long schoolId) {
         List<Route> routes = routeRepository.findBySchoolIdAndActiveTrue(schoolId);
+        Map<Long, Long> completedTrips = tripSummaryRepository.countCompletedGroupedByRoute(schoolId).stream()
+                .collect(Collectors.toMap(TripCountView::getOwnerId, TripCountView::getCompletedTrips));
         routes.forEach(route -> {
             route.setActiveStudentsCount(countActiveStudentsOnRoute(route.getId()));
-            route.setCompletedTripsCount(countCompletedTripsOnRoute(route.getId()));
+            route.setCompletedTripsCount(completedTrips.getOrDefault(route.getId(), 0L));
             route.setTotalDistance(calculateRouteDistance(route.getId()));
             route.setEstimatedDuration(estimateRouteDuration(route.getId()));
         });
@@ -289,7 +314,7 @@ public class RouteServiceImpl implements RouteService {
 
     @Override
     public long countCompletedTripsOnRoute(Long routeId) {
-        return routeRepository.countCompletedTripsOnRoute(routeId);
+        return tripSummaryRepository.countCompletedByRoute(routeId);
     }
 
     @Override
@@ -331,6 +356,11 @@ public class RouteServiceImpl implements RouteService {
         }
     }
 
+    /** Stops live in an element collection, which does not fire the route's entity listener. */
+    private void stopsChanged() {
+        referenceDataCache.invalidateAfterCommit(Set.of(ReferenceDataCache.Region.ROUTES));
+    }
+
     private Route findRouteById(Long routeId) {
         return routeRepository.findById(routeId)
                 .orElseThrow(() -> new EntityNotFoundException("Route not found with id: " + routeId));
@@ -1,5 +1,6 @@
 package com.example.backend.service.impl;
 
+import com.example.backend.cache.ReferenceDataCache;
 import com.example.backend.dto.school.SchoolRequest;
 import com.example.backend.entities.Route;
 import com.example.backend.entities.School;
@@ -10,6 +11,7 @@ import com.example.backend.exception.ValidationException;
 import com.example.backend.repository.*;
 import com.example.backend.service.SchoolService;
 import com.example.backend.service.base.BaseServiceImpl;
+import com.fasterxml.jackson.databind.util.RawValue;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +29,7 @@ public class SchoolServiceImpl extends BaseServiceImpl<School, SchoolRepository>
     private final AdminRepository adminRepository;
     private final DriverRepository driverRepository;
     private final VehicleRepository vehicleRepository;
+    private final ReferenceDataCache referenceDataCache;
     
     private static final int MAXIMUM_STUDENTS_PER_SCHOOL = 2000;
 
@@ -35,13 +38,20 @@ public class SchoolServiceImpl extends BaseServiceImpl<School, SchoolRepository>
                            RouteRepository routeRepository,
                            AdminRepository adminRepository,
                              DriverRepository driverRepository,
-                             VehicleRepository vehicleRepository) {
+                             VehicleRepository vehicleRepository,
+                             ReferenceDataCache referenceDataCache) {
         super(repository);
         this.studentRepository = studentRepository;
         this.routeRepository = routeRepository;
         this.adminRepository = adminRepository;
         this.driverRepository = driverRepository;
         this.vehicleRepository = vehicleRepository;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @Override
+    public RawValue findAllAsJson() {
+        return referenceDataCache.get(ReferenceDataCache.Region.SCHOOLS, repository::findAll);
     }
 
     @Override
@@ -59,6 +69,7 @@ public class SchoolServiceImpl extends BaseServiceImpl<School, SchoolRepository>
         
         newSchool.getAdmins().add(lastAdmin);
         lastAdmin.getManagedSchools().add(newSchool);
+        lastAdmin.revokeIssuedTokens();
 
         return repository.save(newSchool);
     }
@@ -132,6 +143,9 @@ public class SchoolServiceImpl extends BaseServiceImpl<School, SchoolRepository>
         }
 
         student.setSchool(school);
+        if (student.getParent() != null) {
+            student.getParent().revokeIssuedTokens();
+        }
         studentRepository.save(student);
         log.info("Successfully added student {} to school {}", studentId, schoolId);
     }
@@ -149,6 +163,9 @@ public class SchoolServiceImpl extends BaseServiceImpl<School, SchoolRepository>
         }
 
         student.setSchool(null);
+        if (student.getParent() != null) {
+            student.getParent().revokeIssuedTokens();
+        }
         studentRepository.save(student);
         log.info("Successfully removed student {} from school {}", studentId, schoolId);
     }
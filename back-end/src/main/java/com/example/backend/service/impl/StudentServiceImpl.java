@@ -1,5 +1,6 @@
 package com.example.backend.service.impl;
 
+import com.example.backend.dto.student.StudentAttendanceStatsView;
 import com.example.backend.entities.Attendance;
 import com.example.backend.entities.School;
 import com.example.backend.entities.Student;
@@ -8,6 +9,9 @@ import com.example.backend.repository.AttendanceRepository;
 import com.example.backend.repository.ParentRepository;
 import com.example.backend.repository.SchoolRepository;
 import com.example.backend.repository.StudentRepository;
+import com.example.backend.security.qr.QrClaims;
+import com.example.backend.security.qr.SignedQrCodec;
+import com.example.backend.service.AttendanceRollupService;
 import com.example.backend.service.StudentService;
 import com.example.backend.service.base.BaseServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
@@ -32,6 +36,8 @@ public class StudentServiceImpl extends BaseServiceImpl<Student, StudentReposito
     private final SchoolRepository schoolRepository;
     private final ParentRepository parentRepository;
     private final AttendanceRepository attendanceRepository;
+    private final SignedQrCodec signedQrCodec;
+    private final AttendanceRollupService attendanceRollupService;
     
     private static final int MINIMUM_STUDENT_AGE = 4;
     private static final int MAXIMUM_STUDENT_AGE = 20;
@@ -41,11 +47,15 @@ public class StudentServiceImpl extends BaseServiceImpl<Student, StudentReposito
     public StudentServiceImpl(StudentRepository repository,
                             SchoolRepository schoolRepository,
                             ParentRepository parentRepository,
-                            AttendanceRepository attendanceRepository) {
+                            AttendanceRepository attendanceRepository,
+                            SignedQrCodec signedQrCodec,
+                            AttendanceRollupService attendanceRollupService) {
         super(repository);
         this.schoolRepository = schoolRepository;
         this.parentRepository = parentRepository;
         this.attendanceRepository = attendanceRepository;
+        this.signedQrCodec = signedQrCodec;
+        this.attendanceRollupService = attendanceRollupService;
     }
 
     @Override
@@ -67,6 +77,13 @@ public class StudentServiceImpl extends BaseServiceImpl<Student, StudentReposito
         if (!StringUtils.hasText(qrCode)) {
             throw new ValidationException("QR code cannot be empty");
         }
+        if (signedQrCodec.isSigned(qrCode)) {
+            // Signed codes carry the student id, so a valid signature is enough.
+            return signedQrCodec.tryVerify(qrCode)
+                    .map(QrClaims::studentId)
+                    .flatMap(repository::findById)
+                    .filter(Student::isActive);
+        }
         return repository.findByQrCodeAndActiveTrue(qrCode);
     }
 
@@ -105,6 +122,7 @@ public class StudentServiceImpl extends BaseServiceImpl<Student, StudentReposito
         }
 
         student.setSchool(school);
+        revokeParentTokens(student);
         repository.save(student);
         log.info("Successfully assigned student {} to school {}", studentId, schoolId);
     }
@@ -131,6 +149,7 @@ public class StudentServiceImpl extends BaseServiceImpl<Student, StudentReposito
         }
 
         student.setParent(parent);
+        parent.revokeIssuedTokens();
         repository.save(student);
         log.info("Successfully assigned student {} to parent {}", studentId, parentId);
     }
@@ -147,6 +166,7 @@ public class StudentServiceImpl extends BaseServiceImpl<Student, StudentReposito
         }
 
         student.setSchool(null);
+        revokeParentTokens(student);
         repository.save(student);
         log.info("Successfully removed student {} from school", studentId);
     }
@@ -162,6 +182,7 @@ public class StudentServiceImpl extends BaseServiceImpl<Student, StudentReposito
             throw new ValidationException("Student is not assigned to any parent");
         }
 
+        student.getParent().revokeIssuedTokens();
         student.setParent(null);
         repository.save(student);
         log.info("Successfully removed student {} from parent", studentId);
@@ -175,7 +196,7 @@ public class StudentServiceImpl extends BaseServiceImpl<Student, StudentReposito
         
         // Only generate QR code after a seat number is assigned
         if (student.getSeatNumber() != null) {
-            student.generateQRCode();
+            student.setQrCode(signedQrCodec.signBadge(student.getId()));
             repository.save(student);
             log.info("Generated QR code for student {}: {}", studentId, student.getQrCode());
         } else {
@@ -204,19 +225,15 @@ public class StudentServiceImpl extends BaseServiceImpl<Student, StudentReposito
     }
 
     @Override
-    public List<Student> findStudentsWithAttendanceStats(Long schoolId, LocalDateTime start, LocalDateTime end) {
+    public List<StudentAttendanceStatsView> findStudentsWithAttendanceStats(Long schoolId, LocalDateTime start, LocalDateTime end) {
         log.debug("Finding students with attendance stats for school {} between {} and {}", schoolId, start, end);
         
         validateSchoolExists(schoolId);
         validateDateRange(start, end);
         
-        List<Student> students = repository.findBySchoolIdAndActiveTrue(schoolId);
-        students.forEach(student -> {
-            double attendancePercentage = calculateAttendancePercentage(student.getId(), start, end);
-            student.setAttendancePercentage(attendancePercentage);
-        });
-        
-        return students;
+        // Whole scan days, like the per-student totals, so both report the same percentage.
+        return attendanceRepository.findAttendanceStatsBySchool(schoolId,
+                start.toLocalDate().atStartOfDay(), end.toLocalDate().plusDays(1).atStartOfDay());
     }
 
     @Override
@@ -224,10 +241,9 @@ public class StudentServiceImpl extends BaseServiceImpl<Student, StudentReposito
         log.debug("Counting absences for student {} between {} and {}", studentId, start, end);
         
         validateDateRange(start, end);
-        findStudentById(studentId);
+        validateStudentExists(studentId);
         
-        return attendanceRepository.countByStudentIdAndStatusAndScanTimeBetween(
-            studentId, Attendance.AttendanceStatus.ABSENT, start, end);
+        return attendanceRollupService.studentTotals(studentId, start.toLocalDate(), end.toLocalDate()).absences();
     }
 
     @Override
@@ -235,15 +251,10 @@ public class StudentServiceImpl extends BaseServiceImpl<Student, StudentReposito
         log.debug("Calculating attendance percentage for student {} between {} and {}", studentId, start, end);
         
         validateDateRange(start, end);
-        findStudentById(studentId);
-        
-        long totalDays = attendanceRepository.countByStudentIdAndScanTimeBetween(studentId, start, end);
-        if (totalDays == 0) {
-            return 100.0;
-        }
+        validateStudentExists(studentId);
         
-        long absences = countAbsences(studentId, start, end);
-        return ((double) (totalDays - absences) / totalDays) * 100;
+        return attendanceRollupService.studentTotals(studentId, start.toLocalDate(), end.toLocalDate())
+            .attendancePercentage();
     }
 
     @Override
@@ -267,12 +278,28 @@ public class StudentServiceImpl extends BaseServiceImpl<Student, StudentReposito
         }
     }
 
+    private void validateStudentExists(Long studentId) {
+        if (!repository.existsById(studentId)) {
+            throw new EntityNotFoundException("Student not found with id: " + studentId);
+        }
+    }
+
     private void validateRouteExists(Long routeId) {
         if (routeId == null) {
             throw new ValidationException("Route ID cannot be null");
         }
     }
 
+    /**
+     * A parent's tokens carry their children and the children's schools, so changing
+     * either revokes them.
+     */
+    private void revokeParentTokens(Student student) {
+        if (student.getParent() != null) {
+            student.getParent().revokeIssuedTokens();
+        }
+    }
+
     private Student findStudentById(Long studentId) {
         return repository.findById(studentId)
                 .orElseThrow(() -> new EntityNotFoundException("Student not found with id: " + studentId));
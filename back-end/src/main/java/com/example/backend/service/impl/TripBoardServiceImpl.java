@@ -0,0 +1,164 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.dto.attendance.AttendanceStatusCountView;
+import com.example.backend.dto.trip.TripAttendanceCountView;
+import com.example.backend.dto.trip.TripBoard;
+import com.example.backend.dto.trip.TripBoardEntry;
+import com.example.backend.entities.Attendance;
+import com.example.backend.entities.Trip;
+import com.example.backend.events.AttendanceCountsChangedEvent;
+import com.example.backend.events.TripDeadlineEvent;
+import com.example.backend.events.TripLifecycleEvent;
+import com.example.backend.exception.ValidationException;
+import com.example.backend.repository.AttendanceRepository;
+import com.example.backend.repository.TripRepository;
+import com.example.backend.service.TripBoardService;
+import com.example.backend.service.TripRules;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one in-memory board per school for the current day. Boards are built on first
+ * request (and again for every known school at midnight) and then patched in place from
+ * trip lifecycle, deadline and attendance events, so dashboards polling the board do not
+ * hit the trips table. Boards are loaded outside the map and installed only if no other
+ * thread replaced the board meanwhile, so a slow load never holds a map lock.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TripBoardServiceImpl implements TripBoardService {
+
+    private final TripRepository tripRepository;
+    private final AttendanceRepository attendanceRepository;
+
+    private final Map<Long, TripBoard> boards = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis());
+
+    @Override
+    public TripBoard getBoard(Long schoolId) {
+        if (schoolId == null) {
+            throw new ValidationException("schoolId", "School ID cannot be null");
+        }
+        LocalDate today = LocalDate.now();
+        TripBoard board = boards.get(schoolId);
+        if (board != null && board.date().equals(today)) {
+            return board;
+        }
+        TripBoard loaded = buildBoard(schoolId, today);
+        TripBoard installed = board == null
+                ? boards.putIfAbsent(schoolId, loaded)
+                : boards.replace(schoolId, board, loaded) ? null : boards.get(schoolId);
+        return installed != null && installed.date().equals(today) ? installed : loaded;
+    }
+
+    @Override
+    @Scheduled(cron = "0 0 0 * * *")
+    public void rebuildBoards() {
+        LocalDate today = LocalDate.now();
+        log.debug("Rebuilding trip boards for {} schools", boards.size());
+        boards.forEach((schoolId, board) -> boards.replace(schoolId, board, buildBoard(schoolId, today)));
+        log.info("Rebuilt {} trip boards for {}", boards.size(), today);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onTripLifecycle(TripLifecycleEvent event) {
+        Trip trip = tripRepository.findByIdWithDetails(event.tripId()).orElse(null);
+        LocalDate today = LocalDate.now();
+        if (trip == null || trip.getRoute().getSchool() == null) {
+            boards.replaceAll((schoolId, board) -> board.contains(event.tripId())
+                    ? board.withEntry(event.tripId(), null, versions.incrementAndGet())
+                    : board);
+            return;
+        }
+
+        Long schoolId = trip.getRoute().getSchool().getId();
+        boolean onBoard = trip.isActive() && trip.getScheduledDepartureTime().toLocalDate().equals(today);
+        TripBoardEntry entry = onBoard ? toEntry(trip) : null;
+        boards.computeIfPresent(schoolId, (id, board) -> {
+            if (!board.date().equals(today) || (entry == null && !board.contains(trip.getId()))) {
+                return board;
+            }
+            return board.withEntry(trip.getId(), entry, versions.incrementAndGet());
+        });
+        log.debug("Applied {} of trip {} to trip board of school {}", event.transition(), trip.getId(), schoolId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onAttendanceCountsChanged(AttendanceCountsChangedEvent event) {
+        long assignedDelta = event.assignedDelta();
+        long presentDelta = event.delta(Attendance.AttendanceStatus.PRESENT);
+        if (assignedDelta == 0 && presentDelta == 0) {
+            return;
+        }
+        boards.replaceAll((schoolId, board) -> board.contains(event.tripId())
+                ? board.mapEntry(event.tripId(), entry -> entry.withAttendanceDelta(assignedDelta, presentDelta),
+                        versions.incrementAndGet())
+                : board);
+    }
+
+    @EventListener
+    public void onTripDeadline(TripDeadlineEvent event) {
+        if (event.deadline() != TripDeadlineEvent.Deadline.START_OVERDUE) {
+            return;
+        }
+        boards.replaceAll((schoolId, board) -> board.contains(event.tripId())
+                ? board.mapEntry(event.tripId(), TripBoardEntry::withStartOverdue, versions.incrementAndGet())
+                : board);
+    }
+
+    private TripBoard buildBoard(Long schoolId, LocalDate date) {
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = start.plusDays(1);
+        log.debug("Building trip board for school {} on {}", schoolId, date);
+
+        Map<Long, TripAttendanceCountView> counts = attendanceRepository
+                .countAttendanceByTripForSchool(schoolId, start, end).stream()
+                .collect(Collectors.toMap(TripAttendanceCountView::getTripId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        List<TripBoardEntry> entries = new ArrayList<>();
+        for (Trip trip : tripRepository.findBoardTripsBySchool(schoolId, start, end)) {
+            TripAttendanceCountView count = counts.get(trip.getId());
+            entries.add(TripBoardEntry.of(trip, isStartOverdue(trip, now),
+                    count != null ? count.getAssigned() : 0,
+                    count != null ? count.getPresent() : 0));
+        }
+        return TripBoard.of(schoolId, date, versions.incrementAndGet(), entries);
+    }
+
+    private TripBoardEntry toEntry(Trip trip) {
+        long assigned = 0;
+        long present = 0;
+        for (AttendanceStatusCountView count : attendanceRepository.countByTripGroupedByStatus(trip.getId())) {
+            assigned += count.getTotal();
+            if (count.getStatus() == Attendance.AttendanceStatus.PRESENT) {
+                present += count.getTotal();
+            }
+        }
+        return TripBoardEntry.of(trip, isStartOverdue(trip, LocalDateTime.now()), assigned, present);
+    }
+
+    private boolean isStartOverdue(Trip trip, LocalDateTime now) {
+        return trip.getStatus() == Trip.TripStatus.SCHEDULED
+                && trip.getScheduledDepartureTime().plusMinutes(TripRules.START_WINDOW_MINUTES).isBefore(now);
+    }
+}
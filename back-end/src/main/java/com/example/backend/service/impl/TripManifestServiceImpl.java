@@ -0,0 +1,189 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.dto.trip.TripManifest;
+import com.example.backend.dto.trip.TripManifestEntry;
+import com.example.backend.dto.trip.TripManifestRowView;
+import com.example.backend.dto.trip.TripRollupKey;
+import com.example.backend.entities.Trip;
+import com.example.backend.events.TripLifecycleEvent;
+import com.example.backend.exception.EntityNotFoundException;
+import com.example.backend.exception.ValidationException;
+import com.example.backend.repository.AttendanceRepository;
+import com.example.backend.repository.TripRepository;
+import com.example.backend.security.qr.QrClaims;
+import com.example.backend.security.qr.SignedQrCodec;
+import com.example.backend.service.TripManifestService;
+import com.example.backend.service.TripRules;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a trip's manifest when it starts and keeps it in memory until the trip is
+ * completed or cancelled, so QR scans during the trip resolve with a hash lookup
+ * instead of a student query. Signed payloads are verified locally and matched by
+ * student id. Manifests for trips that are not in progress are built on demand and
+ * not cached.
+ *
+ * <p>Lifecycle events only reach the node that made the change, so a cached entry is
+ * also checked against the trip's status every {@value #STATUS_RECHECK_SECONDS} seconds
+ * and dropped once the trip has ended. Entries older than the maximum trip duration are
+ * purged periodically.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TripManifestServiceImpl implements TripManifestService {
+
+    private final TripRepository tripRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final SignedQrCodec signedQrCodec;
+
+    private static final long STATUS_RECHECK_SECONDS = 30;
+    private static final long STATUS_RECHECK_NANOS = TimeUnit.SECONDS.toNanos(STATUS_RECHECK_SECONDS);
+
+    private final Map<Long, CachedManifest> manifests = new ConcurrentHashMap<>();
+
+    @Override
+    public TripManifest getManifest(Long tripId) {
+        return cachedOrBuild(tripId).manifest();
+    }
+
+    @Override
+    public Optional<TripManifestEntry> resolveScan(Long tripId, String qrPayload) {
+        if (qrPayload == null || qrPayload.isBlank()) {
+            return Optional.empty();
+        }
+        CachedManifest cached = cachedOrBuild(tripId);
+        if (cached.status() != Trip.TripStatus.IN_PROGRESS) {
+            throw new ValidationException("tripId", "Trip is not in progress");
+        }
+        if (signedQrCodec.isSigned(qrPayload)) {
+            QrClaims claims = signedQrCodec.verify(qrPayload);
+            if (claims.tripId() != null && !claims.tripId().equals(tripId)) {
+                throw new ValidationException("qrCode", "Seat code was issued for a different trip");
+            }
+            return Optional.ofNullable(cached.byStudentId().get(claims.studentId()));
+        }
+        return Optional.ofNullable(cached.byQrHash().get(TripManifest.hashQrPayload(qrPayload)));
+    }
+
+    @Override
+    public TripRollupKey rollupKey(Long tripId) {
+        return cachedOrBuild(tripId).manifest().rollupKey();
+    }
+
+    @Override
+    public void evict(Long tripId) {
+        if (manifests.remove(tripId) != null) {
+            log.debug("Evicted manifest for trip {}", tripId);
+        }
+    }
+
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(TripRules.MAX_TRIP_DURATION_HOURS);
+        manifests.values().removeIf(cached -> cached.manifest().builtAt().isBefore(cutoff));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onTripLifecycle(TripLifecycleEvent event) {
+        switch (event.transition()) {
+            case STARTED -> {
+                CachedManifest cached = build(event.tripId());
+                manifests.put(event.tripId(), cached);
+                log.info("Cached manifest for trip {} with {} students",
+                        event.tripId(), cached.manifest().students().size());
+            }
+            // A new schedule can move the trip to another service day, i.e. another rollup key.
+            case RESCHEDULED, COMPLETED, CANCELLED -> evict(event.tripId());
+            default -> { }
+        }
+    }
+
+    private CachedManifest cachedOrBuild(Long tripId) {
+        CachedManifest cached = manifests.get(tripId);
+        if (cached != null) {
+            CachedManifest current = revalidate(tripId, cached);
+            if (current != null) {
+                return current;
+            }
+        }
+        CachedManifest built = build(tripId);
+        if (built.status() == Trip.TripStatus.IN_PROGRESS) {
+            CachedManifest raced = manifests.putIfAbsent(tripId, built);
+            return raced != null ? raced : built;
+        }
+        return built;
+    }
+
+    /**
+     * Returns the entry, rechecking the trip's status if it was last checked too long
+     * ago, or null once the trip is no longer in progress.
+     */
+    private CachedManifest revalidate(Long tripId, CachedManifest cached) {
+        long now = System.nanoTime();
+        if (now - cached.checkedAt() < STATUS_RECHECK_NANOS) {
+            return cached;
+        }
+        if (tripRepository.findActiveStatus(tripId).orElse(null) != Trip.TripStatus.IN_PROGRESS) {
+            manifests.remove(tripId, cached);
+            log.debug("Dropped manifest for trip {} that is no longer in progress", tripId);
+            return null;
+        }
+        CachedManifest checked = cached.checkedAt(now);
+        manifests.replace(tripId, cached, checked);
+        return checked;
+    }
+
+    private CachedManifest build(Long tripId) {
+        Trip trip = tripRepository.findByIdWithDetails(tripId)
+                .orElseThrow(() -> new EntityNotFoundException("Trip", tripId));
+
+        List<TripManifestEntry> students = new ArrayList<>();
+        for (TripManifestRowView row : attendanceRepository.findManifestRows(tripId)) {
+            students.add(new TripManifestEntry(row.getAttendanceId(), row.getStudentId(),
+                    row.getFirstName(), row.getLastName(), row.getSeatNumber(),
+                    row.getStudentQrCode() != null ? TripManifest.hashQrPayload(row.getStudentQrCode()) : null,
+                    row.getSeatQrCode() != null ? TripManifest.hashQrPayload(row.getSeatQrCode()) : null));
+        }
+
+        TripManifest manifest = new TripManifest(
+                trip.getId(),
+                trip.getRoute().getId(),
+                trip.getRoute().getName(),
+                trip.getVehicle() != null ? trip.getVehicle().getId() : null,
+                LocalDateTime.now(),
+                List.copyOf(students),
+                List.copyOf(trip.getRoute().getStops()),
+                TripRollupKey.of(trip));
+        Map<Long, TripManifestEntry> byStudentId = new HashMap<>();
+        students.forEach(entry -> byStudentId.putIfAbsent(entry.studentId(), entry));
+        return new CachedManifest(manifest, Map.copyOf(manifest.indexByQrHash()), Map.copyOf(byStudentId),
+                trip.getStatus(), System.nanoTime());
+    }
+
+    private record CachedManifest(TripManifest manifest, Map<String, TripManifestEntry> byQrHash,
+                                  Map<Long, TripManifestEntry> byStudentId, Trip.TripStatus status,
+                                  long checkedAt) {
+
+        CachedManifest checkedAt(long now) {
+            return new CachedManifest(manifest, byQrHash, byStudentId, status, now);
+        }
+    }
+}
@@ -1,31 +1,50 @@
 package com.example.backend.service.impl;
 
+import com.example.backend.dto.response.CursorPage;
+import com.example.backend.dto.trip.RouteTripStatsView;
+import com.example.backend.dto.trip.TripCursor;
 import com.example.backend.dto.trip.TripRequest;
+import com.example.backend.dto.trip.TripRollupKey;
 import com.example.backend.entities.Trip;
 import com.example.backend.entities.Vehicle;
 import com.example.backend.entities.Route;
 import com.example.backend.entities.user.Driver;
 import com.example.backend.entities.Student;
 import com.example.backend.entities.Attendance;
+import com.example.backend.events.TripLifecycleEvent;
+import com.example.backend.exception.ConcurrentUpdateException;
+import com.example.backend.exception.UnauthorizedException;
 import com.example.backend.repository.DriverRepository;
 import com.example.backend.repository.TripRepository;
 import com.example.backend.repository.VehicleRepository;
 import com.example.backend.repository.RouteRepository;
 import com.example.backend.repository.StudentRepository;
 import com.example.backend.repository.AttendanceRepository;
+import com.example.backend.security.SecurityUtils;
+import com.example.backend.security.qr.SignedQrCodec;
+import com.example.backend.service.AttendanceRollupService;
+import com.example.backend.service.TripRules;
 import com.example.backend.service.TripService;
+import com.example.backend.service.TripSummaryService;
 import com.example.backend.service.base.BaseServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -38,25 +57,39 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
     private final RouteRepository routeRepository;
     private final StudentRepository studentRepository;
     private final AttendanceRepository attendanceRepository;
+    private final TripSummaryService tripSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SignedQrCodec signedQrCodec;
+    private final AttendanceRollupService attendanceRollupService;
 
     // Constants for business rules
     private static final int MIN_TRIP_DURATION_MINUTES = 15;
-    private static final int MAX_TRIP_DURATION_HOURS = 4;
     private static final int MIN_SCHEDULE_ADVANCE_HOURS = 1;
     private static final int MAX_SCHEDULE_ADVANCE_DAYS = 30;
+    private static final int ON_TIME_TOLERANCE_MINUTES = 5;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_TRANSITION_ATTEMPTS = 3;
 
     public TripServiceImpl(TripRepository repository,
                           DriverRepository driverRepository,
                           VehicleRepository vehicleRepository,
                           RouteRepository routeRepository,
                           StudentRepository studentRepository,
-                          AttendanceRepository attendanceRepository) {
+                          AttendanceRepository attendanceRepository,
+                          TripSummaryService tripSummaryService,
+                          ApplicationEventPublisher eventPublisher,
+                          SignedQrCodec signedQrCodec,
+                          AttendanceRollupService attendanceRollupService) {
         super(repository);
         this.driverRepository = driverRepository;
         this.vehicleRepository = vehicleRepository;
         this.routeRepository = routeRepository;
         this.studentRepository = studentRepository;
         this.attendanceRepository = attendanceRepository;
+        this.tripSummaryService = tripSummaryService;
+        this.eventPublisher = eventPublisher;
+        this.signedQrCodec = signedQrCodec;
+        this.attendanceRollupService = attendanceRollupService;
     }
 
     @Override
@@ -72,8 +105,9 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
         newTrip.setScheduledDepartureTime(trip.getScheduledDepartureTime());
         newTrip.setNotes(trip.getNotes());
 
-
-        return repository.save(newTrip);
+        Trip saved = repository.save(newTrip);
+        publishLifecycle(saved, TripLifecycleEvent.Transition.CREATED);
+        return saved;
     }
 
     @Override
@@ -129,6 +163,7 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
 
         trip.setDriver(driver);
         repository.save(trip);
+        publishLifecycle(trip, TripLifecycleEvent.Transition.REASSIGNED);
         log.info("Successfully assigned driver {} to trip {}", driverId, tripId);
     }
 
@@ -144,6 +179,7 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
 
         trip.setVehicle(vehicle);
         repository.save(trip);
+        publishLifecycle(trip, TripLifecycleEvent.Transition.REASSIGNED);
         log.info("Successfully assigned vehicle {} to trip {}", vehicleId, tripId);
     }
 
@@ -152,12 +188,22 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
     public void updateTripStatus(Long tripId, String status) {
         log.debug("Updating trip {} status to {}", tripId, status);
         
-        Trip trip = findTripById(tripId);
         validateTripStatus(status);
-        validateStatusUpdate(trip, Trip.TripStatus.valueOf(status));
-
-        trip.setStatus(Trip.TripStatus.valueOf(status));
-        repository.save(trip);
+        Trip.TripStatus newStatus = Trip.TripStatus.valueOf(status);
+
+        Trip trip = compareAndSet(tripId, current -> validateStatusUpdate(current, newStatus), current -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime departure = newStatus == Trip.TripStatus.IN_PROGRESS && current.getActualDepartureTime() == null
+                    ? now : current.getActualDepartureTime();
+            LocalDateTime arrival = newStatus == Trip.TripStatus.COMPLETED && current.getActualArrivalTime() == null
+                    ? now : current.getActualArrivalTime();
+            return repository.compareAndSetState(current.getId(), current.getVersion(), newStatus,
+                    departure, arrival, current.getNotes(), now);
+        });
+        if (trip.getStatus() == Trip.TripStatus.COMPLETED || trip.getStatus() == Trip.TripStatus.CANCELLED) {
+            tripSummaryService.recordSummary(trip);
+        }
+        publishLifecycle(trip, transitionFor(trip.getStatus()));
         log.info("Successfully updated trip {} status to {}", tripId, status);
     }
 
@@ -169,8 +215,11 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
         Trip trip = findTripById(tripId);
         validateScheduleUpdate(trip, departureTime);
 
+        LocalDate previousServiceDate = attendanceRollupService.serviceDate(tripId);
         trip.setScheduledDepartureTime(departureTime);
         repository.save(trip);
+        attendanceRollupService.recordTripRescheduled(tripId, previousServiceDate);
+        publishLifecycle(trip, TripLifecycleEvent.Transition.RESCHEDULED);
         log.info("Successfully updated schedule for trip {}", tripId);
     }
 
@@ -179,12 +228,12 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
     public void startTrip(Long tripId) {
         log.debug("Starting trip {}", tripId);
         
-        Trip trip = findTripById(tripId);
-        validateTripStart(trip);
-
-        trip.setStatus(Trip.TripStatus.IN_PROGRESS);
-        trip.setActualDepartureTime(LocalDateTime.now());
-        repository.save(trip);
+        Trip trip = compareAndSet(tripId, this::validateTripStart, current -> {
+            LocalDateTime now = LocalDateTime.now();
+            return repository.compareAndSetState(current.getId(), current.getVersion(), Trip.TripStatus.IN_PROGRESS,
+                    now, current.getActualArrivalTime(), current.getNotes(), now);
+        });
+        publishLifecycle(trip, TripLifecycleEvent.Transition.STARTED);
         log.info("Successfully started trip {}", tripId);
     }
 
@@ -193,12 +242,13 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
     public void completeTrip(Long tripId) {
         log.debug("Completing trip {}", tripId);
         
-        Trip trip = findTripById(tripId);
-        validateTripCompletion(trip);
-
-        trip.setStatus(Trip.TripStatus.COMPLETED);
-        trip.setActualArrivalTime(LocalDateTime.now());
-        repository.save(trip);
+        Trip trip = compareAndSet(tripId, this::validateTripCompletion, current -> {
+            LocalDateTime now = LocalDateTime.now();
+            return repository.compareAndSetState(current.getId(), current.getVersion(), Trip.TripStatus.COMPLETED,
+                    current.getActualDepartureTime(), now, current.getNotes(), now);
+        });
+        tripSummaryService.recordSummary(trip);
+        publishLifecycle(trip, TripLifecycleEvent.Transition.COMPLETED);
         log.info("Successfully completed trip {}", tripId);
     }
 
@@ -207,13 +257,12 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
     public void cancelTrip(Long tripId, String reason) {
         log.debug("Canceling trip {} with reason: {}", tripId, reason);
         
-        Trip trip = findTripById(tripId);
-        validateTripCancellation(trip);
         validateCancellationReason(reason);
-
-        trip.setStatus(Trip.TripStatus.CANCELLED);
-        trip.setNotes(reason);
-        repository.save(trip);
+        Trip trip = compareAndSet(tripId, this::validateTripCancellation, current ->
+                repository.compareAndSetState(current.getId(), current.getVersion(), Trip.TripStatus.CANCELLED,
+                        current.getActualDepartureTime(), current.getActualArrivalTime(), reason, LocalDateTime.now()));
+        tripSummaryService.recordSummary(trip);
+        publishLifecycle(trip, TripLifecycleEvent.Transition.CANCELLED);
         log.info("Successfully canceled trip {}", tripId);
     }
 
@@ -224,16 +273,30 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
         validateSchoolExists(schoolId);
         validateDateRange(start, end);
         
-        return repository.findUpcomingTrips(start, end).stream()
-            .filter(trip -> trip.getRoute().getSchool().getId().equals(schoolId))
-            .toList();
+        return repository.findUpcomingTripsBySchool(schoolId, start, end);
     }
 
     @Override
-    public List<Trip> findTripsByStudentId(Long studentId, int page, int size) {
-        log.debug("Finding trips for student {} with pagination", studentId);
+    public List<RouteTripStatsView> getRouteTripStats(Long schoolId, LocalDateTime start, LocalDateTime end) {
+        log.debug("Aggregating route trip statistics for school {} between {} and {}", schoolId, start, end);
+
+        validateSchoolExists(schoolId);
+        validateDateRange(start, end);
+
+        return repository.findRouteTripStatsBySchool(schoolId, start, end, ON_TIME_TOLERANCE_MINUTES);
+    }
+
+    @Override
+    public CursorPage<Trip> findTripsByStudentId(Long studentId, String cursor, int size) {
+        log.debug("Finding trips for student {} after cursor {}", studentId, cursor);
         validateStudentExists(studentId);
-        return repository.findTripsByStudentId(studentId, page, size);
+        Limit limit = pageLimit(size);
+        if (cursor == null || cursor.isBlank()) {
+            return toCursorPage(repository.findTripsByStudentId(studentId, limit), size);
+        }
+        TripCursor position = TripCursor.decode(cursor);
+        return toCursorPage(repository.findTripsByStudentIdAfter(
+                studentId, position.scheduledDepartureTime(), position.id(), limit), size);
     }
 
     @Override
@@ -254,7 +317,9 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
 
         trip.setActualDepartureTime(LocalDateTime.now());
         
-        return repository.save(trip);
+        Trip saved = repository.save(trip);
+        publishLifecycle(saved, TripLifecycleEvent.Transition.CREATED);
+        return saved;
     }
 
     @Override
@@ -299,9 +364,15 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
     }
 
     @Override
-    public List<Trip> getTripHistory(int page, int size) {
-        log.debug("Getting trip history with pagination");
-        return repository.findTripHistory(page, size);
+    public CursorPage<Trip> getTripHistory(String cursor, int size) {
+        log.debug("Getting trip history after cursor {}", cursor);
+        Limit limit = pageLimit(size);
+        if (cursor == null || cursor.isBlank()) {
+            return toCursorPage(repository.findTripHistory(limit), size);
+        }
+        TripCursor position = TripCursor.decode(cursor);
+        return toCursorPage(repository.findTripHistoryAfter(
+                position.scheduledDepartureTime(), position.id(), limit), size);
     }
 
     @Override
@@ -362,14 +433,24 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
             }
         }
         
+        // Students already on the trip keep their row; re-assigning them is a no-op
+        Set<Long> assignedStudentIds = existingAttendances.stream()
+                .filter(Attendance::isActive)
+                .map(attendance -> attendance.getStudent().getId())
+                .collect(Collectors.toSet());
+        List<Student> newStudents = students.stream()
+                .filter(student -> !assignedStudentIds.contains(student.getId()))
+                .toList();
+        
         // Validate total capacity
-        if (existingAttendances.size() + students.size() > vehicleCapacity) {
+        if (existingAttendances.size() + newStudents.size() > vehicleCapacity) {
             throw new ValidationException("Cannot assign more students than vehicle capacity. Available seats: " + 
                 (vehicleCapacity - existingAttendances.size()));
         }
         
         // Create attendance records for each student
-        for (Student student : students) {
+        Instant seatCodeValidFrom = trip.getScheduledDepartureTime().atZone(ZoneId.systemDefault()).toInstant();
+        for (Student student : newStudents) {
             Attendance attendance = new Attendance();
             attendance.setStudent(student);
             attendance.setTrip(trip);
@@ -378,15 +459,17 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
             // Assign seat number
             attendance.setSeatNumber(nextSeatNumber++);
             
-            // Generate QR code
-            String qrData = String.format("trip:%d,student:%d,seat:%d", 
-                trip.getId(), student.getId(), attendance.getSeatNumber());
-            attendance.setQrCode(qrData);
+            // Signed seat code, valid until a day after the scheduled departure
+            attendance.setQrCode(signedQrCodec.signSeat(trip.getId(), student.getId(),
+                attendance.getSeatNumber(), seatCodeValidFrom));
             
             attendanceRepository.save(attendance);
         }
+        attendanceRollupService.recordInserted(TripRollupKey.of(trip), Attendance.AttendanceStatus.PENDING,
+                newStudents.size());
         
-        log.info("Successfully assigned {} students to trip {}", studentIds.size(), tripId);
+        log.info("Successfully assigned {} students to trip {} ({} already assigned)",
+                newStudents.size(), tripId, students.size() - newStudents.size());
         return trip;
     }
 
@@ -532,8 +615,8 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
         LocalDateTime scheduledTime = trip.getScheduledDepartureTime();
         long minutesDifference = Math.abs(ChronoUnit.MINUTES.between(now, scheduledTime));
         
-        if (minutesDifference > 30) {
-            throw new ValidationException("Trip can only be started within 30 minutes of scheduled departure time");
+        if (minutesDifference > TripRules.START_WINDOW_MINUTES) {
+            throw new ValidationException("Trip can only be started within " + TripRules.START_WINDOW_MINUTES + " minutes of scheduled departure time");
         }
     }
 
@@ -576,8 +659,58 @@ public class TripServiceImpl extends BaseServiceImpl<Trip, TripRepository> imple
     }
 
     private Long getCurrentDriverId() {
-        // Implementation to get current driver ID from security context
-        return null; // TODO: Implement this method
+        return SecurityUtils.getCurrentDriverId()
+                .orElseThrow(() -> new UnauthorizedException("Current user is not a driver"));
+    }
+
+    /**
+     * Applies a status transition as a conditional UPDATE against the version that was
+     * validated. If another request changed the trip in between, the trip is re-read and
+     * re-validated, so a transition that is no longer legal fails validation instead of
+     * overwriting the other change.
+     */
+    private Trip compareAndSet(Long tripId, Consumer<Trip> validator, ToIntFunction<Trip> update) {
+        for (int attempt = 1; attempt <= MAX_TRANSITION_ATTEMPTS; attempt++) {
+            Trip current = findTripById(tripId);
+            validator.accept(current);
+            if (update.applyAsInt(current) == 1) {
+                return findTripById(tripId);
+            }
+            log.debug("Trip {} changed concurrently, retrying transition (attempt {})", tripId, attempt);
+        }
+        throw new ConcurrentUpdateException("Trip", tripId);
+    }
+
+    private void publishLifecycle(Trip trip, TripLifecycleEvent.Transition transition) {
+        eventPublisher.publishEvent(new TripLifecycleEvent(trip.getId(), transition));
+    }
+
+    private TripLifecycleEvent.Transition transitionFor(Trip.TripStatus status) {
+        return switch (status) {
+            case IN_PROGRESS -> TripLifecycleEvent.Transition.STARTED;
+            case COMPLETED -> TripLifecycleEvent.Transition.COMPLETED;
+            case CANCELLED -> TripLifecycleEvent.Transition.CANCELLED;
+            case SCHEDULED -> TripLifecycleEvent.Transition.RESCHEDULED;
+        };
+    }
+
+    /**
+     * Fetches one row beyond the requested page size so the presence of a next page
+     * is known without a separate count query.
+     */
+    private Limit pageLimit(int size) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
+        return Limit.of(size + 1);
+    }
+
+    private CursorPage<Trip> toCursorPage(List<Trip> rows, int size) {
+        if (rows.size() <= size) {
+            return CursorPage.of(rows, null);
+        }
+        List<Trip> page = rows.subList(0, size);
+        return CursorPage.of(page, TripCursor.after(page.get(size - 1)).encode());
     }
 
     private Route findRouteById(Long routeId) {
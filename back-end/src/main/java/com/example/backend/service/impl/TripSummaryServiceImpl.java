@@ -0,0 +1,128 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.dto.attendance.AttendanceStatusCountView;
+import com.example.backend.dto.trip.TripSummaryStatsView;
+import com.example.backend.entities.Attendance;
+import com.example.backend.entities.Trip;
+import com.example.backend.entities.TripSummary;
+import com.example.backend.events.AttendanceCountsChangedEvent;
+import com.example.backend.exception.ValidationException;
+import com.example.backend.repository.AttendanceRepository;
+import com.example.backend.repository.TripSummaryRepository;
+import com.example.backend.service.RouteService;
+import com.example.backend.service.TripSummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TripSummaryServiceImpl implements TripSummaryService {
+
+    private final TripSummaryRepository tripSummaryRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final RouteService routeService;
+
+    @Override
+    @Transactional
+    public TripSummary recordSummary(Trip trip) {
+        log.debug("Recording summary for trip {}", trip.getId());
+
+        TripSummary summary = tripSummaryRepository.findByTripId(trip.getId()).orElseGet(TripSummary::new);
+        summary.setTrip(trip);
+        summary.setDriverId(trip.getDriver() != null ? trip.getDriver().getId() : null);
+        summary.setVehicleId(trip.getVehicle() != null ? trip.getVehicle().getId() : null);
+        summary.setRouteId(trip.getRoute().getId());
+        summary.setSchoolId(trip.getRoute().getSchool() != null ? trip.getRoute().getSchool().getId() : null);
+        summary.setFinalStatus(trip.getStatus());
+        summary.setScheduledDepartureTime(trip.getScheduledDepartureTime());
+        summary.setActualDepartureTime(trip.getActualDepartureTime());
+        summary.setActualArrivalTime(trip.getActualArrivalTime());
+        summary.setDurationMinutes(minutesBetween(trip.getActualDepartureTime(), trip.getActualArrivalTime()));
+        summary.setDepartureDelayMinutes(minutesBetween(trip.getScheduledDepartureTime(), trip.getActualDepartureTime()));
+        if (trip.getStatus() == Trip.TripStatus.COMPLETED) {
+            summary.setDistanceKm(routeService.calculateRouteDistance(trip.getRoute().getId()));
+        }
+
+        int present = 0;
+        int absent = 0;
+        int assigned = 0;
+        for (AttendanceStatusCountView count : attendanceRepository.countByTripGroupedByStatus(trip.getId())) {
+            assigned += (int) count.getTotal();
+            if (count.getStatus() == Attendance.AttendanceStatus.PRESENT) {
+                present += (int) count.getTotal();
+            } else if (count.getStatus() == Attendance.AttendanceStatus.ABSENT
+                    || count.getStatus() == Attendance.AttendanceStatus.ABSENT_NOTIFIED) {
+                absent += (int) count.getTotal();
+            }
+        }
+        summary.setPresentCount(present);
+        summary.setAbsentCount(absent);
+        summary.setAssignedCount(assigned);
+
+        TripSummary saved = tripSummaryRepository.save(summary);
+        log.info("Recorded {} summary for trip {}", trip.getStatus(), trip.getId());
+        return saved;
+    }
+
+    @Override
+    public TripSummaryStatsView getSchoolStats(Long schoolId, LocalDateTime start, LocalDateTime end) {
+        log.debug("Aggregating trip summaries for school {} between {} and {}", schoolId, start, end);
+        if (schoolId == null) {
+            throw new ValidationException("schoolId", "School ID cannot be null");
+        }
+        if (start == null || end == null || start.isAfter(end)) {
+            throw new ValidationException("period", "A valid start and end date are required");
+        }
+        return tripSummaryRepository.aggregateBySchool(schoolId, start, end);
+    }
+
+    /**
+     * Keeps a finished trip's counts in step with attendance corrections. Runs
+     * synchronously, so the adjustment commits or rolls back with the correction.
+     */
+    @EventListener
+    @Transactional
+    public void onAttendanceCountsChanged(AttendanceCountsChangedEvent event) {
+        int present = (int) event.delta(Attendance.AttendanceStatus.PRESENT);
+        int absent = (int) (event.delta(Attendance.AttendanceStatus.ABSENT)
+                + event.delta(Attendance.AttendanceStatus.ABSENT_NOTIFIED));
+        int assigned = (int) event.assignedDelta();
+        if (present == 0 && absent == 0 && assigned == 0) {
+            return;
+        }
+        tripSummaryRepository.applyAttendanceDelta(event.tripId(), present, absent, assigned);
+    }
+
+    /** Invoked through the proxy, unlike the self-call below, so it opens the write transaction. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void onApplicationReady() {
+        backfillMissingSummaries();
+    }
+
+    @Override
+    @Transactional
+    public int backfillMissingSummaries() {
+        int created = tripSummaryRepository.backfillMissingSummaries();
+        if (created > 0) {
+            log.info("Backfilled {} trip summaries", created);
+        }
+        return created;
+    }
+
+    private Long minutesBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            return null;
+        }
+        return ChronoUnit.MINUTES.between(from, to);
+    }
+}
@@ -6,12 +6,14 @@ import com.example.backend.entities.Vehicle;
 import com.example.backend.entities.user.Driver;
 import com.example.backend.entities.user.Parent;
 import com.example.backend.entities.user.User;
+import com.example.backend.events.UserAccountChangedEvent;
 import com.example.backend.repository.*;
 import com.example.backend.service.UserService;
 import com.example.backend.service.base.BaseServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -33,11 +35,12 @@ public class UserServiceImpl extends BaseServiceImpl<User, UserRepository> imple
     private final StudentRepository studentRepository;
     private final SchoolRepository schoolRepository;
     private final VehicleRepository vehicleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserServiceImpl(@Qualifier("userRepository") UserRepository repository, PasswordEncoder passwordEncoder,
                           ParentRepository parentRepository, DriverRepository driverRepository,
                           StudentRepository studentRepository, SchoolRepository schoolRepository,
-                          VehicleRepository vehicleRepository) {
+                          VehicleRepository vehicleRepository, ApplicationEventPublisher eventPublisher) {
         super(repository);
         this.passwordEncoder = passwordEncoder;
         this.parentRepository = parentRepository;
@@ -45,6 +48,7 @@ public class UserServiceImpl extends BaseServiceImpl<User, UserRepository> imple
         this.studentRepository = studentRepository;
         this.schoolRepository = schoolRepository;
         this.vehicleRepository = vehicleRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -77,6 +81,7 @@ public class UserServiceImpl extends BaseServiceImpl<User, UserRepository> imple
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
         user.setPassword(passwordEncoder.encode(newPassword));
         repository.save(user);
+        publishChange(user, UserAccountChangedEvent.Change.PASSWORD_CHANGED);
     }
 
     @Override
@@ -109,6 +114,7 @@ public class UserServiceImpl extends BaseServiceImpl<User, UserRepository> imple
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
         user.setActive(false);
         repository.save(user);
+        publishChange(user, UserAccountChangedEvent.Change.DEACTIVATED);
     }
 
     @Override
@@ -124,6 +130,7 @@ public class UserServiceImpl extends BaseServiceImpl<User, UserRepository> imple
 
         user.setPassword(passwordEncoder.encode(newPassword));
         repository.save(user);
+        publishChange(user, UserAccountChangedEvent.Change.PASSWORD_CHANGED);
     }
 
     @Override
@@ -134,6 +141,7 @@ public class UserServiceImpl extends BaseServiceImpl<User, UserRepository> imple
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
         user.setPassword(passwordEncoder.encode(newPassword));
         repository.save(user);
+        publishChange(user, UserAccountChangedEvent.Change.PASSWORD_RESET);
     }
 
     @Override
@@ -148,6 +156,7 @@ public class UserServiceImpl extends BaseServiceImpl<User, UserRepository> imple
         existingUser.setPhoneNumber(updatedUser.getPhoneNumber());
 
         repository.save(existingUser);
+        publishChange(existingUser, UserAccountChangedEvent.Change.PROFILE_UPDATED);
     }
 
     @Override
@@ -375,6 +384,7 @@ public class UserServiceImpl extends BaseServiceImpl<User, UserRepository> imple
         student.setSchool(school);
         student.setSeatNumber(seatNumber);
         student.setActive(true);
+        parent.revokeIssuedTokens();
 
         return studentRepository.save(student);
     }
@@ -428,4 +438,8 @@ public class UserServiceImpl extends BaseServiceImpl<User, UserRepository> imple
         }
         return parentRepository.save(parent);
     }
-}
\ No newline at end of file
+
+    private void publishChange(User user, UserAccountChangedEvent.Change change) {
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), user.getUsername(), change));
+    }
+}
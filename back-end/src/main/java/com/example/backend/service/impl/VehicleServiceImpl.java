@@ -1,13 +1,17 @@
 package com.example.backend.service.impl;
 
+import com.example.backend.cache.ReferenceDataCache;
+import com.example.backend.dto.trip.TripCountView;
 import com.example.backend.entities.School;
 import com.example.backend.entities.Vehicle;
 import com.example.backend.exception.EntityNotFoundException;
 import com.example.backend.exception.ValidationException;
 import com.example.backend.repository.SchoolRepository;
+import com.example.backend.repository.TripSummaryRepository;
 import com.example.backend.repository.VehicleRepository;
 import com.example.backend.service.VehicleService;
 import com.example.backend.service.base.BaseServiceImpl;
+import com.fasterxml.jackson.databind.util.RawValue;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,7 +19,9 @@ import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -23,10 +29,22 @@ import java.util.Optional;
 public class VehicleServiceImpl extends BaseServiceImpl<Vehicle, VehicleRepository> implements VehicleService {
 
     private final SchoolRepository schoolRepository;
+    private final TripSummaryRepository tripSummaryRepository;
+    private final ReferenceDataCache referenceDataCache;
 
-    public VehicleServiceImpl(VehicleRepository repository, SchoolRepository schoolRepository) {
+    public VehicleServiceImpl(VehicleRepository repository,
+                              SchoolRepository schoolRepository,
+                              TripSummaryRepository tripSummaryRepository,
+                              ReferenceDataCache referenceDataCache) {
         super(repository);
         this.schoolRepository = schoolRepository;
+        this.tripSummaryRepository = tripSummaryRepository;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @Override
+    public RawValue findAllAsJson() {
+        return referenceDataCache.get(ReferenceDataCache.Region.VEHICLES, repository::findAll);
     }
 
     @Override
@@ -80,7 +98,7 @@ public class VehicleServiceImpl extends BaseServiceImpl<Vehicle, VehicleReposito
     public long countCompletedTrips(Long vehicleId) {
         log.debug("Counting completed trips for vehicle {}", vehicleId);
         validateVehicleExists(vehicleId);
-        return repository.countCompletedTrips(vehicleId);
+        return tripSummaryRepository.countCompletedByVehicle(vehicleId);
     }
 
     @Override
@@ -208,9 +226,10 @@ public class VehicleServiceImpl extends BaseServiceImpl<Vehicle, VehicleReposito
     public List<Vehicle> findVehiclesWithStats() {
         log.debug("Finding vehicles with statistics");
         List<Vehicle> vehicles = repository.findAllByActiveTrue();
-        vehicles.forEach(vehicle -> {
-            vehicle.setCompletedTripsCount(countCompletedTrips(vehicle.getId()));
-        });
+        Map<Long, Long> completedTrips = tripSummaryRepository.countCompletedGroupedByVehicle().stream()
+                .collect(Collectors.toMap(TripCountView::getOwnerId, TripCountView::getCompletedTrips));
+        vehicles.forEach(vehicle ->
+                vehicle.setCompletedTripsCount(completedTrips.getOrDefault(vehicle.getId(), 0L)));
         return vehicles;
     }
 
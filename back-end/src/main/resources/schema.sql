@@ -0,0 +1,44 @@
+-- Runs after Hibernate has updated the schema (spring.jpa.defer-datasource-initialization).
+-- Objects here cannot be expressed with JPA annotations.
+
+-- At most one active attendance per student and trip. Newer duplicates are deactivated
+-- first so the index can be created on existing data; the earliest row is kept. The
+-- attendance rollups counted the duplicates, so when any are found both rollup tables
+-- are emptied and the startup backfill rebuilds them in full from active rows.
+WITH deactivated AS (
+    UPDATE attendances a SET active = false, updated_at = now()
+    WHERE a.active = true
+    AND EXISTS (SELECT 1 FROM attendances b
+                WHERE b.student_id = a.student_id AND b.trip_id = a.trip_id
+                AND b.active = true AND b.id < a.id)
+    RETURNING a.id
+), cleared_daily_counts AS (
+    DELETE FROM attendance_daily_counts WHERE EXISTS (SELECT 1 FROM deactivated)
+)
+DELETE FROM student_attendance_days WHERE EXISTS (SELECT 1 FROM deactivated);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_attendances_active_student_trip
+    ON attendances (student_id, trip_id) WHERE active = true;
+
+-- Normalized (trimmed, lower-cased) usernames and emails back the single-probe login
+-- lookups. Rows written before the columns existed are backfilled here; new writes are
+-- kept in sync by the entity. If two existing accounts differ only by case, the oldest
+-- keeps the plain normalized value and the others get their id appended, so they can
+-- only sign in again once an admin renames them.
+UPDATE users u SET username_normalized = lower(trim(u.username))
+                   || CASE WHEN EXISTS (SELECT 1 FROM users o
+                                        WHERE lower(trim(o.username)) = lower(trim(u.username)) AND o.id < u.id)
+                           THEN '#' || u.id ELSE '' END
+WHERE u.username_normalized IS NULL;
+
+UPDATE users u SET email_normalized = lower(trim(u.email))
+                   || CASE WHEN EXISTS (SELECT 1 FROM users o
+                                        WHERE lower(trim(o.email)) = lower(trim(u.email)) AND o.id < u.id)
+                           THEN '#' || u.id ELSE '' END
+WHERE u.email_normalized IS NULL;
+
+ALTER TABLE users ALTER COLUMN username_normalized SET NOT NULL;
+ALTER TABLE users ALTER COLUMN email_normalized SET NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_username_normalized ON users (username_normalized);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email_normalized ON users (email_normalized);
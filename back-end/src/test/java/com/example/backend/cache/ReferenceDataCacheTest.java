@@ -0,0 +1,144 @@
+package com.example.backend.cache;
+
+import com.example.backend.cache.ReferenceDataCache.Region;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReferenceDataCacheTest {
+
+    private InMemorySharedCache shared;
+    private SimpleMeterRegistry nodeAMetrics;
+    private ReferenceDataCache nodeA;
+    private ReferenceDataCache nodeB;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        shared = new InMemorySharedCache();
+        nodeAMetrics = new SimpleMeterRegistry();
+        nodeA = node(nodeAMetrics);
+        nodeB = node(new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should load once and then serve the same JSON from the near cache")
+    void get_ShouldReadThroughAndServeNearCopy() {
+        assertEquals("[\"north\",\"south\"]", nodeA.get(Region.ROUTES, this::load).rawValue());
+        assertEquals("[\"north\",\"south\"]", nodeA.get(Region.ROUTES, this::load).rawValue());
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, nodeAMetrics.counter("nimbus.cache.reference", "level", "miss", "region", "routes").count());
+        assertEquals(1.0, nodeAMetrics.counter("nimbus.cache.reference", "level", "near", "region", "routes").count());
+    }
+
+    @Test
+    @DisplayName("Should serve another node's load from the shared cache without hitting the loader")
+    void get_ShouldServeSharedCopyToOtherNodes() {
+        nodeA.get(Region.SCHOOLS, this::load);
+
+        assertEquals("[\"north\",\"south\"]", nodeB.get(Region.SCHOOLS, this::load).rawValue());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should evict every node and retire the shared entry on invalidation")
+    void invalidate_ShouldFanOutEvictionToAllNodes() {
+        nodeA.get(Region.VEHICLES, this::load);
+        nodeB.get(Region.VEHICLES, this::load);
+
+        nodeA.invalidate(Set.of(Region.VEHICLES));
+
+        nodeB.get(Region.VEHICLES, this::load);
+        nodeA.get(Region.VEHICLES, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should keep serving from the database when the shared cache fails")
+    void get_ShouldFallBackToLoaderWhenSharedCacheFails() {
+        shared.failing = true;
+
+        assertEquals("[\"north\",\"south\"]", nodeA.get(Region.DRIVERS, this::load).rawValue());
+        nodeA.invalidate(Set.of(Region.DRIVERS));
+        nodeA.get(Region.DRIVERS, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    private List<String> load() {
+        loads.incrementAndGet();
+        return List.of("north", "south");
+    }
+
+    private ReferenceDataCache node(SimpleMeterRegistry meterRegistry) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("sharedCache", shared);
+        ReferenceDataCache cache = new ReferenceDataCache(new ObjectMapper(),
+                beanFactory.getBeanProvider(SharedCache.class), 60_000, 60_000, meterRegistry);
+        cache.connectSharedCache();
+        return cache;
+    }
+
+    /** Stands in for Redis: one key space and one eviction channel shared by every node. */
+    private static class InMemorySharedCache implements SharedCache {
+
+        private final Map<String, String> values = new ConcurrentHashMap<>();
+        private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public long version(String key) {
+            return Long.parseLong(get(key + ":version").orElse("0"));
+        }
+
+        @Override
+        public void bumpVersion(String key) {
+            put(key + ":version", String.valueOf(version(key) + 1), Duration.ZERO);
+        }
+
+        @Override
+        public Optional<String> get(String key) {
+            checkAvailable();
+            return Optional.ofNullable(values.get(key));
+        }
+
+        @Override
+        public void put(String key, String value, Duration ttl) {
+            checkAvailable();
+            values.put(key, value);
+        }
+
+        @Override
+        public void publishEviction(String region) {
+            checkAvailable();
+            listeners.forEach(listener -> listener.accept(region));
+        }
+
+        @Override
+        public void subscribe(Consumer<String> listener) {
+            listeners.add(listener);
+        }
+
+        private void checkAvailable() {
+            if (failing) {
+                throw new IllegalStateException("Redis unavailable");
+            }
+        }
+    }
+}
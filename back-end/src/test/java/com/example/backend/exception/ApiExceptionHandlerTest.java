@@ -0,0 +1,76 @@
+package com.example.backend.exception;
+
+import com.example.backend.dto.response.ApiResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApiExceptionHandlerTest {
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @Test
+    @DisplayName("Should answer a lost compare-and-set race with 409")
+    void handleConcurrentUpdate_ShouldReturnConflict() {
+        ResponseEntity<ApiResponse<Void>> response =
+                handler.handleConcurrentUpdate(new ConcurrentUpdateException("Trip", 7L));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("CONCURRENT_UPDATE", response.getBody().getError());
+        assertTrue(response.getBody().getMessage().contains("Trip 7"));
+    }
+
+    @Test
+    @DisplayName("Should answer a failed version check at flush with 409")
+    void handleOptimisticLockingFailure_ShouldReturnConflict() {
+        ResponseEntity<ApiResponse<Void>> response = handler.handleOptimisticLockingFailure(
+                new ObjectOptimisticLockingFailureException("Attendance", 3L));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertFalse(response.getBody().isSuccess());
+    }
+
+    @Test
+    @DisplayName("Should answer a clash on a normalized user identifier with 400")
+    void handleDataIntegrityViolation_ShouldReturnBadRequestForUserIdentifierClash() {
+        ConstraintViolationException violation = new ConstraintViolationException(
+                "duplicate key", new SQLException("duplicate key"), "uk_users_email_normalized");
+
+        ResponseEntity<ApiResponse<Void>> response = handler.handleDataIntegrityViolation(
+                new DataIntegrityViolationException("could not execute statement", violation));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Email already exists", response.getBody().getMessage());
+    }
+
+    @Test
+    @DisplayName("Should answer any other integrity violation with 409")
+    void handleDataIntegrityViolation_ShouldReturnConflictForOtherViolations() {
+        ConstraintViolationException violation = new ConstraintViolationException(
+                "duplicate key", new SQLException("duplicate key"), "uk_attendances_active_student_trip");
+
+        ResponseEntity<ApiResponse<Void>> response = handler.handleDataIntegrityViolation(
+                new DataIntegrityViolationException("could not execute statement", violation));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("DATA_CONFLICT", response.getBody().getError());
+    }
+
+    @Test
+    @DisplayName("Should answer a refused login with 429")
+    void handleTooManyRequests_ShouldReturnTooManyRequests() {
+        ResponseEntity<ApiResponse<Void>> response =
+                handler.handleTooManyRequests(new TooManyRequestsException("Too many login attempts"));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("TOO_MANY_REQUESTS", response.getBody().getError());
+    }
+}
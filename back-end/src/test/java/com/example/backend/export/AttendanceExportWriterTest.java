@@ -0,0 +1,74 @@
+package com.example.backend.export;
+
+import com.example.backend.dto.attendance.AttendanceExportRow;
+import com.example.backend.entities.Attendance;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttendanceExportWriterTest {
+
+    private static final LocalDateTime SCANNED_AT = LocalDateTime.of(2025, 3, 4, 7, 45, 10);
+
+    @Test
+    @DisplayName("Should write a CSV header and quote fields that need it")
+    void csv_ShouldQuoteSpecialCharacters() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AttendanceExportWriter writer = new AttendanceExportWriter(AttendanceExportFormat.CSV, out, new JsonFactory());
+        writer.write(row("Late, \"ran\" for the bus"));
+        writer.finish();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length);
+        assertEquals(String.join(",", AttendanceExportWriter.COLUMNS), lines[0]);
+        assertTrue(lines[1].startsWith("7,2025-03-04T07:45:10,PRESENT,12,false,\"Late, \"\"ran\"\" for the bus\",3,"));
+        assertTrue(lines[1].endsWith(",,,"));
+    }
+
+    @Test
+    @DisplayName("Should keep text that a spreadsheet would evaluate as a formula as text")
+    void csv_ShouldNeutralizeFormulaCells() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AttendanceExportWriter writer = new AttendanceExportWriter(AttendanceExportFormat.CSV, out, new JsonFactory());
+        writer.write(row("=HYPERLINK(\"http://evil\")"));
+        writer.write(row("-ok"));
+        writer.finish();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertTrue(lines[1].contains(",false,\"'=HYPERLINK(\"\"http://evil\"\")\",3,"));
+        assertTrue(lines[2].contains(",false,'-ok,3,"));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void ndjson_ShouldWriteOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AttendanceExportWriter writer = new AttendanceExportWriter(AttendanceExportFormat.NDJSON, out, new JsonFactory());
+        writer.write(row("first"));
+        writer.write(row("second\nline"));
+        writer.finish();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        JsonNode second = new ObjectMapper().readTree(lines[1]);
+        assertEquals(7, second.get("attendance_id").asLong());
+        assertEquals("second\nline", second.get("notes").asText());
+        assertTrue(second.get("driver_id").isNull());
+        assertEquals(2, writer.rowCount());
+    }
+
+    private static AttendanceExportRow row(String notes) {
+        return new AttendanceExportRow(7L, SCANNED_AT, Attendance.AttendanceStatus.PRESENT, 12, false, notes,
+                3L, "Sara", "Amrani", "5", 1L, "Nimbus Primary", 9L, "parent@example.com",
+                40L, SCANNED_AT.minusMinutes(5), 2L, "North loop", null, null, null, null);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.backend.export;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BadgeSheetPdfWriterTest {
+
+    private QrImageRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        renderer = new QrImageRenderer(2, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        renderer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should render PNGs that decode back to their payload")
+    void render_ShouldProduceDecodablePng() throws Exception {
+        // Act
+        RenderedQr qr = renderer.render("NB:TESTPAYLOAD");
+
+        // Assert
+        BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(
+                new BufferedImageLuminanceSource(ImageIO.read(new ByteArrayInputStream(qr.png())))));
+        assertEquals("NB:TESTPAYLOAD", new QRCodeReader().decode(bitmap).getText());
+        assertSame(qr, renderer.render("NB:TESTPAYLOAD"));
+    }
+
+    @Test
+    @DisplayName("Should deliver rendered items in input order")
+    void renderInOrder_ShouldPreserveOrder() throws Exception {
+        // Arrange
+        List<String> payloads = IntStream.range(0, 40).mapToObj(i -> "NB:ITEM" + i).toList();
+        List<String> seen = new ArrayList<>();
+
+        // Act
+        renderer.renderInOrder(payloads, p -> p, (item, qr) -> seen.add(item));
+
+        // Assert
+        assertEquals(payloads, seen);
+    }
+
+    @Test
+    @DisplayName("Should write one page per twelve badges with a valid cross-reference table")
+    void finish_ShouldWriteConsistentXref() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BadgeSheetPdfWriter writer = new BadgeSheetPdfWriter(out);
+
+        // Act
+        for (int i = 0; i < 13; i++) {
+            writer.addBadge("Student (" + i + ")", renderer.render("NB:STUDENT" + i));
+        }
+        writer.finish();
+
+        // Assert
+        String pdf = out.toString(StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.startsWith("%PDF-1.4"));
+        assertTrue(pdf.contains("/Type /Pages /Count 2 "));
+        assertTrue(pdf.contains("(Student \\(12\\))"));
+
+        int xref = Integer.parseInt(pdf.substring(pdf.lastIndexOf("startxref\n") + 10, pdf.lastIndexOf("\n%%EOF")));
+        assertTrue(pdf.startsWith("xref\n", xref));
+        Matcher entries = Pattern.compile("(\\d{10}) 00000 n ").matcher(pdf.substring(xref));
+        int objectId = 1;
+        while (entries.find()) {
+            int offset = Integer.parseInt(entries.group(1));
+            assertTrue(pdf.startsWith(objectId + " 0 obj\n", offset), "object " + objectId);
+            objectId++;
+        }
+        assertTrue(objectId > 3);
+    }
+}
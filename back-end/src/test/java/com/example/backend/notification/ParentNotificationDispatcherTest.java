@@ -0,0 +1,98 @@
+package com.example.backend.notification;
+
+import com.example.backend.entities.Attendance;
+import com.example.backend.service.ParentNotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParentNotificationDispatcherTest {
+
+    @Mock
+    private ParentNotificationService notificationService;
+
+    private LocalNotificationChannel localChannel;
+    private SimpleMeterRegistry meterRegistry;
+    private ParentNotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        localChannel = new LocalNotificationChannel();
+        meterRegistry = new SimpleMeterRegistry();
+        NotificationChannel failsForParentTwo = new NotificationChannel() {
+            @Override
+            public String name() {
+                return "flaky";
+            }
+
+            @Override
+            public void send(ParentNotification notification) {
+                if (notification.parentId() == 2L) {
+                    throw new IllegalStateException("provider unavailable");
+                }
+            }
+        };
+        dispatcher = new ParentNotificationDispatcher(notificationService,
+                List.of(localChannel, failsForParentTwo), 2, 10, 10_000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Delivered groups are completed in one call, failed groups are rescheduled")
+    void dispatch_MarksDeliveredInBulkAndReschedulesFailures() {
+        ParentNotification first = notification(1L, 10L, 11L);
+        ParentNotification second = notification(2L, 20L);
+        ParentNotification third = notification(3L, 30L);
+
+        int notified = dispatcher.dispatch(List.of(first, second, third));
+
+        assertEquals(2, notified);
+        verify(notificationService).markDelivered(List.of(10L, 11L, 30L));
+        verify(notificationService).markFailed(eq(second), eq("provider unavailable"));
+        assertEquals(3, localChannel.delivered().size());
+        assertEquals(3, meterRegistry.get("nimbus.notifications.events").counter().count());
+        assertEquals(1.5, dispatcher.coalescingRatio());
+        assertEquals(1, meterRegistry.get("nimbus.notifications.failures").counter().count());
+    }
+
+    @Test
+    @DisplayName("Drain stops once a claim returns less than a full batch")
+    void drain_StopsOnPartialBatch() {
+        when(notificationService.claimBatch(anyInt())).thenReturn(List.of(notification(1L, 10L)));
+
+        dispatcher.drain();
+
+        verify(notificationService, times(1)).claimBatch(10);
+        verify(notificationService).markDelivered(List.of(10L));
+        verify(notificationService, never()).markFailed(any(), any());
+    }
+
+    private static ParentNotification notification(Long parentId, Long... outboxIds) {
+        LocalDateTime queuedAt = LocalDateTime.now().minusSeconds(30);
+        List<ParentNotification.AttendanceChange> changes = Arrays.stream(outboxIds)
+                .map(id -> new ParentNotification.AttendanceChange(id + 100, parentId * 7, 5L,
+                        Attendance.AttendanceStatus.PRESENT, queuedAt))
+                .toList();
+        return new ParentNotification(parentId, 1, false, changes, List.of(outboxIds), queuedAt);
+    }
+}
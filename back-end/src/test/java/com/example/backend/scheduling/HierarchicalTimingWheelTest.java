@@ -0,0 +1,85 @@
+package com.example.backend.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MS = 10;
+
+    @Test
+    @DisplayName("Should expire timers on the tick of their deadline")
+    void advanceTo_ShouldExpireTimerAtDeadline() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, 8, 3, 0);
+        wheel.schedule(50, "a");
+
+        // Act & Assert
+        assertTrue(wheel.advanceTo(40).isEmpty());
+        assertEquals(List.of("a"), wheel.advanceTo(50));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should cascade timers from upper levels without firing early or late")
+    void advanceTo_ShouldCascadeUpperLevels() {
+        // Arrange
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK_MS, 8, 3, 30);
+        List<Long> deadlines = List.of(70L, 90L, 640L, 650L, 1_230L, 4_000L, 5_110L);
+        deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+
+        // Act
+        List<Long> fired = new ArrayList<>();
+        for (long now = 40; now <= 5_120; now += TICK_MS) {
+            for (Long deadline : wheel.advanceTo(now)) {
+                assertEquals(now, deadline, "timer fired at the wrong tick");
+                fired.add(deadline);
+            }
+        }
+
+        // Assert
+        assertEquals(deadlines, fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should not fire cancelled timers")
+    void cancel_ShouldRemovePendingTimer() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, 8, 3, 0);
+        HierarchicalTimingWheel.Timeout<String> cancelled = wheel.schedule(700, "cancelled");
+        wheel.schedule(700, "kept");
+
+        // Act
+        boolean removed = cancelled.cancel();
+
+        // Assert
+        assertTrue(removed);
+        assertFalse(cancelled.cancel());
+        assertEquals(List.of("kept"), wheel.advanceTo(700));
+    }
+
+    @Test
+    @DisplayName("Should fire overdue timers on the next advance")
+    void schedule_ShouldFireOverdueTimerImmediately() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, 8, 3, 1_000);
+        wheel.schedule(500, "late");
+
+        // Act & Assert
+        assertEquals(List.of("late"), wheel.advanceTo(1_000));
+    }
+
+    @Test
+    @DisplayName("Should reject deadlines beyond the wheel horizon")
+    void schedule_ShouldRejectDeadlineBeyondHorizon() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK_MS, 8, 3, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(8 * 8 * 8 * TICK_MS, "too far"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.backend.security;
+
+import com.example.backend.entities.user.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthorizationScopeTest {
+
+    @Test
+    @DisplayName("Should limit a parent to their own children and their schools")
+    void parentScope_ShouldContainOnlyOwnChildrenAndSchools() {
+        AuthorizationScope scope = AuthorizationScope.of(9L, User.Role.PARENT, Set.of(1L, 2L), Set.of(100L, 101L));
+
+        assertTrue(scope.isParentOf(100L));
+        assertFalse(scope.isParentOf(102L));
+        assertTrue(scope.canAccessSchool(2L));
+        assertFalse(scope.canAccessSchool(3L));
+        assertEquals(Optional.of(9L), scope.parentId());
+        assertTrue(scope.driverId().isEmpty());
+        assertTrue(scope.isSelfOrAdmin(9L));
+        assertFalse(scope.isSelfOrAdmin(10L));
+    }
+
+    @Test
+    @DisplayName("Should not treat a driver's ids as children")
+    void driverScope_ShouldExposeDriverIdOnly() {
+        AuthorizationScope scope = AuthorizationScope.of(4L, User.Role.DRIVER, Set.of(1L), List.of(100L));
+
+        assertEquals(Optional.of(4L), scope.driverId());
+        assertFalse(scope.isParentOf(100L));
+    }
+
+    @Test
+    @DisplayName("Should find every added id, including zero, and nothing else")
+    void longSet_ShouldMatchMembershipOfSource() {
+        Set<Long> ids = LongStream.rangeClosed(0, 500).map(i -> i * 7919).boxed().collect(Collectors.toSet());
+        LongSet set = LongSet.of(ids);
+
+        assertEquals(ids.size(), set.size());
+        for (long candidate = 0; candidate <= 500 * 7919L; candidate++) {
+            assertEquals(ids.contains(candidate), set.contains(candidate));
+        }
+        assertTrue(LongSet.of(List.of()).isEmpty());
+        assertFalse(LongSet.of(null).contains(0));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.backend.security.jwt;
+
+import com.example.backend.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilsTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private static final String NEXT_SECRET = "6E696D6275732D6A77742D726F746174696F6E2D746573742D6B65792D303032";
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils(properties("k1", Map.of("k1", SECRET)));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the principal from the claims of an issued token")
+    void principalFromClaims_ShouldRoundTripIssuedToken() {
+        UserDetailsImpl user = driver();
+        String token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        Claims claims = jwtUtils.parseVerifiedClaims(token).orElseThrow();
+        UserDetailsImpl principal = jwtUtils.principalFromClaims(claims).orElseThrow();
+
+        assertEquals(42L, principal.getId());
+        assertEquals("driver.one", principal.getUsername());
+        assertEquals("driver@example.com", principal.getEmail());
+        assertEquals(3, principal.getSecurityVersion());
+        assertEquals(Set.of(5L, 7L), principal.getSchoolIds());
+        assertEquals("ROLE_DRIVER", principal.getAuthorities().iterator().next().getAuthority());
+        assertNull(principal.getPassword());
+        assertEquals(Optional.of(42L), principal.getAuthorizationScope().driverId());
+        assertTrue(principal.getAuthorizationScope().canAccessSchool(7L));
+        assertFalse(principal.getAuthorizationScope().canAccessSchool(6L));
+    }
+
+    @Test
+    @DisplayName("Should not build a principal from a token without the user claims")
+    void principalFromClaims_ShouldIgnoreLegacyTokens() {
+        String token = Jwts.builder()
+                .setSubject("legacy.user")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        Claims claims = jwtUtils.parseVerifiedClaims(token).orElseThrow();
+
+        assertTrue(jwtUtils.principalFromClaims(claims).isEmpty());
+        assertTrue(jwtUtils.parseVerifiedClaims(token + "x").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should accept tokens from every configured key while rotating")
+    void parseVerifiedClaims_ShouldAcceptAllConfiguredKeys() {
+        UserDetailsImpl user = driver();
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        String oldToken = jwtUtils.generateJwtToken(authentication);
+
+        JwtUtils rotated = new JwtUtils(properties("k2", Map.of("k1", SECRET, "k2", NEXT_SECRET)));
+        String newToken = rotated.generateJwtToken(authentication);
+        JwtUtils retired = new JwtUtils(properties("k2", Map.of("k2", NEXT_SECRET)));
+
+        assertTrue(rotated.parseVerifiedClaims(oldToken).isPresent());
+        assertTrue(rotated.parseVerifiedClaims(newToken).isPresent());
+        assertTrue(jwtUtils.parseVerifiedClaims(newToken).isEmpty());
+        assertTrue(retired.parseVerifiedClaims(oldToken).isEmpty());
+        assertEquals("driver.one", retired.getUserNameFromJwtToken(newToken));
+    }
+
+    private static UserDetailsImpl driver() {
+        UserDetailsImpl user = new UserDetailsImpl(42L, "driver.one", "driver@example.com", "secret",
+                "Driver", "One", "0600000000", true, List.of(new SimpleGrantedAuthority("ROLE_DRIVER")));
+        user.setSecurityVersion(3);
+        user.setSchoolIds(Set.of(5L, 7L));
+        return user;
+    }
+
+    static JwtProperties properties(String activeKeyId, Map<String, String> keys) {
+        JwtProperties properties = new JwtProperties();
+        properties.setJwtSecret(SECRET);
+        properties.setJwtExpirationMs(60_000);
+        properties.setJwtActiveKeyId(activeKeyId);
+        properties.setJwtKeys(keys);
+        return properties;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.backend.security.qr;
+
+import com.example.backend.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SignedQrCodecTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T07:00:00Z");
+    private static final String KEY_1 = "000102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f";
+    private static final String KEY_2 = "1f1e1d1c1b1a191817161514131211100f0e0d0c0b0a09080706050403020100";
+
+    private QrSigningProperties properties;
+    private SignedQrCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        properties = new QrSigningProperties();
+        properties.setKeys(Map.of(1, KEY_1));
+        properties.setActiveKeyId(1);
+        codec = new SignedQrCodec(properties, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should round-trip a seat code")
+    void verify_ShouldReturnSeatClaims() {
+        // Act
+        String payload = codec.signSeat(42L, 1234L, 7, NOW);
+        QrClaims claims = codec.verify(payload);
+
+        // Assert
+        assertTrue(codec.isSigned(payload));
+        assertTrue(payload.matches("NB:[A-Z2-7]+"));
+        assertEquals(QrClaims.Type.TRIP_SEAT, claims.type());
+        assertEquals(1234L, claims.studentId());
+        assertEquals(42L, claims.tripId());
+        assertEquals(7, claims.seatNumber());
+        assertEquals(NOW.plus(24, ChronoUnit.HOURS), claims.expiresAt());
+    }
+
+    @Test
+    @DisplayName("Should round-trip a student badge without trip or seat")
+    void verify_ShouldReturnBadgeClaims() {
+        // Act
+        QrClaims claims = codec.verify(codec.signBadge(99L));
+
+        // Assert
+        assertEquals(QrClaims.Type.STUDENT_BADGE, claims.type());
+        assertEquals(99L, claims.studentId());
+        assertNull(claims.tripId());
+        assertNull(claims.seatNumber());
+    }
+
+    @Test
+    @DisplayName("Should reject a payload whose body was altered")
+    void verify_ShouldRejectTamperedPayload() {
+        // Arrange
+        String payload = codec.signBadge(99L);
+        int index = SignedQrCodec.PREFIX.length() + 4;
+        char replacement = payload.charAt(index) == 'A' ? 'B' : 'A';
+        String tampered = payload.substring(0, index) + replacement + payload.substring(index + 1);
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> codec.verify(tampered));
+        assertTrue(codec.tryVerify(tampered).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired payload")
+    void verify_ShouldRejectExpiredPayload() {
+        // Arrange
+        String payload = codec.signSeat(42L, 1234L, 7, NOW.minus(2, ChronoUnit.DAYS));
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> codec.verify(payload));
+    }
+
+    @Test
+    @DisplayName("Should accept codes from a retired key and reject unknown keys")
+    void verify_ShouldHonourKeyRotation() {
+        // Arrange
+        String signedWithOldKey = codec.signBadge(5L);
+        properties.setKeys(Map.of(1, KEY_1, 2, KEY_2));
+        properties.setActiveKeyId(2);
+        SignedQrCodec rotated = new SignedQrCodec(properties, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act & Assert
+        assertEquals(1, rotated.verify(signedWithOldKey).keyId());
+        assertEquals(2, rotated.verify(rotated.signBadge(5L)).keyId());
+        assertThrows(ValidationException.class, () -> codec.verify(rotated.signBadge(5L)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.backend.security.services;
+
+import com.example.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginExecutor loginExecutor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginExecutor = new LoginExecutor(1, 1, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should refuse work immediately once the thread and queue are busy")
+    void submit_ShouldRejectWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> running = loginExecutor.submit(() -> {
+            started.countDown();
+            await(release);
+            return "first";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = loginExecutor.submit(() -> "second");
+
+        assertThrows(TooManyRequestsException.class, () -> loginExecutor.submit(() -> "third"));
+        assertEquals(1.0, meterRegistry.counter("nimbus.auth.login.rejected").count());
+
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.backend.security.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserDetailsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserDetailsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserDetailsCache(2, 60_000, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should serve a cached user under any casing of the username and count hits and misses")
+    void get_ShouldNormalizeUsernameAndRecordMetrics() {
+        assertTrue(cache.get("Driver1").isEmpty());
+        cache.put("Driver1", user(1L, "Driver1"), cache.generation());
+
+        assertEquals(1L, cache.get(" driver1 ").orElseThrow().getId());
+        assertEquals(1.0, meterRegistry.counter("nimbus.security.userdetails.cache", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("nimbus.security.userdetails.cache", "result", "miss").count());
+    }
+
+    @Test
+    @DisplayName("Should drop an invalidated user and not cache a load that raced with the invalidation")
+    void invalidate_ShouldDropEntryAndRejectStaleLoad() {
+        cache.put("driver1", user(1L, "driver1"), cache.generation());
+        long staleGeneration = cache.generation();
+
+        cache.invalidate("DRIVER1");
+        cache.put("driver1", user(1L, "driver1"), staleGeneration);
+
+        assertTrue(cache.get("driver1").isEmpty());
+        assertEquals(1.0, meterRegistry.counter("nimbus.security.userdetails.cache.invalidations").count());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used user once full")
+    void put_ShouldEvictLeastRecentlyUsed() {
+        cache.put("a", user(1L, "a"), cache.generation());
+        cache.put("b", user(2L, "b"), cache.generation());
+        cache.get("a");
+        cache.put("c", user(3L, "c"), cache.generation());
+
+        assertTrue(cache.get("b").isEmpty());
+        assertTrue(cache.get("a").isPresent());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should hand out copies without the password hash")
+    void get_ShouldReturnCopyWithoutCredentials() {
+        UserDetailsImpl loaded = user(1L, "driver1");
+        cache.put("driver1", loaded, cache.generation());
+
+        UserDetailsImpl first = cache.get("driver1").orElseThrow();
+        first.setSchoolIds(Set.of(9L));
+        UserDetailsImpl second = cache.get("driver1").orElseThrow();
+
+        assertNull(first.getPassword());
+        assertEquals("hash", loaded.getPassword());
+        assertNotSame(first, second);
+        assertTrue(second.getSchoolIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should evict the previous username when a renamed user is invalidated")
+    void invalidate_ShouldEvictPreviousUsername() {
+        cache.put("driver1", user(1L, "driver1"), cache.generation());
+
+        cache.invalidate(1L, "driver-one");
+
+        assertTrue(cache.get("driver1").isEmpty());
+        assertTrue(cache.get("driver-one").isEmpty());
+    }
+
+    private static UserDetailsImpl user(Long id, String username) {
+        return new UserDetailsImpl(id, username, username + "@nimbus.test", "hash", "First", "Last", null, true, List.of());
+    }
+}
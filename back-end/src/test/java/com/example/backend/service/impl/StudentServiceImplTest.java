@@ -0,0 +1,101 @@
+package com.example.backend.service.impl;
+
+import com.example.backend.entities.Student;
+import com.example.backend.entities.user.Parent;
+import com.example.backend.repository.AttendanceRepository;
+import com.example.backend.repository.ParentRepository;
+import com.example.backend.repository.SchoolRepository;
+import com.example.backend.repository.StudentRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.jwt.UserTokenVersions;
+import com.example.backend.security.qr.SignedQrCodec;
+import com.example.backend.service.AttendanceRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StudentServiceImplTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private SchoolRepository schoolRepository;
+
+    @Mock
+    private ParentRepository parentRepository;
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    @Mock
+    private SignedQrCodec signedQrCodec;
+
+    @Mock
+    private AttendanceRollupService attendanceRollupService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private StudentServiceImpl studentService;
+
+    private Parent oldParent;
+    private Parent newParent;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        oldParent = parent(1L);
+        newParent = parent(2L);
+
+        student = new Student();
+        student.setId(10L);
+        student.setParent(oldParent);
+    }
+
+    @Test
+    @DisplayName("Should reject both parents' existing tokens once a child is reassigned")
+    void reassignToParent_ShouldRevokeExistingTokens() {
+        Map<Long, Parent> parents = Map.of(1L, oldParent, 2L, newParent);
+        when(userRepository.findActiveSecurityVersion(anyLong()))
+                .thenAnswer(invocation -> Optional.of(parents.get(invocation.<Long>getArgument(0)).getSecurityVersion()));
+        when(studentRepository.findById(10L)).thenReturn(Optional.of(student));
+        when(parentRepository.findById(2L)).thenReturn(Optional.of(newParent));
+
+        UserTokenVersions versions = new UserTokenVersions(userRepository, 60_000);
+        long oldParentToken = oldParent.getSecurityVersion();
+        long newParentToken = newParent.getSecurityVersion();
+        assertTrue(versions.isCurrent(1L, oldParentToken));
+        assertTrue(versions.isCurrent(2L, newParentToken));
+
+        studentService.removeFromParent(10L);
+        studentService.assignToParent(10L, 2L);
+        // As UserTokenVersionListener does once the update commits.
+        versions.evict(1L);
+        versions.evict(2L);
+
+        assertSame(newParent, student.getParent());
+        assertFalse(versions.isCurrent(1L, oldParentToken));
+        assertFalse(versions.isCurrent(2L, newParentToken));
+        verify(studentRepository, times(2)).save(student);
+    }
+
+    private static Parent parent(Long id) {
+        Parent parent = new Parent();
+        parent.setId(id);
+        return parent;
+    }
+}
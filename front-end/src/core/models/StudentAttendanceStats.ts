@@ -0,0 +1,12 @@
+export interface StudentAttendanceStats {
+  studentId: number;
+  firstName: string;
+  lastName: string;
+  grade: string | null;
+  seatNumber: number | null;
+  totalRecords: number;
+  presentCount: number;
+  absentCount: number;
+  excusedCount: number;
+  attendancePercentage: number;
+}
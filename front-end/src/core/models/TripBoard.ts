@@ -0,0 +1,27 @@
+export type TripBoardStatus = 'SCHEDULED' | 'IN_PROGRESS' | 'COMPLETED' | 'CANCELLED';
+
+export interface TripBoardEntry {
+  tripId: number;
+  routeId: number;
+  routeName: string;
+  driverId: number | null;
+  driverName: string | null;
+  vehicleId: number | null;
+  vehicleLicensePlate: string | null;
+  status: TripBoardStatus;
+  scheduledDepartureTime: string;
+  actualDepartureTime: string | null;
+  actualArrivalTime: string | null;
+  startOverdue: boolean;
+  assignedStudents: number;
+  presentStudents: number;
+}
+
+export interface TripBoard {
+  schoolId: number;
+  date: string;
+  version: number;
+  generatedAt: string;
+  statusCounts: Record<TripBoardStatus, number>;
+  trips: TripBoardEntry[];
+}
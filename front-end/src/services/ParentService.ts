@@ -2,6 +2,7 @@ import { Student } from '../core/entities/student.entity';
 import { Trip } from '../core/entities/trip.entity';
 import { Attendance } from '../core/entities/attendance.entity';
 import { Parent } from '../core/entities/parent.entity';
+import { CursorPage } from '../core/models/CursorPage';
 
 export interface ParentService {
   findAll(): Promise<Parent[]>;
@@ -72,11 +73,11 @@ export interface ParentService {
   /**
    * Get trip history for a child
    * @param childId The ID of the child (student)
-   * @param page The page number for pagination
+   * @param cursor The continuation cursor returned by the previous page, if any
    * @param size The page size for pagination
-   * @returns Promise of array of Trip objects
+   * @returns Promise of a page of Trip objects
    */
-  getChildTripHistory(childId: number, page?: number, size?: number): Promise<Trip[]>;
+  getChildTripHistory(childId: number, cursor?: string | null, size?: number): Promise<CursorPage<Trip>>;
   
   /**
    * Get attendance records for a child
@@ -1,4 +1,5 @@
 import { Student } from '../core/entities/student.entity';
+import { StudentAttendanceStats } from '../core/models/StudentAttendanceStats';
 
 export interface StudentService {
   getAllStudents(): Promise<Student[]>;
@@ -18,7 +19,7 @@ export interface StudentService {
   removeFromParent(studentId: number): Promise<void>;
   generateQrCode(studentId: number): Promise<void>;
   updateStudentDetails(studentId: number, firstName: string, lastName: string, grade: string): Promise<void>;
-  findStudentsWithAttendanceStats(schoolId: number, start: string, end: string): Promise<Student[]>;
+  findStudentsWithAttendanceStats(schoolId: number, start: string, end: string): Promise<StudentAttendanceStats[]>;
   countAbsences(studentId: number, start: string, end: string): Promise<number>;
   calculateAttendancePercentage(studentId: number, start: string, end: string): Promise<number>;
   findStudentsByRoute(routeId: number): Promise<Student[]>;
@@ -1,4 +1,6 @@
 import { Trip } from '../core/entities/trip.entity';
+import { CursorPage } from '../core/models/CursorPage';
+import { TripBoard } from '../core/models/TripBoard';
 
 export interface TripService {
   getAllTrips(): Promise<Trip[]>;
@@ -19,6 +21,7 @@ export interface TripService {
   updateTripStatus(tripId: number, status: string): Promise<void>;
   updateTripSchedule(tripId: number, departureTime: string, estimatedArrivalTime: string): Promise<void>;
   findTripsWithStats(schoolId: number, start: string, end: string): Promise<Trip[]>;
+  getTripBoard(schoolId: number): Promise<TripBoard>;
   startTrip(tripId: number): Promise<void>;
   completeTrip(tripId: number): Promise<void>;
   cancelTrip(tripId: number, reason: string): Promise<void>;
@@ -29,9 +32,9 @@ export interface TripService {
   createAndStartTrip(routeId: number): Promise<Trip>;
   endCurrentTrip(): Promise<Trip>;
   getCurrentTrip(): Promise<Trip>;
-  getTripHistory(page: number, size: number): Promise<Trip[]>;
+  getTripHistory(cursor: string | null, size: number): Promise<CursorPage<Trip>>;
   findCurrentTripByStudentId(studentId: number): Promise<Trip>;
-  findTripsByStudentId(studentId: number, page: number, size: number): Promise<Trip[]>;
+  findTripsByStudentId(studentId: number, cursor: string | null, size: number): Promise<CursorPage<Trip>>;
   assignStudents(tripId: number, studentIds: number[]): Promise<Trip>;
   getTripRequestSchema(): Promise<any>;
 } 
\ No newline at end of file
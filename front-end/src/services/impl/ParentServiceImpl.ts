@@ -5,6 +5,7 @@ import { Attendance } from '../../core/entities/attendance.entity';
 import { BaseHttpService } from '../BaseHttpService';
 import { ApiResponse } from '../../core/models/ApiResponse';
 import { Parent } from '../../core/entities/parent.entity';
+import { CursorPage } from '../../core/models/CursorPage';
 
 export class ParentServiceImpl extends BaseHttpService implements ParentService {
   constructor() {
@@ -77,9 +78,10 @@ export class ParentServiceImpl extends BaseHttpService implements ParentService
     return response.data;
   }
 
-  async getChildTripHistory(childId: number, page: number = 0, size: number = 10): Promise<Trip[]> {
-    const response = await this.get<ApiResponse<Trip[]>>(
-      `/children/${childId}/trips?page=${page}&size=${size}`
+  async getChildTripHistory(childId: number, cursor: string | null = null, size: number = 10): Promise<CursorPage<Trip>> {
+    const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+    const response = await this.get<ApiResponse<CursorPage<Trip>>>(
+      `/children/${childId}/trips?size=${size}${cursorParam}`
     );
     return response.data;
   }
@@ -2,6 +2,7 @@ import { StudentService } from '../StudentService';
 import { Student } from '../../core/entities/student.entity';
 import { BaseHttpService } from '../BaseHttpService';
 import { ApiResponse } from '../../core/models/ApiResponse';
+import { StudentAttendanceStats } from '../../core/models/StudentAttendanceStats';
 
 export class StudentServiceImpl extends BaseHttpService implements StudentService {
   constructor() {
@@ -88,8 +89,8 @@ export class StudentServiceImpl extends BaseHttpService implements StudentServic
     );
   }
 
-  async findStudentsWithAttendanceStats(schoolId: number, start: string, end: string): Promise<Student[]> {
-    const response = await this.get<ApiResponse<Student[]>>(
+  async findStudentsWithAttendanceStats(schoolId: number, start: string, end: string): Promise<StudentAttendanceStats[]> {
+    const response = await this.get<ApiResponse<StudentAttendanceStats[]>>(
       `/school/${schoolId}/attendance-stats?start=${encodeURIComponent(start)}&end=${encodeURIComponent(end)}`
     );
     return response.data;
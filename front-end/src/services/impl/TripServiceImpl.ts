@@ -2,6 +2,8 @@ import { TripService } from '../TripService';
 import { Trip } from '../../core/entities/trip.entity';
 import { BaseHttpService } from '../BaseHttpService';
 import { ApiResponse } from '../../core/models/ApiResponse';
+import { CursorPage } from '../../core/models/CursorPage';
+import { TripBoard } from '../../core/models/TripBoard';
 
 export class TripServiceImpl extends BaseHttpService implements TripService {
   constructor() {
@@ -94,6 +96,11 @@ export class TripServiceImpl extends BaseHttpService implements TripService {
     return response.data;
   }
 
+  async getTripBoard(schoolId: number): Promise<TripBoard> {
+    const response = await this.get<ApiResponse<TripBoard>>(`/school/${schoolId}/board`);
+    return response.data;
+  }
+
   async startTrip(tripId: number): Promise<void> {
     await this.post<ApiResponse<void>>(`/${tripId}/start`);
   }
@@ -143,8 +150,9 @@ export class TripServiceImpl extends BaseHttpService implements TripService {
     return response.data;
   }
 
-  async getTripHistory(page: number, size: number): Promise<Trip[]> {
-    const response = await this.get<ApiResponse<Trip[]>>(`/history?page=${page}&size=${size}`);
+  async getTripHistory(cursor: string | null, size: number): Promise<CursorPage<Trip>> {
+    const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+    const response = await this.get<ApiResponse<CursorPage<Trip>>>(`/history?size=${size}${cursorParam}`);
     return response.data;
   }
 
@@ -153,8 +161,9 @@ export class TripServiceImpl extends BaseHttpService implements TripService {
     return response.data;
   }
 
-  async findTripsByStudentId(studentId: number, page: number, size: number): Promise<Trip[]> {
-    const response = await this.get<ApiResponse<Trip[]>>(`/student/${studentId}/history?page=${page}&size=${size}`);
+  async findTripsByStudentId(studentId: number, cursor: string | null, size: number): Promise<CursorPage<Trip>> {
+    const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+    const response = await this.get<ApiResponse<CursorPage<Trip>>>(`/student/${studentId}/history?size=${size}${cursorParam}`);
     return response.data;
   }
 